@@ -1,6 +1,8 @@
 plugins {
     alias(libs.plugins.android.multiplatform.library) apply false
     alias(libs.plugins.dokka) apply false
+    alias(libs.plugins.jmh) apply false
+    alias(libs.plugins.kotlin.jvm) apply false
     alias(libs.plugins.kotlin.multiplatform) apply false
     alias(libs.plugins.kotlin.serialization) apply false
     alias(libs.plugins.kotlinx.kover) apply false
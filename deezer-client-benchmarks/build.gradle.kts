@@ -0,0 +1,66 @@
+import org.jetbrains.kotlin.gradle.dsl.JvmTarget
+
+plugins {
+    alias(libs.plugins.kotlin.jvm)
+    alias(libs.plugins.jmh)
+    alias(libs.plugins.ktlint)
+}
+
+description = "JMH benchmarks of deezer-client-kt, against a MockEngine without network."
+
+kotlin {
+    compilerOptions {
+        jvmTarget.set(JvmTarget.JVM_1_8)
+        extraWarnings.set(true)
+        allWarningsAsErrors.set(true)
+        optIn.addAll(
+            "io.github.kingg22.deezer.client.utils.ExperimentalDeezerClient",
+            "io.github.kingg22.deezer.client.utils.InternalDeezerClient",
+        )
+    }
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+sourceSets.named("jmh") {
+    // The same fixtures as the tests, read from the classpath
+    resources.srcDir(rootProject.file("deezer-client-kt/src/commonTest/resources"))
+}
+
+sourceSets.named("test") {
+    // The tests check the parameters of the benchmarks against the fixtures
+    val jmhClasspath = sourceSets["jmh"].runtimeClasspath
+    compileClasspath += jmhClasspath
+    runtimeClasspath += jmhClasspath
+}
+
+dependencies {
+    jmh(projects.deezerClientKt)
+    jmh(libs.ktor.client.mock)
+    testImplementation(libs.kotlin.test)
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.add("avgt")
+    timeUnit.set("us")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Allocation rate and GC counts of each benchmark
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    // ./gradlew :deezer-client-benchmarks:jmh -Pjmh.includes=DecodeBenchmark
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
+
+ktlint {
+    version.set(libs.versions.ktlint.pinterest)
+}
@@ -0,0 +1,91 @@
+package io.github.kingg22.deezer.client.benchmarks
+
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import kotlinx.serialization.KSerializer
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/** Decoding of each fixture with the [Json][kotlinx.serialization.json.Json] of the library, without HTTP */
+@State(Scope.Benchmark)
+open class DecodeBenchmark {
+    // The keys of Fixtures.serializers, an annotation needs constants. Checked by FixturesTest
+    @Param(
+        "album/get_album",
+        "album/get_album_fans",
+        "album/get_album_tracks",
+        "album/get_album_upc",
+        "artist/get_artist",
+        "artist/get_artist_albums",
+        "artist/get_artist_fans",
+        "artist/get_artist_playlists",
+        "artist/get_artist_radio",
+        "artist/get_artist_related",
+        "artist/get_artist_top",
+        "chart/get_chart",
+        "chart/get_chart_albums",
+        "chart/get_chart_artists",
+        "chart/get_chart_id",
+        "chart/get_chart_playlists",
+        "chart/get_chart_podcasts",
+        "chart/get_chart_tracks",
+        "editorial/get_editorial",
+        "editorial/get_editorial_charts",
+        "editorial/get_editorial_id",
+        "editorial/get_editorial_releases",
+        "editorial/get_editorial_selection",
+        "genre/get_genre",
+        "genre/get_genre_artists",
+        "genre/get_genre_id",
+        "genre/get_genre_podcasts",
+        "genre/get_genre_radios",
+        "get_episode_id",
+        "get_infos",
+        "get_options",
+        "playlist/get_playlist",
+        "playlist/get_playlist_fans",
+        "playlist/get_playlist_radio",
+        "playlist/get_playlist_tracks",
+        "podcast/get_podcast",
+        "podcast/get_podcast_episodes",
+        "podcast/get_podcast_episodes_2",
+        "podcast/get_podcast_id",
+        "radio/get_radio",
+        "radio/get_radio_genres",
+        "radio/get_radio_id",
+        "radio/get_radio_lists",
+        "radio/get_radio_top",
+        "radio/get_radio_tracks",
+        "search/get_search",
+        "search/get_search_advanced",
+        "search/get_search_album",
+        "search/get_search_artist",
+        "search/get_search_order",
+        "search/get_search_playlist",
+        "search/get_search_podcast",
+        "search/get_search_radio",
+        "search/get_search_strict",
+        "search/get_search_track",
+        "search/get_search_user",
+        "track/get_track",
+        "track/get_track_isrc",
+        "user/get_user_id",
+    )
+    @JvmField
+    var fixture: String = ""
+
+    private val json = getDefaultJson()
+    private lateinit var body: String
+    private lateinit var serializer: KSerializer<*>
+
+    @Setup
+    fun setup() {
+        body = Fixtures.read(fixture)
+        serializer = checkNotNull(Fixtures.serializers[fixture]) { "Fixture $fixture without serializer" }
+    }
+
+    @Benchmark
+    fun decode(): Any? = json.decodeFromString(serializer, body)
+}
@@ -0,0 +1,118 @@
+package io.github.kingg22.deezer.client.benchmarks
+
+import io.github.kingg22.deezer.client.api.DeezerClientPlugin
+import io.github.kingg22.deezer.client.api.objects.Album
+import io.github.kingg22.deezer.client.api.objects.Artist
+import io.github.kingg22.deezer.client.api.objects.Chart
+import io.github.kingg22.deezer.client.api.objects.Editorial
+import io.github.kingg22.deezer.client.api.objects.Episode
+import io.github.kingg22.deezer.client.api.objects.Genre
+import io.github.kingg22.deezer.client.api.objects.Infos
+import io.github.kingg22.deezer.client.api.objects.Options
+import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
+import io.github.kingg22.deezer.client.api.objects.Playlist
+import io.github.kingg22.deezer.client.api.objects.Podcast
+import io.github.kingg22.deezer.client.api.objects.Radio
+import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.User
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import io.ktor.client.*
+import io.ktor.client.engine.*
+import io.ktor.client.engine.mock.*
+import io.ktor.client.plugins.contentnegotiation.*
+import io.ktor.http.*
+import io.ktor.serialization.kotlinx.json.*
+import kotlinx.serialization.KSerializer
+
+/** Fixtures of the tests (`commonTest/resources`) and the mocked clients shared by the benchmarks */
+object Fixtures {
+    /**
+     * Serializer of each fixture, by its path under `api/responses` without extension.
+     * `get_error.json` isn't a model, it's read by the plugin. The same keys are the parameters of [DecodeBenchmark].
+     */
+    val serializers: Map<String, KSerializer<*>> = mapOf(
+        "album/get_album" to Album.serializer(),
+        "album/get_album_fans" to page(User.serializer()),
+        "album/get_album_tracks" to page(Track.serializer()),
+        "album/get_album_upc" to Album.serializer(),
+        "artist/get_artist" to Artist.serializer(),
+        "artist/get_artist_albums" to page(Album.serializer()),
+        "artist/get_artist_fans" to page(User.serializer()),
+        "artist/get_artist_playlists" to page(Playlist.serializer()),
+        "artist/get_artist_radio" to page(Track.serializer()),
+        "artist/get_artist_related" to page(Artist.serializer()),
+        "artist/get_artist_top" to page(Track.serializer()),
+        "chart/get_chart" to Chart.serializer(),
+        "chart/get_chart_albums" to page(Album.serializer()),
+        "chart/get_chart_artists" to page(Artist.serializer()),
+        "chart/get_chart_id" to Chart.serializer(),
+        "chart/get_chart_playlists" to page(Playlist.serializer()),
+        "chart/get_chart_podcasts" to page(Podcast.serializer()),
+        "chart/get_chart_tracks" to page(Track.serializer()),
+        "editorial/get_editorial" to page(Editorial.serializer()),
+        "editorial/get_editorial_charts" to Chart.serializer(),
+        "editorial/get_editorial_id" to Editorial.serializer(),
+        "editorial/get_editorial_releases" to page(Album.serializer()),
+        "editorial/get_editorial_selection" to page(Album.serializer()),
+        "genre/get_genre" to page(Genre.serializer()),
+        "genre/get_genre_artists" to page(Artist.serializer()),
+        "genre/get_genre_id" to Genre.serializer(),
+        "genre/get_genre_podcasts" to page(Podcast.serializer()),
+        "genre/get_genre_radios" to page(Radio.serializer()),
+        "get_episode_id" to Episode.serializer(),
+        "get_infos" to Infos.serializer(),
+        "get_options" to Options.serializer(),
+        "playlist/get_playlist" to Playlist.serializer(),
+        "playlist/get_playlist_fans" to page(User.serializer()),
+        "playlist/get_playlist_radio" to page(Track.serializer()),
+        "playlist/get_playlist_tracks" to page(Track.serializer()),
+        "podcast/get_podcast" to page(Podcast.serializer()),
+        "podcast/get_podcast_episodes" to page(Episode.serializer()),
+        "podcast/get_podcast_episodes_2" to page(Episode.serializer()),
+        "podcast/get_podcast_id" to Podcast.serializer(),
+        "radio/get_radio" to page(Radio.serializer()),
+        "radio/get_radio_genres" to page(Genre.serializer()),
+        "radio/get_radio_id" to Radio.serializer(),
+        "radio/get_radio_lists" to page(Radio.serializer()),
+        "radio/get_radio_top" to page(Radio.serializer()),
+        "radio/get_radio_tracks" to page(Track.serializer()),
+        "search/get_search" to page(Track.serializer()),
+        "search/get_search_advanced" to page(Track.serializer()),
+        "search/get_search_album" to page(Album.serializer()),
+        "search/get_search_artist" to page(Artist.serializer()),
+        "search/get_search_order" to page(Track.serializer()),
+        "search/get_search_playlist" to page(Playlist.serializer()),
+        "search/get_search_podcast" to page(Podcast.serializer()),
+        "search/get_search_radio" to page(Radio.serializer()),
+        "search/get_search_strict" to page(Track.serializer()),
+        "search/get_search_track" to page(Track.serializer()),
+        "search/get_search_user" to page(User.serializer()),
+        "track/get_track" to Track.serializer(),
+        "track/get_track_isrc" to Track.serializer(),
+        "user/get_user_id" to User.serializer(),
+    )
+
+    /** Content of the fixture `api/responses/[name].json` */
+    fun read(name: String): String {
+        val stream = Fixtures::class.java.getResourceAsStream("/api/responses/$name.json")
+        return checkNotNull(stream) { "Fixture $name not found" }.use { it.readBytes().decodeToString() }
+    }
+
+    /** Engine answering each url (with the query) of [responses] with its JSON body, without network */
+    fun mockEngine(responses: Map<String, String>): HttpClientEngine = MockEngine { request ->
+        val body = checkNotNull(responses[request.url.toString()]) { "Unexpected request ${request.url}" }
+        respond(
+            content = body,
+            status = HttpStatusCode.OK,
+            headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+        )
+    }
+
+    /** Client of the [engine] with the JSON of the library, with [DeezerClientPlugin] if [withPlugin] */
+    fun httpClient(engine: HttpClientEngine, withPlugin: Boolean = true) = HttpClient(engine) {
+        install(ContentNegotiation) { json(getDefaultJson()) }
+        if (withPlugin) install(DeezerClientPlugin)
+    }
+
+    private fun <T : Any> page(serializer: KSerializer<T>) = PaginatedResponse.serializer(serializer)
+}
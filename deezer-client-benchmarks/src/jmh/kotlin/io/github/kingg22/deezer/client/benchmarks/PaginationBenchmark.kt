@@ -0,0 +1,66 @@
+package io.github.kingg22.deezer.client.benchmarks
+
+import io.github.kingg22.deezer.client.api.DeezerApiClient
+import io.github.kingg22.deezer.client.api.objects.Genre
+import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
+import io.github.kingg22.deezer.client.api.objects.fetchNext
+import io.ktor.client.*
+import io.ktor.client.call.*
+import io.ktor.client.request.*
+import kotlinx.coroutines.runBlocking
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+
+/**
+ * Walk all the pages of a list with [fetchNext], keeping only the last page or expanding the data with each page.
+ * The bodies of the pages are built once, the engine only answers them.
+ */
+@State(Scope.Benchmark)
+open class PaginationBenchmark {
+    @Param("10", "100")
+    @JvmField
+    var pages: Int = 0
+
+    @Param("false", "true")
+    @JvmField
+    var expand: Boolean = false
+
+    private lateinit var httpClient: HttpClient
+    private lateinit var client: DeezerApiClient
+
+    @Setup
+    fun setup() {
+        val total = pages * PAGE_SIZE
+        val responses = (0 until pages).associate { page ->
+            val index = page * PAGE_SIZE
+            val data = (index until index + PAGE_SIZE).joinToString(",") { """{"id":$it,"name":"genre $it"}""" }
+            val next = if (index + PAGE_SIZE < total) ""","next":"${url(index + PAGE_SIZE)}"""" else ""
+            url(index) to """{"data":[$data],"total":$total$next}"""
+        }
+        httpClient = Fixtures.httpClient(Fixtures.mockEngine(responses))
+        client = DeezerApiClient(httpClient)
+    }
+
+    @TearDown
+    fun tearDown() {
+        httpClient.close()
+    }
+
+    @Benchmark
+    fun fetchAllPages(): Int = runBlocking {
+        var page = httpClient.get(url(0)).body<PaginatedResponse<Genre>>()
+        while (true) page = page.fetchNext(client, expand) ?: break
+        page.data.size
+    }
+
+    private companion object {
+        const val PAGE_SIZE = 25
+        const val PAGED_URL = "https://api.deezer.com/genre/paged"
+
+        fun url(index: Int) = "$PAGED_URL?index=$index&limit=$PAGE_SIZE"
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.kingg22.deezer.client.benchmarks
+
+import io.github.kingg22.deezer.client.api.DeezerApiClient
+import io.github.kingg22.deezer.client.api.objects.Track
+import io.ktor.client.*
+import io.ktor.client.request.*
+import io.ktor.client.statement.*
+import kotlinx.coroutines.runBlocking
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+
+/**
+ * Overhead of [DeezerClientPlugin][io.github.kingg22.deezer.client.api.DeezerClientPlugin] per request:
+ * the same request of a track to a MockEngine, with and without the plugin, and through the generated route.
+ */
+@State(Scope.Benchmark)
+open class PluginBenchmark {
+    private lateinit var withoutPlugin: HttpClient
+    private lateinit var withPlugin: HttpClient
+    private lateinit var client: DeezerApiClient
+
+    @Setup
+    fun setup() {
+        val responses = mapOf(TRACK_URL to Fixtures.read("track/get_track"))
+        withoutPlugin = Fixtures.httpClient(Fixtures.mockEngine(responses), withPlugin = false)
+        withPlugin = Fixtures.httpClient(Fixtures.mockEngine(responses))
+        client = DeezerApiClient(withPlugin)
+    }
+
+    @TearDown
+    fun tearDown() {
+        withoutPlugin.close()
+        withPlugin.close()
+    }
+
+    @Benchmark
+    fun requestWithoutPlugin(): String = runBlocking { withoutPlugin.get(TRACK_URL).bodyAsText() }
+
+    @Benchmark
+    fun requestWithPlugin(): String = runBlocking { withPlugin.get(TRACK_URL).bodyAsText() }
+
+    @Benchmark
+    fun route(): Track = runBlocking { client.tracks.getById(TRACK_ID) }
+
+    private companion object {
+        const val TRACK_ID = 3135556L
+        const val TRACK_URL = "https://api.deezer.com/track/$TRACK_ID"
+    }
+}
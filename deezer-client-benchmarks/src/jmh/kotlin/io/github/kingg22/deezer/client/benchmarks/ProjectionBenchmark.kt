@@ -0,0 +1,44 @@
+package io.github.kingg22.deezer.client.benchmarks
+
+import io.github.kingg22.deezer.client.api.DeezerStringPool
+import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
+import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
+import io.github.kingg22.deezer.client.api.objects.TrackSummary
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * The same page of tracks decoded into each representation of the library:
+ * the full models, the summaries, the columnar batch and the full models with interned strings.
+ * Compare the allocation rate (`gc.alloc.rate.norm`) more than the time.
+ */
+@State(Scope.Benchmark)
+open class ProjectionBenchmark {
+    private val json = getDefaultJson()
+    private val tracks = PaginatedResponse.serializer(Track.serializer())
+    private val summaries = PaginatedResponse.serializer(TrackSummary.serializer())
+    private val pool = DeezerStringPool()
+    private val internedTracks = pool.interning(tracks)
+    private lateinit var body: String
+
+    @Setup
+    fun setup() {
+        body = Fixtures.read("album/get_album_tracks")
+    }
+
+    @Benchmark
+    fun fullTracks(): PaginatedResponse<Track> = json.decodeFromString(tracks, body)
+
+    @Benchmark
+    fun trackSummaries(): PaginatedResponse<TrackSummary> = json.decodeFromString(summaries, body)
+
+    @Benchmark
+    fun trackBatch(): TrackBatch = json.decodeFromString(TrackBatch.serializer(), body)
+
+    @Benchmark
+    fun internedFullTracks(): PaginatedResponse<Track> = json.decodeFromString(internedTracks, body)
+}
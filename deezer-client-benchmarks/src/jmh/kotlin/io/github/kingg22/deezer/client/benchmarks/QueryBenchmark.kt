@@ -0,0 +1,43 @@
+package io.github.kingg22.deezer.client.benchmarks
+
+import io.github.kingg22.deezer.client.api.objects.ImageSizes
+import io.github.kingg22.deezer.client.api.objects.withImageSize
+import io.github.kingg22.deezer.client.api.routes.SearchRoutes.Companion.buildAdvancedQuery
+import io.ktor.http.*
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import kotlin.time.Duration.Companion.seconds
+
+/** Helpers without I/O: the advanced search query and the image size of the CDN urls */
+@State(Scope.Benchmark)
+open class QueryBenchmark {
+    private val picture = "https://cdn-images.dzcdn.net/images/artist/f2bc007e9133c946ac3c3907ddc5d2ea"
+    private val pictureUrl = Url(picture)
+
+    @Benchmark
+    fun advancedQuery(): String = buildAdvancedQuery(
+        q = "Not Afraid",
+        artist = "eminem",
+        album = "Recovery",
+        durationMin = 200.seconds,
+        durationMax = 300.seconds,
+        bpmMin = 80,
+    )
+
+    @Benchmark
+    fun advancedQueryDsl(): String = buildAdvancedQuery {
+        q("Not Afraid")
+        artist("eminem")
+        album("Recovery")
+    }
+
+    @Benchmark
+    fun stringWithImageSize(): String = picture.withImageSize(ImageSizes.XL)
+
+    @Benchmark
+    fun stringWithCustomImageSize(): String = picture.withImageSize(720)
+
+    @Benchmark
+    fun urlWithImageSize(): Url = pictureUrl.withImageSize(ImageSizes.SMALL)
+}
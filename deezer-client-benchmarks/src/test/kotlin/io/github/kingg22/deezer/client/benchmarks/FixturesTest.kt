@@ -0,0 +1,23 @@
+package io.github.kingg22.deezer.client.benchmarks
+
+import org.openjdk.jmh.annotations.Param
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class FixturesTest {
+    @Test
+    fun decode_benchmark_covers_each_fixture() {
+        val params = DecodeBenchmark::class.java.getField("fixture").getAnnotation(Param::class.java).value
+        assertEquals(Fixtures.serializers.keys, params.toSet())
+        assertEquals(params.size, params.toSet().size)
+
+        val root = File(checkNotNull(Fixtures::class.java.getResource("/api/responses")).toURI())
+        val files = root.walk()
+            .filter { it.extension == "json" }
+            .map { it.relativeTo(root).invariantSeparatorsPath.removeSuffix(".json") }
+            .toSet()
+        // The error isn't a model, the plugin reads it
+        assertEquals(files - "get_error", Fixtures.serializers.keys)
+    }
+}
@@ -22,16 +22,31 @@
 import io.github.kingg22.deezer.client.utils.getDefaultDeezerHeaders
 import io.ktor.client.*
 import io.ktor.client.plugins.*
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.asCoroutineDispatcher
 import kotlinx.coroutines.isActive
+import kotlinx.coroutines.runBlocking
+import org.jetbrains.annotations.Blocking
+import java.io.Closeable
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
 
 /**
  * Java Client for the official [Deezer API](https://developers.deezer.com/api/).
  *
  * For Kotlin: **You don't need this, use [DeezerApiClient] instead, this is only for Java**
  *
+ * The `*Future` methods run in a scope owned by this client: cancelling a future cancels its request,
+ * and [close] cancels all the pending ones. The [httpClient] isn't closed, it belongs to the caller.
+ *
+ * The blocking methods called from a virtual thread (Java 21+) park it on a future of that scope,
+ * other threads run an event loop. Pair it with the Ktor `Java` engine to keep the whole call non-blocking.
+ *
  * @constructor _Experimental_ Initialize with a [Deezer API Kotlin Client][DeezerApiClient]
  *
  * @property delegate the [DeezerApiClient] to wrap all operations with it
+ * @param dispatcher Where the futures run. Default [Dispatchers.IO], to not starve [Dispatchers.Default]
  * @throws IllegalArgumentException If the [HttpClient] of the delegate is not active
  *
  * @author Kingg22
@@ -43,17 +58,27 @@
  */
 internal class DeezerApiJavaClient
 @ExperimentalDeezerClient
+@JvmOverloads
 internal constructor(
     /** The current kotlin client is used to delegate all operations of this java client. */
     @property:InternalDeezerClient
     val delegate: DeezerApiClient,
-) {
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+) : Closeable {
     /**
      * Initialize the client with an active [HttpClient] and [DeezerClientPlugin] installed
      * @param httpClient The Ktor Http Client to use
      */
     internal constructor(httpClient: HttpClient) : this(DeezerApiClient(httpClient))
 
+    /**
+     * Initialize the client with an active [HttpClient] and [DeezerClientPlugin] installed
+     * @param httpClient The Ktor Http Client to use
+     * @param executor Where the futures run, like a bounded thread pool of the app
+     */
+    internal constructor(httpClient: HttpClient, executor: Executor) :
+        this(DeezerApiClient(httpClient), executor.asCoroutineDispatcher())
+
     /**
      * Initialize with builder to create an [HttpClient].
      *
@@ -72,65 +97,86 @@ internal class DeezerApiJavaClient
     @property:InternalDeezerClient
     val httpClient get() = delegate.httpClient
 
+    /** Owner of the coroutines behind the futures */
+    internal val futures = DeezerFutureScope(dispatcher)
+
     init {
         require(delegate.httpClient.isActive) { "The http client of delegate isn't active" }
     }
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Album] */
     @JvmField
-    val albums = delegate.albums.asJava()
+    val albums = delegate.albums.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Artist] */
     @JvmField
-    val artists = delegate.artists.asJava()
+    val artists = delegate.artists.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Chart] */
     @JvmField
-    val charts = delegate.charts.asJava()
+    val charts = delegate.charts.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Editorial] */
     @JvmField
-    val editorials = delegate.editorials.asJava()
+    val editorials = delegate.editorials.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Episode] */
     @JvmField
-    val episodes = delegate.episodes.asJava()
+    val episodes = delegate.episodes.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Genre] */
     @JvmField
-    val genres = delegate.genres.asJava()
+    val genres = delegate.genres.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Infos] */
     @JvmField
-    val infos = delegate.infos.asJava()
+    val infos = delegate.infos.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Options] */
     @JvmField
-    val options = delegate.options.asJava()
+    val options = delegate.options.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Playlist] */
     @JvmField
-    val playlists = delegate.playlists.asJava()
+    val playlists = delegate.playlists.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Podcast] */
     @JvmField
-    val podcasts = delegate.podcasts.asJava()
+    val podcasts = delegate.podcasts.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Radio] */
     @JvmField
-    val radios = delegate.radios.asJava()
+    val radios = delegate.radios.asJava(futures)
 
     /** All endpoints related to search */
     @JvmField
-    val searches = delegate.searches.asJava()
+    val searches = delegate.searches.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.Track] */
     @JvmField
-    val tracks = delegate.tracks.asJava()
+    val tracks = delegate.tracks.asJava(futures)
 
     /** All endpoints related to [io.github.kingg22.deezer.client.api.objects.User] */
     @JvmField
-    val users = delegate.users.asJava()
+    val users = delegate.users.asJava(futures)
+
+    /** Number of futures not completed yet */
+    val pendingFutures: Int get() = futures.pending
+
+    /**
+     * Cancel all the pending futures and the read ahead of the streams,
+     * the next calls fail with [IllegalStateException]
+     */
+    override fun close() {
+        futures.cancel()
+    }
+
+    /**
+     * Stop accepting new futures and wait for the pending ones up to the [timeout], then cancel the rest.
+     * @return Whether all the pending futures completed in time
+     */
+    @Blocking
+    fun closeGracefully(timeout: Long, unit: TimeUnit): Boolean = runBlocking { futures.drain(unit.toMillis(timeout)) }
 
     /** Java Client for the Deezer API. */
     companion object {
@@ -0,0 +1,100 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.supervisorScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.coroutines.withTimeoutOrNull
+import java.util.concurrent.TimeoutException
+
+/**
+ * Options of the batch methods of the Java routes, like `tracks.getByIdsFuture(ids, options)`.
+ *
+ * Usage:
+ * ```java
+ * DeezerBatchOptions options = new DeezerBatchOptions(4, false, 10_000);
+ * DeezerLoadResult<Long, Track> result = client.tracks.getByIdsFuture(ids, options).get();
+ * ```
+ *
+ * @property maxParallelism Max requests of the batch at the same time. Default 8
+ * @property failFast Whether the first failure cancels the batch and fails the future,
+ * otherwise the failures are collected by key in [DeezerLoadResult.failures]. Default `false`
+ * @property itemTimeoutMillis Max time of each request in milliseconds, without the wait for its turn.
+ * `0` for no timeout. Default `0`
+ */
+@PublishedApi
+/*
+This is internal, for kotlin consumers can't access this, but Java consumers can access avoid internal stuff.
+Is PublishedApi to maintain binary compatibility.
+ */
+@DeezerApiPoko
+internal class DeezerBatchOptions @JvmOverloads constructor(
+    val maxParallelism: Int = DEFAULT_MAX_PARALLELISM,
+    val failFast: Boolean = false,
+    val itemTimeoutMillis: Long = 0,
+) {
+    init {
+        require(maxParallelism > 0) { "maxParallelism must be greater than 0" }
+        require(itemTimeoutMillis >= 0) { "itemTimeoutMillis can't be negative" }
+    }
+
+    /** Defaults of [DeezerBatchOptions] */
+    companion object {
+        /** Default [maxParallelism] */
+        const val DEFAULT_MAX_PARALLELISM = 8
+
+        /** Options with all the defaults */
+        @JvmField
+        val DEFAULT = DeezerBatchOptions()
+    }
+}
+
+/**
+ * Fetch all the [keys] with at most [DeezerBatchOptions.maxParallelism] requests at the same time.
+ *
+ * Duplicated keys are fetched once, the values and failures follow the order of [keys].
+ * @throws TimeoutException If a request exceeds the [DeezerBatchOptions.itemTimeoutMillis] in fail-fast mode
+ */
+@Suppress("kotlin:S6312")
+internal suspend fun <K : Any, V : Any> batch(
+    keys: Collection<K>,
+    options: DeezerBatchOptions,
+    fetch: suspend (K) -> V,
+): DeezerLoadResult<K, V> {
+    val semaphore = Semaphore(options.maxParallelism)
+    val unique = LinkedHashSet(keys)
+
+    // A timeout is a failure of the key, not a cancellation of the batch
+    suspend fun fetchWithTimeout(key: K): V = semaphore.withPermit {
+        if (options.itemTimeoutMillis == 0L) return@withPermit fetch(key)
+        withTimeoutOrNull(options.itemTimeoutMillis) { fetch(key) }
+            ?: throw TimeoutException("The request of $key took more than ${options.itemTimeoutMillis} ms")
+    }
+
+    if (options.failFast) {
+        // The first failure cancels the siblings and is thrown
+        return coroutineScope {
+            val deferredByKey = unique.associateWith { key -> async { fetchWithTimeout(key) } }
+            DeezerLoadResult(deferredByKey.mapValues { (_, deferred) -> deferred.await() }, emptyMap())
+        }
+    }
+
+    return supervisorScope {
+        val deferredByKey = unique.associateWith { key -> async { fetchWithTimeout(key) } }
+        val values = LinkedHashMap<K, V>()
+        val failures = LinkedHashMap<K, Throwable>()
+        for ((key, deferred) in deferredByKey) {
+            try {
+                values[key] = deferred.await()
+            } catch (e: Throwable) {
+                currentCoroutineContext().ensureActive()
+                failures[key] = e
+            }
+        }
+        DeezerLoadResult(values, failures)
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.kingg22.deezer.client.api
+
+import java.lang.reflect.Method
+
+/**
+ * Records a `DeezerApiCall` event of the JDK Flight Recorder for each call, only while a recording enables it:
+ * `java -XX:StartFlightRecording:filename=app.jfr ...` or `jcmd <pid> JFR.start`.
+ *
+ * The event is defined at runtime with `jdk.jfr.EventFactory` (JDK 11+ and 8u262+) loaded by reflection,
+ * on Android or a JVM without the Flight Recorder nothing is recorded.
+ * Its fields are the route template, the resource id, the status, the error code of Deezer, the bytes,
+ * the decode duration and the retry attempt; the duration of the event is the whole call.
+ */
+internal actual object DeezerCallRecorder {
+    private val flightRecorder: FlightRecorderEvents? = try {
+        FlightRecorderEvents()
+    } catch (_: ReflectiveOperationException) {
+        null
+    } catch (_: LinkageError) {
+        null
+    } catch (_: RuntimeException) {
+        // Flight Recorder disabled or without permissions
+        null
+    }
+
+    actual val isEnabled: Boolean get() = flightRecorder?.isEnabled() == true
+
+    actual fun begin(): DeezerCallEvent? {
+        val events = flightRecorder ?: return null
+        return if (events.isEnabled()) events.begin() else null
+    }
+
+    /** The `DeezerApiCall` event type and the methods of `jdk.jfr.Event`, resolved once */
+    private class FlightRecorderEvents {
+        private val factory: Any
+        private val eventType: Any
+        private val typeIsEnabled: Method
+        private val factoryNewEvent: Method
+        private val eventBegin: Method
+        private val eventEnd: Method
+        private val eventCommit: Method
+        private val eventSet: Method
+
+        init {
+            val annotationConstructor = Class.forName("jdk.jfr.AnnotationElement")
+                .getConstructor(Class::class.java, Any::class.java)
+            val valueConstructor = Class.forName("jdk.jfr.ValueDescriptor")
+                .getConstructor(Class::class.java, String::class.java, List::class.java)
+
+            fun annotation(name: String, value: Any): Any =
+                annotationConstructor.newInstance(Class.forName("jdk.jfr.$name"), value)
+
+            fun field(type: Class<*>, name: String, label: String, vararg annotations: Any): Any =
+                valueConstructor.newInstance(type, name, listOf(annotation("Label", label)) + annotations)
+
+            // Same order as the indexes of the values in DeezerApiCall.commit
+            val fields = listOf(
+                field(String::class.java, "route", "Route"),
+                field(String::class.java, "resourceId", "Resource Id"),
+                field(Int::class.java, "status", "HTTP Status"),
+                field(Int::class.java, "errorCode", "Deezer Error Code"),
+                field(Long::class.java, "bytes", "Response Bytes", annotation("DataAmount", "BYTES")),
+                field(Long::class.java, "decodeDuration", "Decode Duration", annotation("Timespan", "NANOSECONDS")),
+                field(Int::class.java, "attempt", "Retry Attempt"),
+            )
+            val annotations = listOf(
+                annotation("Name", EVENT_NAME),
+                annotation("Label", "Deezer API Call"),
+                annotation("Category", arrayOf("Deezer API")),
+                annotation("Description", "A call of DeezerClientPlugin to a route of Deezer API"),
+            )
+
+            val factoryClass = Class.forName("jdk.jfr.EventFactory")
+            factory = factoryClass.getMethod("create", List::class.java, List::class.java)
+                .invoke(null, annotations, fields)
+            eventType = factoryClass.getMethod("getEventType").invoke(factory)
+            typeIsEnabled = Class.forName("jdk.jfr.EventType").getMethod("isEnabled")
+            factoryNewEvent = factoryClass.getMethod("newEvent")
+            val eventClass = Class.forName("jdk.jfr.Event")
+            eventBegin = eventClass.getMethod("begin")
+            eventEnd = eventClass.getMethod("end")
+            eventCommit = eventClass.getMethod("commit")
+            eventSet = eventClass.getMethod("set", Int::class.java, Any::class.java)
+        }
+
+        fun isEnabled() = typeIsEnabled.invoke(eventType) as Boolean
+
+        fun begin(): DeezerCallEvent = DeezerApiCall(factoryNewEvent.invoke(factory).also { eventBegin.invoke(it) })
+
+        /** A `jdk.jfr.Event` of the type `DeezerApiCall` */
+        private inner class DeezerApiCall(private val event: Any) : DeezerCallEvent {
+            override fun commit(
+                route: String,
+                resourceId: String?,
+                status: Int,
+                errorCode: Int,
+                bytes: Long,
+                decodeNanos: Long,
+                attempt: Int,
+            ) {
+                eventEnd.invoke(event)
+                eventSet.invoke(event, 0, route)
+                eventSet.invoke(event, 1, resourceId)
+                eventSet.invoke(event, 2, status)
+                eventSet.invoke(event, 3, errorCode)
+                eventSet.invoke(event, 4, bytes)
+                eventSet.invoke(event, 5, decodeNanos)
+                eventSet.invoke(event, 6, attempt)
+                eventCommit.invoke(event)
+            }
+        }
+    }
+
+    /** Name of the event in the recordings */
+    const val EVENT_NAME = "io.github.kingg22.deezer.DeezerApiCall"
+}
@@ -0,0 +1,340 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import java.io.ByteArrayOutputStream
+import java.io.Closeable
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.nio.Buffer
+import java.nio.ByteBuffer
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.util.zip.CRC32
+
+/**
+ * Persistent [DeezerPersistentCache] of raw JSON bodies in a [directory], survives restarts of the process.
+ *
+ * Layout:
+ * - `responses.log` an append-only log of records `[magic, key size, body size, fetched at, key, body, crc32]`,
+ *   and of tombstones (records without body) of the evicted keys.
+ * - `responses.index` a snapshot of the index (key to record offset) covering a prefix of the log.
+ *
+ * Bodies are read with memory-mapped I/O. On open, the snapshot is loaded and the records after it are replayed;
+ * a torn record (crash during a write) fails the CRC check and the log is truncated there.
+ * When the live bodies exceed [maxBytes] the oldest fetched are dropped, and the log is compacted
+ * when it is more than twice the live size.
+ *
+ * Usage:
+ * ```kotlin
+ * val diskCache = DeezerDiskCache(File("cache/deezer"))
+ * val httpClient = HttpClient {
+ *   install(DeezerClientPlugin)
+ *   install(DeezerCachePlugin) {
+ *     persistentStorage = diskCache
+ *   }
+ * }
+ * // on shutdown
+ * diskCache.close()
+ * ```
+ *
+ * @param directory The directory of the files, created if needed
+ * @param maxBytes Budget of bytes of the live records. Default 256 MiB
+ * @throws IOException If the directory or the log can't be opened
+ * @see DeezerCacheConfig.persistentStorage
+ */
+class DeezerDiskCache @JvmOverloads @Throws(IOException::class) constructor(
+    val directory: File,
+    val maxBytes: Long = DEFAULT_MAX_BYTES,
+) : DeezerPersistentCache,
+    Closeable {
+    private val lock = Any()
+    private val dataFile = File(directory, DATA_FILE_NAME)
+    private val indexFile = File(directory, INDEX_FILE_NAME)
+    private val index = HashMap<String, Entry>()
+    private var channel: FileChannel
+    private var mapped: MappedByteBuffer? = null
+    private var logSize = 0L
+    private var liveBytes = 0L
+
+    @Volatile
+    private var closed = false
+
+    init {
+        require(maxBytes in 1..MAX_ALLOWED_BYTES) { "maxBytes must be between 1 and $MAX_ALLOWED_BYTES" }
+        if (!directory.isDirectory && !directory.mkdirs()) throw IOException("Can't create the directory $directory")
+        channel = RandomAccessFile(dataFile, "rw").channel
+        try {
+            recover()
+        } catch (e: Throwable) {
+            channel.close()
+            throw e
+        }
+    }
+
+    /** Number of entries stored */
+    val size: Int get() = synchronized(lock) { index.size }
+
+    override suspend fun read(key: String): DeezerPersistedBody? = withContext(Dispatchers.IO) {
+        synchronized(lock) {
+            checkOpen()
+            val entry = index[key] ?: return@synchronized null
+            val body = ByteArray(entry.bodySize)
+            val buffer = mappedUntil(entry.end).duplicate()
+            (buffer as Buffer).position(entry.bodyOffset.toInt())
+            buffer.get(body)
+            DeezerPersistedBody(body, entry.fetchedAtMillis)
+        }
+    }
+
+    override suspend fun write(key: String, body: ByteArray, fetchedAtMillis: Long) {
+        withContext(Dispatchers.IO) {
+            synchronized(lock) {
+                checkOpen()
+                append(key, body, fetchedAtMillis)
+                evictIfNeeded()
+                if (logSize > COMPACTION_MIN_BYTES && logSize > liveBytes * 2) compact()
+            }
+        }
+    }
+
+    /** Write the index snapshot and close the files. Others operations fail after this. */
+    @Throws(IOException::class)
+    override fun close() {
+        synchronized(lock) {
+            if (closed) return
+            closed = true
+            try {
+                writeSnapshot()
+            } finally {
+                mapped = null
+                channel.close()
+            }
+        }
+    }
+
+    /* -- Implementation Zone -- */
+
+    private fun checkOpen() = check(!closed) { "DeezerDiskCache is closed" }
+
+    private fun append(key: String, body: ByteArray, fetchedAtMillis: Long) {
+        val keyBytes = key.encodeToByteArray()
+        val offset = appendRecord(RECORD_MAGIC, keyBytes, body, fetchedAtMillis)
+        put(key, Entry(offset, keyBytes.size, body.size, fetchedAtMillis))
+    }
+
+    /** Write a record at the end of the log, return its offset */
+    private fun appendRecord(magic: Int, keyBytes: ByteArray, body: ByteArray, fetchedAtMillis: Long): Long {
+        val record = ByteBuffer.allocate(RECORD_OVERHEAD + keyBytes.size + body.size)
+        record.putInt(magic).putInt(keyBytes.size).putInt(body.size).putLong(fetchedAtMillis)
+        record.put(keyBytes).put(body)
+        val crc = CRC32().apply { update(record.array(), 0, record.position()) }
+        record.putInt(crc.value.toInt())
+        (record as Buffer).flip()
+
+        val offset = logSize
+        var position = offset
+        while (record.hasRemaining()) position += channel.write(record, position)
+        logSize = position
+        return offset
+    }
+
+    private fun put(key: String, entry: Entry) {
+        index.put(key, entry)?.let { liveBytes -= it.recordSize }
+        liveBytes += entry.recordSize
+    }
+
+    private fun remove(key: String) {
+        index.remove(key)?.let { liveBytes -= it.recordSize }
+    }
+
+    /** Drop the oldest fetched until 90% of the budget, with a tombstone so the replay doesn't restore them */
+    private fun evictIfNeeded() {
+        if (liveBytes <= maxBytes) return
+        val target = maxBytes / 10 * 9
+        val oldest = index.entries.sortedBy { it.value.fetchedAtMillis }.map { it.key }.iterator()
+        while (liveBytes > target && oldest.hasNext()) {
+            val key = oldest.next()
+            remove(key)
+            appendRecord(TOMBSTONE_MAGIC, key.encodeToByteArray(), EMPTY_BODY, 0)
+        }
+    }
+
+    /** Map the log at least until [end], remapping only when the log grew after the last mapping */
+    private fun mappedUntil(end: Long): MappedByteBuffer {
+        val current = mapped
+        if (current != null && current.capacity() >= end) return current
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, logSize).also { mapped = it }
+    }
+
+    /** Load the snapshot, replay the log after it and truncate a torn tail */
+    private fun recover() {
+        val fileSize = channel.size()
+        var position = loadSnapshot(fileSize)
+        if (fileSize > 0) {
+            val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize)
+            while (true) {
+                position = replayRecord(buffer, position) ?: break
+            }
+        }
+        if (position < fileSize) channel.truncate(position)
+        logSize = position
+    }
+
+    /** Apply the record at [position] to the index, return the position of the next one or `null` if invalid */
+    private fun replayRecord(buffer: ByteBuffer, position: Long): Long? {
+        val limit = buffer.limit()
+        if (position + RECORD_OVERHEAD > limit) return null
+        val start = position.toInt()
+        val magic = buffer.getInt(start)
+        if (magic != RECORD_MAGIC && magic != TOMBSTONE_MAGIC) return null
+        val keySize = buffer.getInt(start + 4)
+        val bodySize = buffer.getInt(start + 8)
+        if (keySize < 0 || bodySize < 0 || position + RECORD_OVERHEAD + keySize + bodySize > limit) return null
+        val fetchedAt = buffer.getLong(start + 12)
+        val contentEnd = start + RECORD_HEADER + keySize + bodySize
+
+        val content = ByteArray(contentEnd - start)
+        val duplicate = buffer.duplicate()
+        (duplicate as Buffer).position(start)
+        duplicate.get(content)
+        val crc = CRC32().apply { update(content) }
+        if (buffer.getInt(contentEnd) != crc.value.toInt()) return null
+
+        val key = content.decodeToString(RECORD_HEADER, RECORD_HEADER + keySize)
+        if (magic == TOMBSTONE_MAGIC) {
+            remove(key)
+            return contentEnd.toLong() + CRC_BYTES
+        }
+        val entry = Entry(position, keySize, bodySize, fetchedAt)
+        put(key, entry)
+        return entry.end + CRC_BYTES
+    }
+
+    /** Read the snapshot into the index, return the length of the log covered, `0` if missing or invalid */
+    private fun loadSnapshot(fileSize: Long): Long {
+        if (!indexFile.isFile) return 0
+        return try {
+            val bytes = indexFile.readBytes()
+            val crc = CRC32().apply { update(bytes, 0, bytes.size - CRC_BYTES) }
+            val storedCrc = ByteBuffer.wrap(bytes, bytes.size - CRC_BYTES, CRC_BYTES).getInt()
+            check(storedCrc == crc.value.toInt()) { "Corrupted index" }
+            DataInputStream(bytes.inputStream(0, bytes.size - CRC_BYTES)).use { input ->
+                check(input.readInt() == INDEX_MAGIC) { "Unknown index" }
+                val covered = input.readLong()
+                check(covered <= fileSize) { "Index covers more than the log" }
+                repeat(input.readInt()) {
+                    val key = ByteArray(input.readInt()).also { input.readFully(it) }.decodeToString()
+                    val entry = Entry(input.readLong(), input.readInt(), input.readInt(), input.readLong())
+                    check(entry.end + CRC_BYTES <= covered) { "Entry out of the log" }
+                    put(key, entry)
+                }
+                covered
+            }
+        } catch (_: Exception) {
+            // The log is the source of truth, replay it from the start
+            index.clear()
+            liveBytes = 0
+            0
+        }
+    }
+
+    /** Write the index atomically: to a temporal file, then rename it */
+    private fun writeSnapshot() {
+        channel.force(true)
+        val output = ByteArrayOutputStream()
+        DataOutputStream(output).use { data ->
+            data.writeInt(INDEX_MAGIC)
+            data.writeLong(logSize)
+            data.writeInt(index.size)
+            for ((key, entry) in index) {
+                val keyBytes = key.encodeToByteArray()
+                data.writeInt(keyBytes.size)
+                data.write(keyBytes)
+                data.writeLong(entry.offset)
+                data.writeInt(entry.keySize)
+                data.writeInt(entry.bodySize)
+                data.writeLong(entry.fetchedAtMillis)
+            }
+        }
+        val crc = CRC32().apply { update(output.toByteArray()) }
+        DataOutputStream(output).use { it.writeInt(crc.value.toInt()) }
+
+        val temporal = File(directory, "$INDEX_FILE_NAME.tmp")
+        FileOutputStream(temporal).use { file ->
+            output.writeTo(file)
+            file.fd.sync()
+        }
+        replace(temporal, indexFile)
+    }
+
+    /** Rewrite only the live records in a new log, then replace the old one */
+    private fun compact() {
+        val compacted = File(directory, "$DATA_FILE_NAME.compact")
+        val source = mappedUntil(logSize)
+        val moved = HashMap<String, Entry>(index.size)
+        var position = 0L
+        RandomAccessFile(compacted, "rw").channel.use { target ->
+            target.truncate(0)
+            for ((key, entry) in index) {
+                val record = source.duplicate()
+                (record as Buffer).position(entry.offset.toInt())
+                (record as Buffer).limit((entry.end + CRC_BYTES).toInt())
+                while (record.hasRemaining()) target.write(record, position + record.position() - entry.offset)
+                moved[key] = Entry(position, entry.keySize, entry.bodySize, entry.fetchedAtMillis)
+                position += entry.recordSize
+            }
+            target.force(true)
+        }
+        // Without the old snapshot a crash after the rename replays the new log from the start
+        indexFile.delete()
+        mapped = null
+        channel.close()
+        replace(compacted, dataFile)
+        channel = RandomAccessFile(dataFile, "rw").channel
+        index.clear()
+        index.putAll(moved)
+        logSize = position
+        writeSnapshot()
+    }
+
+    private fun replace(source: File, target: File) {
+        if (!source.renameTo(target)) {
+            target.delete()
+            if (!source.renameTo(target)) throw IOException("Can't replace $target")
+        }
+    }
+
+    /** Location of a record in the log */
+    private class Entry(val offset: Long, val keySize: Int, val bodySize: Int, val fetchedAtMillis: Long) {
+        val bodyOffset get() = offset + RECORD_HEADER + keySize
+
+        /** End of the body, the CRC follows */
+        val end get() = bodyOffset + bodySize
+        val recordSize get() = (RECORD_OVERHEAD + keySize + bodySize).toLong()
+    }
+
+    /** Defaults of [DeezerDiskCache] */
+    companion object {
+        /** Default budget of [maxBytes], 256 MiB */
+        const val DEFAULT_MAX_BYTES = 256L * 1024 * 1024
+
+        /** Max budget allowed, the log must be addressable by a memory-mapped buffer after growing twice */
+        const val MAX_ALLOWED_BYTES = 512L * 1024 * 1024
+
+        private const val DATA_FILE_NAME = "responses.log"
+        private const val INDEX_FILE_NAME = "responses.index"
+        private const val RECORD_MAGIC = 0x445a4331 // DZC1
+        private const val TOMBSTONE_MAGIC = 0x445a5431 // DZT1
+        private const val INDEX_MAGIC = 0x445a4931 // DZI1
+        private val EMPTY_BODY = ByteArray(0)
+        private const val RECORD_HEADER = 20
+        private const val CRC_BYTES = 4
+        private const val RECORD_OVERHEAD = RECORD_HEADER + CRC_BYTES
+        private const val COMPACTION_MIN_BYTES = 1024L * 1024
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineName
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.future.future
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeoutOrNull
+import java.lang.reflect.Method
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import kotlin.concurrent.Volatile
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+
+/**
+ * Owner of the coroutines behind the [CompletableFuture] of the Java routes.
+ *
+ * Each future is a child of a [SupervisorJob]: a failure doesn't cancel the others,
+ * [CompletableFuture.cancel] cancels its coroutine (and the HTTP request in flight),
+ * and [cancel] cancels all of them at once.
+ *
+ * @param dispatcher Where the futures run, keep it away of [Dispatchers.Default] to not starve CPU bound work
+ */
+internal class DeezerFutureScope(dispatcher: CoroutineDispatcher) {
+    private val job = SupervisorJob()
+    private val scope = CoroutineScope(job + dispatcher + CoroutineName("DeezerApiJavaClient"))
+
+    @Volatile
+    private var closed = false
+
+    /** Whether [cancel] or [drain] were called, new futures fail immediately */
+    val isClosed: Boolean get() = closed
+
+    /** Number of futures not completed yet */
+    val pending: Int get() = job.children.count()
+
+    /**
+     * Start the [block] as a future, the [context] is added to the scope.
+     * @return A future completed with [IllegalStateException] if this scope is closed
+     */
+    fun <T> future(context: CoroutineContext, block: suspend CoroutineScope.() -> T): CompletableFuture<T> {
+        if (closed) {
+            return CompletableFuture<T>().apply {
+                completeExceptionally(IllegalStateException(CLOSED_MESSAGE))
+            }
+        }
+        return scope.future(context, block = block)
+    }
+
+    /**
+     * Run the [block] blocking the current thread until its result.
+     *
+     * A virtual thread (Java 21+) parks on a future of this scope, without an event loop pinned to its carrier.
+     * Other threads run the [block] with [runBlocking].
+     * @throws IllegalStateException If this scope is closed
+     */
+    fun <T> blocking(context: CoroutineContext = EmptyCoroutineContext, block: suspend CoroutineScope.() -> T): T {
+        check(!closed) { CLOSED_MESSAGE }
+        if (!isCurrentThreadVirtual()) return runBlocking(context, block)
+
+        val future = scope.future(context, block = block)
+        try {
+            return future.get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        } catch (e: InterruptedException) {
+            future.cancel(true)
+            throw e
+        }
+    }
+
+    /** New [Job] of a background work that isn't a future (like the read ahead of a stream), cancelled by [cancel] */
+    fun childJob(): Job = Job(job)
+
+    /** Reject new futures and cancel the pending ones */
+    fun cancel() {
+        closed = true
+        scope.cancel(CLOSED_MESSAGE)
+    }
+
+    /**
+     * Reject new futures and wait the pending ones up to [timeoutMillis], the ones left are cancelled.
+     * @return Whether all pending futures completed in time
+     */
+    suspend fun drain(timeoutMillis: Long): Boolean {
+        closed = true
+        val drained = withTimeoutOrNull(timeoutMillis) { job.children.toList().joinAll() } != null
+        cancel()
+        return drained
+    }
+
+    /** Defaults of [DeezerFutureScope] */
+    companion object {
+        /** Scope of the Java routes created without a [DeezerApiJavaClient], never closed */
+        val Unmanaged = DeezerFutureScope(Dispatchers.IO)
+
+        private const val CLOSED_MESSAGE = "The Java client is closed"
+
+        // Thread.isVirtual() exists since Java 21, looked up once to keep the Java 8 and Android baseline
+        private val isVirtual: Method? = try {
+            Thread::class.java.getMethod("isVirtual")
+        } catch (e: NoSuchMethodException) {
+            null
+        }
+
+        // A thread never changes its kind, reflected once by thread instead of on each blocking call
+        private val currentThreadVirtual = object : ThreadLocal<Boolean>() {
+            override fun initialValue() = isVirtual?.invoke(Thread.currentThread()) == true
+        }
+
+        /** Whether the current thread is a virtual thread, always false before Java 21 */
+        fun isCurrentThreadVirtual(): Boolean = isVirtual != null && currentThreadVirtual.get()
+    }
+}
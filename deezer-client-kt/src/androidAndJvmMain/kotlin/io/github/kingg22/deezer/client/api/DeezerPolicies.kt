@@ -0,0 +1,95 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import java.util.concurrent.TimeUnit
+import kotlin.time.toDuration
+import kotlin.time.toDurationUnit
+
+/**
+ * Factories of the policies of [DeezerClientPlugin] **for Java code**, with the durations as a `long` and a [TimeUnit].
+ *
+ * The constructors take a [kotlin.time.Duration], which Java can't pass.
+ *
+ * Usage:
+ * ```java
+ * DeezerRetryPolicy retryPolicy = DeezerPolicies.retryPolicy(3, 1, 10, TimeUnit.SECONDS, 0.2, 20);
+ * DeezerRateLimiter rateLimiter = DeezerPolicies.rateLimiter(50, 5, TimeUnit.SECONDS);
+ * ```
+ *
+ * For Kotlin users: **You don't need this, use the constructors instead, this is only for Java**
+ */
+object DeezerPolicies {
+    /**
+     * [DeezerRateLimiter] of [permits] requests each [period] in [unit]
+     * @see DeezerRateLimiter
+     */
+    @JvmStatic
+    fun rateLimiter(permits: Int, period: Long, unit: TimeUnit): DeezerRateLimiter =
+        DeezerRateLimiter(permits, period.toDuration(unit.toDurationUnit()))
+
+    /**
+     * [DeezerRetryPolicy] with the [baseDelay] and [maxDelay] in [unit]
+     * @see DeezerRetryPolicy
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun retryPolicy(
+        maxRetries: Int,
+        baseDelay: Long,
+        maxDelay: Long,
+        unit: TimeUnit,
+        budgetRatio: Double = DeezerRetryPolicy.DEFAULT_BUDGET_RATIO,
+        budgetBurst: Int = DeezerRetryPolicy.DEFAULT_BUDGET_BURST,
+        retryableCodes: Set<DeezerErrorCode> = DeezerRetryPolicy.DEFAULT_RETRYABLE_CODES,
+    ): DeezerRetryPolicy = DeezerRetryPolicy(
+        maxRetries = maxRetries,
+        baseDelay = baseDelay.toDuration(unit.toDurationUnit()),
+        maxDelay = maxDelay.toDuration(unit.toDurationUnit()),
+        budgetRatio = budgetRatio,
+        budgetBurst = budgetBurst,
+        retryableCodes = retryableCodes,
+    )
+
+    /**
+     * [DeezerCircuitBreaker] with the [openDuration] in [unit]
+     * @see DeezerCircuitBreaker
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun circuitBreaker(
+        failureRateThreshold: Double,
+        windowSize: Int,
+        minimumCalls: Int,
+        openDuration: Long,
+        unit: TimeUnit,
+        halfOpenCalls: Int = DeezerCircuitBreaker.DEFAULT_HALF_OPEN_CALLS,
+    ): DeezerCircuitBreaker = DeezerCircuitBreaker(
+        failureRateThreshold = failureRateThreshold,
+        windowSize = windowSize,
+        minimumCalls = minimumCalls,
+        openDuration = openDuration.toDuration(unit.toDurationUnit()),
+        halfOpenCalls = halfOpenCalls,
+    )
+
+    /**
+     * [DeezerHedgePolicy] with the [minDelay] in [unit]
+     * @see DeezerHedgePolicy
+     */
+    @JvmStatic
+    fun hedgePolicy(
+        percentile: Double,
+        budgetRatio: Double,
+        budgetBurst: Int,
+        minimumSamples: Int,
+        windowSize: Int,
+        minDelay: Long,
+        unit: TimeUnit,
+    ): DeezerHedgePolicy = DeezerHedgePolicy(
+        percentile = percentile,
+        budgetRatio = budgetRatio,
+        budgetBurst = budgetBurst,
+        minimumSamples = minimumSamples,
+        windowSize = windowSize,
+        minDelay = minDelay.toDuration(unit.toDurationUnit()),
+    )
+}
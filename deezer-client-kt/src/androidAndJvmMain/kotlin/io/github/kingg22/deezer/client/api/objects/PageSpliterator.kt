@@ -0,0 +1,144 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import io.github.kingg22.deezer.client.api.DeezerApiClient
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import io.ktor.client.request.*
+import io.ktor.client.statement.*
+import io.ktor.http.*
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
+import kotlinx.serialization.InternalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.serializer
+import java.util.Spliterator
+import java.util.Spliterators
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.Consumer
+import java.util.stream.Stream
+import java.util.stream.StreamSupport
+import kotlin.concurrent.Volatile
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * [Spliterator] of the items of a page and the next ones, a background coroutine reads ahead [prefetch] pages.
+ *
+ * The producer starts on the first page needed and suspends while the buffer is full,
+ * the consumer thread only blocks when the buffer is empty. [close] cancels the pending fetch.
+ * The producer is a child of the [futures] and its job completes when the last page is fetched.
+ * Closing the Java client cancels it too, then the stream fails with [IllegalStateException]
+ * instead of ending, so a partial result isn't taken as the whole.
+ */
+internal class PageSpliterator<T : Any>(
+    private val first: PaginatedResponse<T>,
+    prefetch: Int,
+    private val context: CoroutineContext,
+    private val futures: DeezerFutureScope,
+    private val fetch: suspend (url: String) -> PaginatedResponse<T>,
+) : Spliterators.AbstractSpliterator<T>(
+    first.total?.toLong() ?: Long.MAX_VALUE,
+    Spliterator.ORDERED or Spliterator.NONNULL,
+) {
+    private val pages = Channel<PaginatedResponse<T>>(prefetch)
+    private var items = first.data.iterator()
+    private var started = false
+
+    @Volatile
+    private var job: Job? = null
+
+    @Volatile
+    private var closed = false
+
+    init {
+        require(prefetch >= 0) { "prefetch can't be negative" }
+    }
+
+    override fun tryAdvance(action: Consumer<in T>): Boolean {
+        while (!items.hasNext()) {
+            val page = nextPage() ?: return false
+            items = page.data.iterator()
+        }
+        action.accept(items.next())
+        return true
+    }
+
+    /** Cancel the pending fetch, the next [tryAdvance] ends the stream */
+    fun close() {
+        closed = true
+        job?.cancel()
+        pages.cancel()
+    }
+
+    private fun nextPage(): PaginatedResponse<T>? {
+        if (!started) {
+            started = true
+            if (first.next.isNullOrBlank() || closed) {
+                pages.close()
+            } else {
+                val producer = futures.childJob().also { job = it }
+                // Cancelled before the producer started, the consumer still sees the end of the pages
+                producer.invokeOnCompletion { cause -> if (cause != null) pages.close(cause) }
+                CoroutineScope(context + producer).launch { produce() }
+                // Completed once the producer ends
+                producer.complete()
+            }
+        }
+        // Only block the thread if the producer isn't ahead
+        val result = pages.tryReceive().let {
+            if (it.isSuccess || it.isClosed) it else DeezerFutureScope.Unmanaged.blocking { pages.receiveCatching() }
+        }
+        // Closed by the consumer, the stream ends
+        if (closed) return null
+        when (val error = result.exceptionOrNull()) {
+            null -> return result.getOrNull()
+            is CancellationException -> throw IllegalStateException("The Java client is closed", error)
+            else -> throw error
+        }
+    }
+
+    @Suppress("kotlin:S6312")
+    private suspend fun produce() {
+        try {
+            var url = first.next
+            while (!url.isNullOrBlank()) {
+                val page = fetch(url)
+                pages.send(page)
+                url = page.next
+            }
+            pages.close()
+        } catch (e: Throwable) {
+            pages.close(e)
+        }
+    }
+}
+
+/** [Stream] of the items of the [first] page and the next ones fetched by the [client], see [PageSpliterator] */
+@InternalSerializationApi
+internal fun <T : Any> pageStream(
+    first: PaginatedResponse<T>,
+    client: DeezerApiClient,
+    futures: DeezerFutureScope,
+    clazz: Class<T>,
+    prefetch: Int,
+    context: CoroutineContext,
+): Stream<T> {
+    val serializer = PageSerializers.of(clazz)
+    val spliterator = PageSpliterator(first, prefetch, context, futures) { url ->
+        getDefaultJson().decodeFromString(serializer, client.httpClient.get(Url(url)).bodyAsText())
+    }
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close)
+}
+
+/** Serializers of the pages by class of the items, resolved once by reflection */
+@InternalSerializationApi
+internal object PageSerializers {
+    private val cache = ConcurrentHashMap<Class<*>, KSerializer<*>>()
+
+    @Suppress("UNCHECKED_CAST")
+    fun <T : Any> of(clazz: Class<T>): KSerializer<PaginatedResponse<T>> = cache.getOrPut(clazz) {
+        PaginatedResponse.serializer(clazz.kotlin.serializer())
+    } as KSerializer<PaginatedResponse<T>>
+}
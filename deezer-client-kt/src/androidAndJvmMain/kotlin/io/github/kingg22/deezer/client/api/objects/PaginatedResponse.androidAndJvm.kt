@@ -2,6 +2,7 @@
 
 import io.github.kingg22.deezer.client.api.DeezerApiClient
 import io.github.kingg22.deezer.client.api.DeezerApiJavaClient
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.utils.DeezerApiPoko
 import io.github.kingg22.deezer.client.utils.getDefaultJson
 import io.ktor.client.*
@@ -9,14 +10,13 @@
 import io.ktor.client.statement.*
 import io.ktor.http.*
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.Dispatchers
 import kotlinx.serialization.InternalSerializationApi
 import kotlinx.serialization.KSerializer
 import kotlinx.serialization.Serializable
-import kotlinx.serialization.serializer
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
+import java.util.stream.Stream
 import kotlin.coroutines.CoroutineContext
 import kotlin.coroutines.EmptyCoroutineContext
 
@@ -42,13 +42,13 @@ actual fun copy(
     private suspend inline fun fetchNext(
         httpClient: HttpClient,
         expand: Boolean,
-        serializer: KSerializer<T>,
+        serializer: KSerializer<PaginatedResponse<T>>,
     ): PaginatedResponse<T>? {
         if (next.isNullOrBlank()) return null
         val resultString = httpClient.get(Url(next)).bodyAsText()
-        val result = getDefaultJson().decodeFromString(serializer(serializer), resultString)
+        val result = getDefaultJson().decodeFromString(serializer, resultString)
         return if (expand && data.isNotEmpty()) {
-            result.copy(data = data + result.data)
+            result.copy(data = appendPage(data, result.data))
         } else {
             result
         }
@@ -57,13 +57,13 @@ private suspend inline fun fetchNext(
     private suspend inline fun fetchPrevious(
         httpClient: HttpClient,
         expand: Boolean,
-        serializer: KSerializer<T>,
+        serializer: KSerializer<PaginatedResponse<T>>,
     ): PaginatedResponse<T>? {
         if (prev.isNullOrBlank()) return null
         val resultString = httpClient.get(Url(prev)).bodyAsText()
-        val result = getDefaultJson().decodeFromString(serializer(serializer), resultString)
+        val result = getDefaultJson().decodeFromString(serializer, resultString)
         return if (expand && data.isNotEmpty()) {
-            result.copy(data = result.data + data)
+            result.copy(data = prependPage(result.data, data))
         } else {
             result
         }
@@ -100,7 +100,9 @@ internal fun fetchNext(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): PaginatedResponse<T>? = fetchNext(client.delegate, clazz, expand, coroutineContext)
+    ): PaginatedResponse<T>? = client.futures.blocking(coroutineContext) {
+        fetchNext(client.httpClient, expand, PageSerializers.of(clazz))
+    }
 
     /**
      * Fetch the next page of the search blocking the thread.
@@ -127,8 +129,8 @@ internal fun fetchNext(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): PaginatedResponse<T>? = runBlocking(coroutineContext) {
-        fetchNext(client.httpClient, expand, clazz.kotlin.serializer())
+    ): PaginatedResponse<T>? = DeezerFutureScope.Unmanaged.blocking(coroutineContext) {
+        fetchNext(client.httpClient, expand, PageSerializers.of(clazz))
     }
 
     /* -- Fetch next FUTURE zone -- */
@@ -158,7 +160,9 @@ internal fun fetchNextFuture(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<out PaginatedResponse<T>?> = fetchNextFuture(client.delegate, clazz, expand, coroutineContext)
+    ): CompletableFuture<out PaginatedResponse<T>?> = client.futures.future(coroutineContext) {
+        fetchNext(client.httpClient, expand, PageSerializers.of(clazz))
+    }
 
     /**
      * Fetch the next page of the search using [CompletableFuture].
@@ -185,10 +189,68 @@ internal fun fetchNextFuture(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<out PaginatedResponse<T>?> = CoroutineScope(coroutineContext).future {
-        fetchNext(client.httpClient, expand, clazz.kotlin.serializer())
+    ): CompletableFuture<out PaginatedResponse<T>?> = DeezerFutureScope.Unmanaged.future(coroutineContext) {
+        fetchNext(client.httpClient, expand, PageSerializers.of(clazz))
     }
 
+    /* -- Stream ZONE -- */
+
+    /**
+     * Lazy [Stream] of the items of this page and the next ones, following [PaginatedResponse.next].
+     *
+     * A background coroutine reads ahead [prefetch] pages, so the memory stays constant whatever the total.
+     * The thread consuming the stream only blocks when the next page isn't fetched yet.
+     * **Close the stream** (try-with-resources) to cancel the pending fetch if it isn't consumed until the end.
+     *
+     * Usage:
+     * ```java
+     * DeezerApiJavaClient client; // Initialized somewhere
+     * PaginatedResponse<Track> page; // Can be retrieved from other methods
+     * try (Stream<Track> tracks = page.stream(client, Track.class)) {
+     *     tracks.map(Track::getTitle).forEach(System.out::println);
+     * }
+     * ```
+     *
+     * @param client The [DeezerApiJavaClient] to use to fetch the next pages
+     * @param clazz The class of the type [T]. Required to parse the responses.
+     * @param prefetch Pages to read ahead. Default `2`.
+     * @param coroutineContext the [CoroutineContext] of the background fetch. Default [Dispatchers.IO].
+     * @return A sequential and ordered stream
+     */
+    @InternalSerializationApi
+    @PublishedApi
+    @JvmOverloads
+    internal fun stream(
+        client: DeezerApiJavaClient,
+        clazz: Class<@UnsafeVariance T>,
+        prefetch: Int = 2,
+        coroutineContext: CoroutineContext = Dispatchers.IO,
+    ): Stream<@UnsafeVariance T> = pageStream(this, client.delegate, client.futures, clazz, prefetch, coroutineContext)
+
+    /**
+     * Lazy [Stream] of the items of this page and the next ones, following [PaginatedResponse.next].
+     *
+     * A background coroutine reads ahead [prefetch] pages, so the memory stays constant whatever the total.
+     * The thread consuming the stream only blocks when the next page isn't fetched yet.
+     * **Close the stream** (try-with-resources) to cancel the pending fetch if it isn't consumed until the end.
+     *
+     * @param client The [DeezerApiClient] to use to fetch the next pages
+     * @param clazz The class of the type [T]. Required to parse the responses.
+     * @param prefetch Pages to read ahead. Default `2`.
+     * @param coroutineContext the [CoroutineContext] of the background fetch. Default [Dispatchers.IO].
+     * @return A sequential and ordered stream
+     */
+    @InternalSerializationApi
+    @PublishedApi
+    @JvmOverloads
+    internal fun stream(
+        client: DeezerApiClient,
+        clazz: Class<@UnsafeVariance T>,
+        prefetch: Int = 2,
+        coroutineContext: CoroutineContext = Dispatchers.IO,
+    ): Stream<@UnsafeVariance T> =
+        pageStream(this, client, DeezerFutureScope.Unmanaged, clazz, prefetch, coroutineContext)
+
     /* -- Fetch previous ZONE -- */
 
     /**
@@ -217,7 +279,9 @@ internal fun fetchPrevious(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): PaginatedResponse<T>? = fetchPrevious(client.delegate, clazz, expand, coroutineContext)
+    ): PaginatedResponse<T>? = client.futures.blocking(coroutineContext) {
+        fetchPrevious(client.httpClient, expand, PageSerializers.of(clazz))
+    }
 
     /**
      * Fetch the previous page of the search blocking the thread.
@@ -245,8 +309,8 @@ internal fun fetchPrevious(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): PaginatedResponse<T>? = runBlocking(coroutineContext) {
-        fetchPrevious(client.httpClient, expand, clazz.kotlin.serializer())
+    ): PaginatedResponse<T>? = DeezerFutureScope.Unmanaged.blocking(coroutineContext) {
+        fetchPrevious(client.httpClient, expand, PageSerializers.of(clazz))
     }
 
     /* -- Fetch previous FUTURE zone -- */
@@ -276,8 +340,9 @@ internal fun fetchPreviousFuture(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<out PaginatedResponse<T>?> =
-        fetchPreviousFuture(client.delegate, clazz, expand, coroutineContext)
+    ): CompletableFuture<out PaginatedResponse<T>?> = client.futures.future(coroutineContext) {
+        fetchPrevious(client.httpClient, expand, PageSerializers.of(clazz))
+    }
 
     /**
      * Fetch the previous page of the search with [CompletableFuture].
@@ -304,7 +369,7 @@ internal fun fetchPreviousFuture(
         clazz: Class<@UnsafeVariance T>,
         expand: Boolean = false,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<out PaginatedResponse<T>?> = CoroutineScope(coroutineContext).future {
-        fetchPrevious(client.httpClient, expand, clazz.kotlin.serializer())
+    ): CompletableFuture<out PaginatedResponse<T>?> = DeezerFutureScope.Unmanaged.future(coroutineContext) {
+        fetchPrevious(client.httpClient, expand, PageSerializers.of(clazz))
     }
 }
@@ -2,6 +2,7 @@
 
 import io.github.kingg22.deezer.client.api.DeezerApiClient
 import io.github.kingg22.deezer.client.api.DeezerApiJavaClient
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.exceptions.DeezerApiException
 import io.github.kingg22.deezer.client.utils.AfterInitialize
 import kotlinx.coroutines.CoroutineScope
@@ -29,7 +30,7 @@ actual abstract suspend fun reload(client: DeezerApiClient): Resource
     internal fun reload(
         client: DeezerApiJavaClient,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): Resource = runBlocking(coroutineContext) { reload(client.delegate) }
+    ): Resource = client.futures.blocking(coroutineContext) { reload(client.delegate) }
 
     /**
      * Reloads the resource from the API with [CompletableFuture],
@@ -40,7 +41,7 @@ internal fun reload(
     internal fun reloadFuture(
         client: DeezerApiJavaClient,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Resource> = CoroutineScope(coroutineContext).future { reload(client.delegate) }
+    ): CompletableFuture<Resource> = client.futures.future(coroutineContext) { reload(client.delegate) }
 
     /** Reloads the resource from the API, getting all of its full properties if it was initially obtained partially, or it's outdated */
     @Blocking
@@ -49,7 +50,7 @@ internal fun reloadFuture(
     internal fun reload(
         client: DeezerApiClient,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): Resource = runBlocking(coroutineContext) { reload(client) }
+    ): Resource = DeezerFutureScope.Unmanaged.blocking(coroutineContext) { reload(client) }
 
     /**
      * Reloads the resource from the API with [CompletableFuture],
@@ -60,7 +61,7 @@ internal fun reload(
     internal fun reloadFuture(
         client: DeezerApiClient,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Resource> = CoroutineScope(coroutineContext).future { reload(client) }
+    ): CompletableFuture<Resource> = DeezerFutureScope.Unmanaged.future(coroutineContext) { reload(client) }
 
     /* -- DEPRECATED ZONE--  */
 
@@ -1,12 +1,16 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerBatchOptions
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
+import io.github.kingg22.deezer.client.api.DeezerLoadResult
+import io.github.kingg22.deezer.client.api.batch
 import io.github.kingg22.deezer.client.api.objects.Album
+import io.github.kingg22.deezer.client.api.objects.AlbumSummary
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
+import io.github.kingg22.deezer.client.api.objects.TrackSummary
 import io.github.kingg22.deezer.client.api.objects.User
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -23,39 +27,57 @@
  */
 internal class AlbumJavaRoutes private constructor(
     private val delegate: AlbumRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve an [Album] by ID blocking the thread. */
     @Blocking
-    fun getById(id: Long) = runBlocking { delegate.getById(id) }
+    fun getById(id: Long) = futures.blocking { delegate.getById(id) }
 
     /** Retrieve an [Album] by UPC (Universal Product Code) blocking the thread */
     @Blocking
-    fun getByUpc(upc: String) = runBlocking { delegate.getByUpc(upc) }
+    fun getByUpc(upc: String) = futures.blocking { delegate.getByUpc(upc) }
 
     /** Retrieve the fans of an [Album] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getFans(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getFans(id, index, limit) }
+    fun getFans(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getFans(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Track] from an [Album] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getTracks(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getTracks(id, index, limit) }
+        futures.blocking { delegate.getTracks(id, index, limit) }
+
+    /** Retrieve an [AlbumSummary] by ID blocking the thread */
+    @Blocking
+    fun getSummaryById(id: Long) = futures.blocking { delegate.getSummaryById(id) }
+
+    /** Retrieve a [PaginatedResponse] with the [TrackSummary] of an [Album] blocking the thread */
+    @Blocking
+    @JvmOverloads
+    fun getTrackSummaries(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getTrackSummaries(id, index, limit) }
+
+    /** Retrieve the [Track]s of an [Album] as a [TrackBatch] blocking the thread */
+    @Blocking
+    @JvmOverloads
+    fun getTrackBatch(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getTrackBatch(id, index, limit) }
 
     // -- Completable Future --
 
     /** Retrieve an [Album] by ID with [CompletableFuture] */
     @JvmOverloads
     fun getByIdFuture(id: Long, coroutineContext: CoroutineContext = EmptyCoroutineContext): CompletableFuture<Album> =
-        CoroutineScope(coroutineContext).future { delegate.getById(id) }
+        futures.future(coroutineContext) { delegate.getById(id) }
 
     /** Retrieve an [Album] by UPC (Universal Product Code) with [CompletableFuture] */
     @JvmOverloads
     fun getByUpcFuture(
         upc: String,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Album> = CoroutineScope(coroutineContext).future { delegate.getByUpc(upc) }
+    ): CompletableFuture<Album> = futures.future(coroutineContext) { delegate.getByUpc(upc) }
 
     /** Retrieve the fans of an [Album] with [CompletableFuture] */
     @JvmOverloads
@@ -64,7 +86,7 @@ fun getFansFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<PaginatedResponse<User>> = CoroutineScope(coroutineContext).future {
+    ): CompletableFuture<PaginatedResponse<User>> = futures.future(coroutineContext) {
         delegate.getFans(id, index, limit)
     }
 
@@ -75,15 +97,74 @@ fun getTracksFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<PaginatedResponse<Track>> = CoroutineScope(coroutineContext).future {
+    ): CompletableFuture<PaginatedResponse<Track>> = futures.future(coroutineContext) {
         delegate.getTracks(id, index, limit)
     }
 
+    /** Retrieve an [AlbumSummary] by ID with [CompletableFuture] */
+    @JvmOverloads
+    fun getSummaryByIdFuture(
+        id: Long,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<AlbumSummary> = futures.future(coroutineContext) { delegate.getSummaryById(id) }
+
+    /** Retrieve a [PaginatedResponse] with the [TrackSummary] of an [Album] with [CompletableFuture] */
+    @JvmOverloads
+    fun getTrackSummariesFuture(
+        id: Long,
+        index: Int? = null,
+        limit: Int? = null,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<PaginatedResponse<TrackSummary>> = futures.future(coroutineContext) {
+        delegate.getTrackSummaries(id, index, limit)
+    }
+
+    /** Retrieve the [Track]s of an [Album] as a [TrackBatch] with [CompletableFuture] */
+    @JvmOverloads
+    fun getTrackBatchFuture(
+        id: Long,
+        index: Int? = null,
+        limit: Int? = null,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<TrackBatch> = futures.future(coroutineContext) { delegate.getTrackBatch(id, index, limit) }
+
+    // -- Batch --
+
+    /**
+     * Retrieve the [Album]s of the [ids] with [CompletableFuture], at most [DeezerBatchOptions.maxParallelism] at once.
+     * The values and failures of the result follow the order of [ids].
+     */
+    @JvmOverloads
+    fun getByIdsFuture(
+        ids: Collection<Long>,
+        options: DeezerBatchOptions = DeezerBatchOptions.DEFAULT,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<DeezerLoadResult<Long, Album>> = futures.future(coroutineContext) {
+        batch(ids, options) { delegate.getById(it) }
+    }
+
+    /**
+     * Retrieve the [Album]s of the [upcs] (Universal Product Code) with [CompletableFuture],
+     * at most [DeezerBatchOptions.maxParallelism] at once.
+     * The values and failures of the result follow the order of [upcs].
+     */
+    @JvmOverloads
+    fun getByUpcsFuture(
+        upcs: Collection<String>,
+        options: DeezerBatchOptions = DeezerBatchOptions.DEFAULT,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<DeezerLoadResult<String, Album>> = futures.future(coroutineContext) {
+        batch(upcs, options) { delegate.getByUpc(it) }
+    }
+
     companion object {
         /** Create an [AlbumJavaRoutes] with [Album Kotlin Routes][AlbumRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun AlbumRoutes.asJava() = AlbumJavaRoutes(this)
+        internal fun AlbumRoutes.asJava() = AlbumJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun AlbumRoutes.asJava(futures: DeezerFutureScope) = AlbumJavaRoutes(this, futures)
     }
 }
@@ -1,14 +1,13 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Album
 import io.github.kingg22.deezer.client.api.objects.Artist
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Playlist
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
 import io.github.kingg22.deezer.client.api.objects.User
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -25,45 +24,55 @@
  */
 internal class ArtistJavaRoutes private constructor(
     private val delegate: ArtistRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve an [Artist] by ID blocking the thread. */
     @Blocking
     @JvmOverloads
-    fun getById(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getById(id, index, limit) }
+    fun getById(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getById(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [User] fans of an [Artist] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getFans(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getFans(id, index, limit) }
+    fun getFans(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getFans(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] containing the top [Track]s of an [Artist] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getTopTracks(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getTopTracks(id, index, limit) }
+        futures.blocking { delegate.getTopTracks(id, index, limit) }
+
+    /** Retrieve the top [Track]s of an [Artist] as a [TrackBatch] blocking the thread */
+    @Blocking
+    @JvmOverloads
+    fun getTopTrackBatch(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getTopTrackBatch(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Album]s of an [Artist] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getAlbums(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getAlbums(id, index, limit) }
+        futures.blocking { delegate.getAlbums(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with the radio [Track]s of an [Artist] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getRadio(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getRadio(id, index, limit) }
+    fun getRadio(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getRadio(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Playlist]s featuring an [Artist] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getPlaylists(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getPlaylists(id, index, limit) }
+        futures.blocking { delegate.getPlaylists(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with [Artist]s related to a specific [Artist] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getRelated(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getRelated(id, index, limit) }
+        futures.blocking { delegate.getRelated(id, index, limit) }
 
     // -- Completable Future --
 
@@ -74,7 +83,7 @@ fun getByIdFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Artist> = CoroutineScope(coroutineContext).future { delegate.getById(id, index, limit) }
+    ): CompletableFuture<Artist> = futures.future(coroutineContext) { delegate.getById(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [User] fans of an [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -84,7 +93,7 @@ fun getFansFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<User>> =
-        CoroutineScope(coroutineContext).future { delegate.getFans(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getFans(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] containing the top [Track]s of an [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -94,7 +103,17 @@ fun getTopTracksFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.getTopTracks(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getTopTracks(id, index, limit) }
+
+    /** Retrieve the top [Track]s of an [Artist] as a [TrackBatch] with [CompletableFuture] */
+    @JvmOverloads
+    fun getTopTrackBatchFuture(
+        id: Long,
+        index: Int? = null,
+        limit: Int? = null,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<TrackBatch> =
+        futures.future(coroutineContext) { delegate.getTopTrackBatch(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Album]s of an [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -104,7 +123,7 @@ fun getAlbumsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Album>> =
-        CoroutineScope(coroutineContext).future { delegate.getAlbums(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getAlbums(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with the radio [Track]s of an [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -114,7 +133,7 @@ fun getRadioFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.getRadio(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getRadio(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Playlist]s featuring an [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -124,7 +143,7 @@ fun getPlaylistsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Playlist>> =
-        CoroutineScope(coroutineContext).future { delegate.getPlaylists(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getPlaylists(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with [Artist]s related to a specific [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -134,13 +153,16 @@ fun getRelatedFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Artist>> =
-        CoroutineScope(coroutineContext).future { delegate.getRelated(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getRelated(id, index, limit) }
 
     companion object {
         /** Create an [ArtistJavaRoutes] with [Artist Kotlin Routes][ArtistRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun ArtistRoutes.asJava() = ArtistJavaRoutes(this)
+        internal fun ArtistRoutes.asJava() = ArtistJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun ArtistRoutes.asJava(futures: DeezerFutureScope) = ArtistJavaRoutes(this, futures)
     }
 }
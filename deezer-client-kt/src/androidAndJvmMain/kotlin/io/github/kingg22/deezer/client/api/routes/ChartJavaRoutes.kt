@@ -1,5 +1,6 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Album
 import io.github.kingg22.deezer.client.api.objects.Artist
 import io.github.kingg22.deezer.client.api.objects.Chart
@@ -7,9 +8,7 @@
 import io.github.kingg22.deezer.client.api.objects.Playlist
 import io.github.kingg22.deezer.client.api.objects.Podcast
 import io.github.kingg22.deezer.client.api.objects.Track
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -26,46 +25,54 @@
  */
 internal class ChartJavaRoutes private constructor(
     private val delegate: ChartRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve [Chart] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getAll(index: Int? = null, limit: Int? = null) = runBlocking { delegate.getAll(index, limit) }
+    fun getAll(index: Int? = null, limit: Int? = null) = futures.blocking { delegate.getAll(index, limit) }
 
     /** **Unofficial** Retrieve [Chart] by ID _maybe genre id?_ blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getById(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getById(id, index, limit) }
+    fun getById(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getById(id, index, limit) }
 
     /** Retrieve the Top [Track] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getTracks(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getTracks(id, index, limit) }
+        futures.blocking { delegate.getTracks(id, index, limit) }
+
+    /** Retrieve the Top [Track] as a [TrackBatch] blocking the thread */
+    @Blocking
+    @JvmOverloads
+    fun getTrackBatch(id: Long = 0, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getTrackBatch(id, index, limit) }
 
     /** Retrieve the Top [Album] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getAlbums(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getAlbums(id, index, limit) }
+        futures.blocking { delegate.getAlbums(id, index, limit) }
 
     /** Retrieve the Top [Artist] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getArtists(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getArtists(id, index, limit) }
+        futures.blocking { delegate.getArtists(id, index, limit) }
 
     /** Retrieve the Top [Playlist] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getPlaylists(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getPlaylists(id, index, limit) }
+        futures.blocking { delegate.getPlaylists(id, index, limit) }
 
     /** Retrieve the Top [Podcast] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getPodcasts(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getPodcasts(id, index, limit) }
+        futures.blocking { delegate.getPodcasts(id, index, limit) }
 
     // -- Completable Future --
 
@@ -75,7 +82,7 @@ fun getAllFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Chart> = CoroutineScope(coroutineContext).future { delegate.getAll(index, limit) }
+    ): CompletableFuture<Chart> = futures.future(coroutineContext) { delegate.getAll(index, limit) }
 
     /** **Unofficial** Retrieve [Chart] by ID _maybe genre id?_ with [CompletableFuture] */
     @JvmOverloads
@@ -84,7 +91,7 @@ fun getByIdFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Chart> = CoroutineScope(coroutineContext).future { delegate.getById(id, index, limit) }
+    ): CompletableFuture<Chart> = futures.future(coroutineContext) { delegate.getById(id, index, limit) }
 
     /** Retrieve the Top [Track] with [CompletableFuture] */
     @JvmOverloads
@@ -94,7 +101,16 @@ fun getTracksFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.getTracks(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getTracks(id, index, limit) }
+
+    /** Retrieve the Top [Track] as a [TrackBatch] with [CompletableFuture] */
+    @JvmOverloads
+    fun getTrackBatchFuture(
+        id: Long = 0,
+        index: Int? = null,
+        limit: Int? = null,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<TrackBatch> = futures.future(coroutineContext) { delegate.getTrackBatch(id, index, limit) }
 
     /** Retrieve the Top [Album] with [CompletableFuture] */
     @JvmOverloads
@@ -104,7 +120,7 @@ fun getAlbumsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Album>> =
-        CoroutineScope(coroutineContext).future { delegate.getAlbums(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getAlbums(id, index, limit) }
 
     /** Retrieve the Top [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -114,7 +130,7 @@ fun getArtistsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Artist>> =
-        CoroutineScope(coroutineContext).future { delegate.getArtists(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getArtists(id, index, limit) }
 
     /** Retrieve the Top [Playlist] with [CompletableFuture] */
     @JvmOverloads
@@ -124,7 +140,7 @@ fun getPlaylistsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Playlist>> =
-        CoroutineScope(coroutineContext).future { delegate.getPlaylists(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getPlaylists(id, index, limit) }
 
     /** Retrieve the Top [Podcast] with [CompletableFuture] */
     @JvmOverloads
@@ -134,13 +150,16 @@ fun getPodcastsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Podcast>> =
-        CoroutineScope(coroutineContext).future { delegate.getPodcasts(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getPodcasts(id, index, limit) }
 
     companion object {
         /** Create a [ChartJavaRoutes] with [Chart Kotlin Routes][ChartRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun ChartRoutes.asJava() = ChartJavaRoutes(this)
+        internal fun ChartRoutes.asJava() = ChartJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun ChartRoutes.asJava(futures: DeezerFutureScope) = ChartJavaRoutes(this, futures)
     }
 }
@@ -1,18 +1,16 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Album
 import io.github.kingg22.deezer.client.api.objects.Chart
 import io.github.kingg22.deezer.client.api.objects.Editorial
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import kotlinx.datetime.toKotlinLocalDate
 import org.jetbrains.annotations.Blocking
+import java.time.LocalDate as JavaLocalDate
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
 import kotlin.coroutines.EmptyCoroutineContext
-import java.time.LocalDate as JavaLocalDate
 
 /**
  * Defines all endpoints related to [Editorial]
@@ -25,16 +23,18 @@
  */
 internal class EditorialJavaRoutes private constructor(
     private val delegate: EditorialRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve all [Editorial] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getAll(index: Int? = null, limit: Int? = null) = runBlocking { delegate.getAll(index, limit) }
+    fun getAll(index: Int? = null, limit: Int? = null) = futures.blocking { delegate.getAll(index, limit) }
 
     /** Retrieve an [Editorial] by ID blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getById(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getById(id, index, limit) }
+    fun getById(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getById(id, index, limit) }
 
     /**
      * Retrieve [PaginatedResponse] with [Album] selected every week by the Deezer Team blocking the thread.
@@ -47,19 +47,19 @@ fun getById(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { de
     @Blocking
     @JvmOverloads
     fun getDeezerSelection(id: Long = 0, date: JavaLocalDate? = null, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getDeezerSelection(id, date?.toKotlinLocalDate(), index, limit) }
+        futures.blocking { delegate.getDeezerSelection(id, date?.toKotlinLocalDate(), index, limit) }
 
     /** Retrieve [Chart] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getCharts(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getCharts(id, index, limit) }
+        futures.blocking { delegate.getCharts(id, index, limit) }
 
     /** Retrieve [PaginatedResponse] with new [Album] releases per genre for the current country blocking the thread */
     @Blocking
     @JvmOverloads
     fun getReleases(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getReleases(id, index, limit) }
+        futures.blocking { delegate.getReleases(id, index, limit) }
 
     // -- Completable Future --
 
@@ -70,7 +70,7 @@ fun getAllFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Editorial>> =
-        CoroutineScope(coroutineContext).future { delegate.getAll(index, limit) }
+        futures.future(coroutineContext) { delegate.getAll(index, limit) }
 
     /** Retrieve an [Editorial] by ID with [CompletableFuture] */
     @JvmOverloads
@@ -79,7 +79,7 @@ fun getByIdFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Editorial> = CoroutineScope(coroutineContext).future { delegate.getById(id, index, limit) }
+    ): CompletableFuture<Editorial> = futures.future(coroutineContext) { delegate.getById(id, index, limit) }
 
     /**
      * Retrieve [PaginatedResponse] with [Album] selected every week by the Deezer Team with [CompletableFuture].
@@ -97,7 +97,7 @@ fun getDeezerSelectionFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<PaginatedResponse<Album>> = CoroutineScope(coroutineContext).future {
+    ): CompletableFuture<PaginatedResponse<Album>> = futures.future(coroutineContext) {
         delegate.getDeezerSelection(id, date?.toKotlinLocalDate(), index, limit)
     }
 
@@ -108,7 +108,7 @@ fun getChartsFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Chart> = CoroutineScope(coroutineContext).future { delegate.getCharts(id, index, limit) }
+    ): CompletableFuture<Chart> = futures.future(coroutineContext) { delegate.getCharts(id, index, limit) }
 
     /** Retrieve [PaginatedResponse] with new [Album] releases per genre for the current country with [CompletableFuture] */
     @JvmOverloads
@@ -118,13 +118,16 @@ fun getReleasesFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Album>> =
-        CoroutineScope(coroutineContext).future { delegate.getReleases(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getReleases(id, index, limit) }
 
     companion object {
         /** Create an [EditorialJavaRoutes] with [Editorial Kotlin Routes][EditorialRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun EditorialRoutes.asJava() = EditorialJavaRoutes(this)
+        internal fun EditorialRoutes.asJava() = EditorialJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun EditorialRoutes.asJava(futures: DeezerFutureScope) = EditorialJavaRoutes(this, futures)
     }
 }
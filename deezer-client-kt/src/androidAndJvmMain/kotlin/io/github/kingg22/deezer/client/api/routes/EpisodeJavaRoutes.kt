@@ -1,9 +1,7 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Episode
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -20,10 +18,11 @@
  */
 internal class EpisodeJavaRoutes private constructor(
     private val delegate: EpisodeRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve an [Episode] by ID blocking the thread. */
     @Blocking
-    fun getById(id: Long) = runBlocking { delegate.getById(id) }
+    fun getById(id: Long) = futures.blocking { delegate.getById(id) }
 
     // -- Completable Future --
 
@@ -32,13 +31,16 @@ fun getById(id: Long) = runBlocking { delegate.getById(id) }
     fun getByIdFuture(
         id: Long,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Episode> = CoroutineScope(coroutineContext).future { delegate.getById(id) }
+    ): CompletableFuture<Episode> = futures.future(coroutineContext) { delegate.getById(id) }
 
     companion object {
         /** Create an [EpisodeJavaRoutes] with [Episode Kotlin Routes][EpisodeRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun EpisodeRoutes.asJava() = EpisodeJavaRoutes(this)
+        internal fun EpisodeRoutes.asJava() = EpisodeJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun EpisodeRoutes.asJava(futures: DeezerFutureScope) = EpisodeJavaRoutes(this, futures)
     }
 }
@@ -1,13 +1,11 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Artist
 import io.github.kingg22.deezer.client.api.objects.Genre
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Podcast
 import io.github.kingg22.deezer.client.api.objects.Radio
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -24,33 +22,34 @@
  */
 internal class GenreJavaRoutes private constructor(
     private val delegate: GenreRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve all [Genre] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getAll(index: Int? = null, limit: Int? = null) = runBlocking { delegate.getAll(index, limit) }
+    fun getAll(index: Int? = null, limit: Int? = null) = futures.blocking { delegate.getAll(index, limit) }
 
     /** Retrieve a [Genre] by ID blocking the thread */
     @Blocking
-    fun getById(id: Long) = runBlocking { delegate.getById(id) }
+    fun getById(id: Long) = futures.blocking { delegate.getById(id) }
 
     /** Retrieve [PaginatedResponse] with all [Artist] for a genre blocking the thread */
     @Blocking
     @JvmOverloads
     fun getArtists(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getArtists(id, index, limit) }
+        futures.blocking { delegate.getArtists(id, index, limit) }
 
     /** Retrieve [PaginatedResponse] with all [Podcast] for a genre blocking the thread */
     @Blocking
     @JvmOverloads
     fun getPodcasts(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getPodcasts(id, index, limit) }
+        futures.blocking { delegate.getPodcasts(id, index, limit) }
 
     /** Retrieve [PaginatedResponse] with all [Radio] for a genre blocking the thread */
     @Blocking
     @JvmOverloads
     fun getRadios(id: Long = 0, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getRadios(id, index, limit) }
+        futures.blocking { delegate.getRadios(id, index, limit) }
 
     // -- Completable Future --
 
@@ -61,12 +60,12 @@ fun getAllFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Genre>> =
-        CoroutineScope(coroutineContext).future { delegate.getAll(index, limit) }
+        futures.future(coroutineContext) { delegate.getAll(index, limit) }
 
     /** Retrieve a [Genre] by ID with [CompletableFuture] */
     @JvmOverloads
     fun getByIdFuture(id: Long, coroutineContext: CoroutineContext = EmptyCoroutineContext): CompletableFuture<Genre> =
-        CoroutineScope(coroutineContext).future { delegate.getById(id) }
+        futures.future(coroutineContext) { delegate.getById(id) }
 
     /** Retrieve [PaginatedResponse] with all [Artist] for a genre with [CompletableFuture] */
     @JvmOverloads
@@ -76,7 +75,7 @@ fun getArtistsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Artist>> =
-        CoroutineScope(coroutineContext).future { delegate.getArtists(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getArtists(id, index, limit) }
 
     /** Retrieve [PaginatedResponse] with all [Podcast] for a genre with [CompletableFuture] */
     @JvmOverloads
@@ -86,7 +85,7 @@ fun getPodcastsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Podcast>> =
-        CoroutineScope(coroutineContext).future { delegate.getPodcasts(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getPodcasts(id, index, limit) }
 
     /** Retrieve [PaginatedResponse] with all [Radio] for a genre with [CompletableFuture] */
     @JvmOverloads
@@ -96,13 +95,16 @@ fun getRadiosFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Radio>> =
-        CoroutineScope(coroutineContext).future { delegate.getRadios(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getRadios(id, index, limit) }
 
     companion object {
         /** Create a [GenreJavaRoutes] with [Genre Kotlin Routes][GenreRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun GenreRoutes.asJava() = GenreJavaRoutes(this)
+        internal fun GenreRoutes.asJava() = GenreJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun GenreRoutes.asJava(futures: DeezerFutureScope) = GenreJavaRoutes(this, futures)
     }
 }
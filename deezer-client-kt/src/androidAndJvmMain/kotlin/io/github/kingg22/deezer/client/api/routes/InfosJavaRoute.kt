@@ -1,9 +1,7 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Infos
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -20,23 +18,27 @@
  */
 internal class InfosJavaRoute private constructor(
     private val delegate: InfosRoute,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve [Infos] in the current country blocking the thread. */
     @Blocking
-    fun getInfos() = runBlocking { delegate.getInfos() }
+    fun getInfos() = futures.blocking { delegate.getInfos() }
 
     // -- Completable Future --
 
     /** Retrieve [Infos] in the current country with [CompletableFuture] */
     @JvmOverloads
     fun getInfosFuture(coroutineContext: CoroutineContext = EmptyCoroutineContext): CompletableFuture<Infos> =
-        CoroutineScope(coroutineContext).future { delegate.getInfos() }
+        futures.future(coroutineContext) { delegate.getInfos() }
 
     companion object {
         /** Create an [InfosJavaRoute] with [Infos Kotlin Route][InfosRoute] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun InfosRoute.asJava() = InfosJavaRoute(this)
+        internal fun InfosRoute.asJava() = InfosJavaRoute(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun InfosRoute.asJava(futures: DeezerFutureScope) = InfosJavaRoute(this, futures)
     }
 }
@@ -1,9 +1,7 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Options
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -20,23 +18,27 @@
  */
 internal class OptionsJavaRoute private constructor(
     private val delegate: OptionsRoute,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve [Options] blocking the thread. */
     @Blocking
-    fun getOptions() = runBlocking { delegate.getOptions() }
+    fun getOptions() = futures.blocking { delegate.getOptions() }
 
     // -- Completable Future --
 
     /** Retrieve [Options] with [CompletableFuture] */
     @JvmOverloads
     fun getOptionsFuture(coroutineContext: CoroutineContext = EmptyCoroutineContext): CompletableFuture<Options> =
-        CoroutineScope(coroutineContext).future { delegate.getOptions() }
+        futures.future(coroutineContext) { delegate.getOptions() }
 
     companion object {
         /** Create an [OptionsJavaRoute] with [Options Kotlin Route][OptionsRoute] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun OptionsRoute.asJava() = OptionsJavaRoute(this)
+        internal fun OptionsRoute.asJava() = OptionsJavaRoute(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun OptionsRoute.asJava(futures: DeezerFutureScope) = OptionsJavaRoute(this, futures)
     }
 }
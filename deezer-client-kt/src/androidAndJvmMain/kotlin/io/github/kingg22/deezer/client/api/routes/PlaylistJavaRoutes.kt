@@ -1,12 +1,11 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Playlist
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
 import io.github.kingg22.deezer.client.api.objects.User
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -23,26 +22,35 @@
  */
 internal class PlaylistJavaRoutes private constructor(
     private val delegate: PlaylistRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve a [Playlist] by ID blocking the thread. */
     @Blocking
-    fun getById(id: Long) = runBlocking { delegate.getById(id) }
+    fun getById(id: Long) = futures.blocking { delegate.getById(id) }
 
     /** Retrieve a [PaginatedResponse] with [User] fans of playlist blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getFans(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getFans(id, index, limit) }
+    fun getFans(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getFans(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Track] from a [Playlist] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getTracks(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getTracks(id, index, limit) }
+        futures.blocking { delegate.getTracks(id, index, limit) }
+
+    /** Retrieve the [Track]s of a [Playlist] as a [TrackBatch] blocking the thread */
+    @Blocking
+    @JvmOverloads
+    fun getTrackBatch(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getTrackBatch(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with the radio [Track]s of a [Playlist] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getRadio(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getRadio(id, index, limit) }
+    fun getRadio(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getRadio(id, index, limit) }
 
     // -- Completable Future --
 
@@ -51,7 +59,7 @@ fun getRadio(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { d
     fun getByIdFuture(
         id: Long,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Playlist> = CoroutineScope(coroutineContext).future { delegate.getById(id) }
+    ): CompletableFuture<Playlist> = futures.future(coroutineContext) { delegate.getById(id) }
 
     /** Retrieve a [PaginatedResponse] with [User] fans of playlist with [CompletableFuture] */
     @JvmOverloads
@@ -61,7 +69,7 @@ fun getFansFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<User>> =
-        CoroutineScope(coroutineContext).future { delegate.getFans(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getFans(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Track] from a [Playlist] with [CompletableFuture] */
     @JvmOverloads
@@ -71,7 +79,16 @@ fun getTracksFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.getTracks(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getTracks(id, index, limit) }
+
+    /** Retrieve the [Track]s of a [Playlist] as a [TrackBatch] with [CompletableFuture] */
+    @JvmOverloads
+    fun getTrackBatchFuture(
+        id: Long,
+        index: Int? = null,
+        limit: Int? = null,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<TrackBatch> = futures.future(coroutineContext) { delegate.getTrackBatch(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with the radio [Track]s of a [Playlist] with [CompletableFuture] */
     @JvmOverloads
@@ -81,13 +98,16 @@ fun getRadioFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.getRadio(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getRadio(id, index, limit) }
 
     companion object {
         /** Create a [PlaylistJavaRoutes] with [Playlist Kotlin Routes][PlaylistRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun PlaylistRoutes.asJava() = PlaylistJavaRoutes(this)
+        internal fun PlaylistRoutes.asJava() = PlaylistJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun PlaylistRoutes.asJava(futures: DeezerFutureScope) = PlaylistJavaRoutes(this, futures)
     }
 }
@@ -1,11 +1,9 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Episode
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Podcast
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -22,6 +20,7 @@
  */
 internal class PodcastJavaRoutes private constructor(
     private val delegate: PodcastRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /**
      * Retrieve all [Podcast] blocking the thread.
@@ -30,18 +29,19 @@ internal class PodcastJavaRoutes private constructor(
      */
     @Blocking
     @JvmOverloads
-    fun getAll(index: Int? = null, limit: Int? = null) = runBlocking { delegate.getAll(index, limit) }
+    fun getAll(index: Int? = null, limit: Int? = null) = futures.blocking { delegate.getAll(index, limit) }
 
     /** Retrieve a [Podcast] by ID blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getById(id: Long, index: Int? = null, limit: Int? = null) = runBlocking { delegate.getById(id, index, limit) }
+    fun getById(id: Long, index: Int? = null, limit: Int? = null) =
+        futures.blocking { delegate.getById(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Episode] of the podcast blocking the thread */
     @Blocking
     @JvmOverloads
     fun getEpisodes(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getEpisodes(id, index, limit) }
+        futures.blocking { delegate.getEpisodes(id, index, limit) }
 
     // -- Completable Future --
 
@@ -56,7 +56,7 @@ fun getAllFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Podcast>> =
-        CoroutineScope(coroutineContext).future { delegate.getAll(index, limit) }
+        futures.future(coroutineContext) { delegate.getAll(index, limit) }
 
     /** Retrieve a [Podcast] by ID with [CompletableFuture] */
     @JvmOverloads
@@ -65,7 +65,7 @@ fun getByIdFuture(
         index: Int? = null,
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Podcast> = CoroutineScope(coroutineContext).future { delegate.getById(id, index, limit) }
+    ): CompletableFuture<Podcast> = futures.future(coroutineContext) { delegate.getById(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with all [Episode] of the podcast with [CompletableFuture] */
     @JvmOverloads
@@ -75,13 +75,16 @@ fun getEpisodesFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Episode>> =
-        CoroutineScope(coroutineContext).future { delegate.getEpisodes(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getEpisodes(id, index, limit) }
 
     companion object {
         /** Create a [PodcastJavaRoutes] with [Podcast Kotlin Routes][PodcastRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun PodcastRoutes.asJava() = PodcastJavaRoutes(this)
+        internal fun PodcastRoutes.asJava() = PodcastJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun PodcastRoutes.asJava(futures: DeezerFutureScope) = PodcastJavaRoutes(this, futures)
     }
 }
@@ -1,12 +1,10 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.Genre
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Radio
 import io.github.kingg22.deezer.client.api.objects.Track
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -23,37 +21,38 @@
  */
 internal class RadioJavaRoutes private constructor(
     private val delegate: RadioRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve all [Radio] blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getAll(index: Int? = null, limit: Int? = null) = runBlocking { delegate.getAll(index, limit) }
+    fun getAll(index: Int? = null, limit: Int? = null) = futures.blocking { delegate.getAll(index, limit) }
 
     /** Retrieve a [Radio] by ID blocking the thread */
     @Blocking
-    fun getById(id: Long) = runBlocking { delegate.getById(id) }
+    fun getById(id: Long) = futures.blocking { delegate.getById(id) }
 
     /** Retrieve a [PaginatedResponse] with [Genre.radios] split by [Genre] blocking the thread */
     @Blocking
     @JvmOverloads
     fun getAllSplitInGenres(index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getAllSplitInGenres(index, limit) }
+        futures.blocking { delegate.getAllSplitInGenres(index, limit) }
 
     /** Retrieve a [PaginatedResponse] with the top [Radio] (default to 25 radios) blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getTop(index: Int? = null, limit: Int? = null) = runBlocking { delegate.getTop(index, limit) }
+    fun getTop(index: Int? = null, limit: Int? = null) = futures.blocking { delegate.getTop(index, limit) }
 
     /** Retrieve a [PaginatedResponse] with first 40 [Track] in the radio blocking the thread */
     @Blocking
     @JvmOverloads
     fun getTracks(id: Long, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.getTracks(id, index, limit) }
+        futures.blocking { delegate.getTracks(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with personal [Radio] split by genre (MIX in website) blocking the thread */
     @Blocking
     @JvmOverloads
-    fun getLists(index: Int? = null, limit: Int? = null) = runBlocking { delegate.getLists(index, limit) }
+    fun getLists(index: Int? = null, limit: Int? = null) = futures.blocking { delegate.getLists(index, limit) }
 
     // -- Completable Future --
 
@@ -64,12 +63,12 @@ fun getAllFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Radio>> =
-        CoroutineScope(coroutineContext).future { delegate.getAll(index, limit) }
+        futures.future(coroutineContext) { delegate.getAll(index, limit) }
 
     /** Retrieve a [Radio] by ID with [CompletableFuture] */
     @JvmOverloads
     fun getByIdFuture(id: Long, coroutineContext: CoroutineContext = EmptyCoroutineContext): CompletableFuture<Radio> =
-        CoroutineScope(coroutineContext).future { delegate.getById(id) }
+        futures.future(coroutineContext) { delegate.getById(id) }
 
     /** Retrieve a [PaginatedResponse] with [Genre.radios] split by [Genre] with [CompletableFuture] */
     @JvmOverloads
@@ -78,7 +77,7 @@ fun getAllSplitInGenresFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Genre>> =
-        CoroutineScope(coroutineContext).future { delegate.getAllSplitInGenres(index, limit) }
+        futures.future(coroutineContext) { delegate.getAllSplitInGenres(index, limit) }
 
     /** Retrieve a [PaginatedResponse] with the top [Radio] (default to 25 radios) with [CompletableFuture] */
     @JvmOverloads
@@ -87,7 +86,7 @@ fun getTopFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Radio>> =
-        CoroutineScope(coroutineContext).future { delegate.getTop(index, limit) }
+        futures.future(coroutineContext) { delegate.getTop(index, limit) }
 
     /** Retrieve a [PaginatedResponse] with first 40 [Track] in the radio with [CompletableFuture] */
     @JvmOverloads
@@ -97,7 +96,7 @@ fun getTracksFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.getTracks(id, index, limit) }
+        futures.future(coroutineContext) { delegate.getTracks(id, index, limit) }
 
     /** Retrieve a [PaginatedResponse] with personal [Radio] split by genre (MIX in website) with [CompletableFuture] */
     @JvmOverloads
@@ -106,13 +105,16 @@ fun getListsFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Radio>> =
-        CoroutineScope(coroutineContext).future { delegate.getLists(index, limit) }
+        futures.future(coroutineContext) { delegate.getLists(index, limit) }
 
     companion object {
         /** Create a [RadioJavaRoutes] with [Radio Kotlin Routes][RadioRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun RadioRoutes.asJava() = RadioJavaRoutes(this)
+        internal fun RadioRoutes.asJava() = RadioJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun RadioRoutes.asJava(futures: DeezerFutureScope) = RadioJavaRoutes(this, futures)
     }
 }
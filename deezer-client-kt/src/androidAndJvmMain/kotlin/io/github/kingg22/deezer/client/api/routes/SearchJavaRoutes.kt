@@ -1,9 +1,7 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.*
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -23,12 +21,13 @@
  */
 internal class SearchJavaRoutes private constructor(
     private val delegate: SearchRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Basic Search blocking the thread */
     @Blocking
     @JvmOverloads
     fun search(q: String, strict: String? = null, order: SearchOrder? = null, index: Int? = null, limit: Int? = null) =
-        runBlocking { delegate.search(q, strict, order, index, limit) }
+        futures.blocking { delegate.search(q, strict, order, index, limit) }
 
     /** Search [Album] blocking the thread */
     @Blocking
@@ -39,7 +38,7 @@ fun searchAlbum(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchAlbum(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchAlbum(q, strict, order, index, limit) }
 
     /** Search [Artist] blocking the thread */
     @Blocking
@@ -50,7 +49,7 @@ fun searchArtist(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchArtist(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchArtist(q, strict, order, index, limit) }
 
     /**
      * Retrieve the current user search history blocking the thread
@@ -65,7 +64,7 @@ fun searchHistory(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchHistory(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchHistory(q, strict, order, index, limit) }
 
     /** Search [Playlist] blocking the thread */
     @Blocking
@@ -76,7 +75,7 @@ fun searchPlaylist(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchPlaylist(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchPlaylist(q, strict, order, index, limit) }
 
     /** Search [Podcast] blocking the thread */
     @Blocking
@@ -87,7 +86,7 @@ fun searchPodcast(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchPodcast(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchPodcast(q, strict, order, index, limit) }
 
     /** Search [Radio] blocking the thread */
     @Blocking
@@ -98,7 +97,7 @@ fun searchRadio(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchRadio(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchRadio(q, strict, order, index, limit) }
 
     /** Search [Track] blocking the thread */
     @Blocking
@@ -109,7 +108,18 @@ fun searchTrack(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchTrack(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchTrack(q, strict, order, index, limit) }
+
+    /** Search [Track] as a [TrackBatch] blocking the thread */
+    @Blocking
+    @JvmOverloads
+    fun searchTrackBatch(
+        q: String,
+        strict: String? = null,
+        order: SearchOrder? = null,
+        index: Int? = null,
+        limit: Int? = null,
+    ) = futures.blocking { delegate.searchTrackBatch(q, strict, order, index, limit) }
 
     /** Search [User] blocking the thread */
     @Blocking
@@ -120,7 +130,7 @@ fun searchUser(
         order: SearchOrder? = null,
         index: Int? = null,
         limit: Int? = null,
-    ) = runBlocking { delegate.searchUser(q, strict, order, index, limit) }
+    ) = futures.blocking { delegate.searchUser(q, strict, order, index, limit) }
 
     // -- Completable Future --
 
@@ -134,7 +144,7 @@ fun searchFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.search(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.search(q, strict, order, index, limit) }
 
     /** Search [Album] with [CompletableFuture] */
     @JvmOverloads
@@ -146,7 +156,7 @@ fun searchAlbumFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Album>> =
-        CoroutineScope(coroutineContext).future { delegate.searchAlbum(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchAlbum(q, strict, order, index, limit) }
 
     /** Search [Artist] with [CompletableFuture] */
     @JvmOverloads
@@ -158,7 +168,7 @@ fun searchArtistFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Artist>> =
-        CoroutineScope(coroutineContext).future { delegate.searchArtist(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchArtist(q, strict, order, index, limit) }
 
     /**
      * Retrieve the current user search history with [CompletableFuture]
@@ -174,7 +184,7 @@ fun searchHistoryFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<SearchUserHistory>> =
-        CoroutineScope(coroutineContext).future { delegate.searchHistory(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchHistory(q, strict, order, index, limit) }
 
     /** Search [Playlist] with [CompletableFuture] */
     @JvmOverloads
@@ -186,7 +196,7 @@ fun searchPlaylistFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Playlist>> =
-        CoroutineScope(coroutineContext).future { delegate.searchPlaylist(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchPlaylist(q, strict, order, index, limit) }
 
     /** Search [Podcast] with [CompletableFuture] */
     @JvmOverloads
@@ -198,7 +208,7 @@ fun searchPodcastFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Podcast>> =
-        CoroutineScope(coroutineContext).future { delegate.searchPodcast(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchPodcast(q, strict, order, index, limit) }
 
     /** Search [Radio] with [CompletableFuture] */
     @JvmOverloads
@@ -210,7 +220,7 @@ fun searchRadioFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Radio>> =
-        CoroutineScope(coroutineContext).future { delegate.searchRadio(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchRadio(q, strict, order, index, limit) }
 
     /** Search [Track] with [CompletableFuture] */
     @JvmOverloads
@@ -222,7 +232,19 @@ fun searchTrackFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<Track>> =
-        CoroutineScope(coroutineContext).future { delegate.searchTrack(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchTrack(q, strict, order, index, limit) }
+
+    /** Search [Track] as a [TrackBatch] with [CompletableFuture] */
+    @JvmOverloads
+    fun searchTrackBatchFuture(
+        q: String,
+        strict: String? = null,
+        order: SearchOrder? = null,
+        index: Int? = null,
+        limit: Int? = null,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<TrackBatch> =
+        futures.future(coroutineContext) { delegate.searchTrackBatch(q, strict, order, index, limit) }
 
     /** Search [User] with [CompletableFuture] */
     @JvmOverloads
@@ -234,13 +256,16 @@ fun searchUserFuture(
         limit: Int? = null,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
     ): CompletableFuture<PaginatedResponse<User>> =
-        CoroutineScope(coroutineContext).future { delegate.searchUser(q, strict, order, index, limit) }
+        futures.future(coroutineContext) { delegate.searchUser(q, strict, order, index, limit) }
 
     companion object {
         /** Create a [SearchJavaRoutes] with [Search Kotlin Routes][SearchRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun SearchRoutes.asJava() = SearchJavaRoutes(this)
+        internal fun SearchRoutes.asJava() = SearchJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun SearchRoutes.asJava(futures: DeezerFutureScope) = SearchJavaRoutes(this, futures)
     }
 }
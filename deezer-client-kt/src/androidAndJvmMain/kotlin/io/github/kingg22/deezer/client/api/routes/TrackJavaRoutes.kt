@@ -1,9 +1,11 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerBatchOptions
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
+import io.github.kingg22.deezer.client.api.DeezerLoadResult
+import io.github.kingg22.deezer.client.api.batch
 import io.github.kingg22.deezer.client.api.objects.Track
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
+import io.github.kingg22.deezer.client.api.objects.TrackSummary
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -20,34 +22,78 @@
  */
 internal class TrackJavaRoutes private constructor(
     private val delegate: TrackRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve a [Track] by ID blocking the thread. */
     @Blocking
-    fun getById(id: Long) = runBlocking { delegate.getById(id) }
+    fun getById(id: Long) = futures.blocking { delegate.getById(id) }
 
     /** Retrieve a [Track] by ISRC (International Standard Recording Code) blocking the thread */
     @Blocking
-    fun getByIsrc(isrc: String) = runBlocking { delegate.getByIsrc(isrc) }
+    fun getByIsrc(isrc: String) = futures.blocking { delegate.getByIsrc(isrc) }
+
+    /** Retrieve a [TrackSummary] by ID blocking the thread */
+    @Blocking
+    fun getSummaryById(id: Long) = futures.blocking { delegate.getSummaryById(id) }
 
     // -- Completable Future --
 
     /** Retrieve a [Track] by ID with [CompletableFuture] */
     @JvmOverloads
     fun getByIdFuture(id: Long, coroutineContext: CoroutineContext = EmptyCoroutineContext): CompletableFuture<Track> =
-        CoroutineScope(coroutineContext).future { delegate.getById(id) }
+        futures.future(coroutineContext) { delegate.getById(id) }
 
     /** Retrieve a [Track] by ISRC (International Standard Recording Code) with [CompletableFuture] */
     @JvmOverloads
     fun getByIsrcFuture(
         isrc: String,
         coroutineContext: CoroutineContext = EmptyCoroutineContext,
-    ): CompletableFuture<Track> = CoroutineScope(coroutineContext).future { delegate.getByIsrc(isrc) }
+    ): CompletableFuture<Track> = futures.future(coroutineContext) { delegate.getByIsrc(isrc) }
+
+    /** Retrieve a [TrackSummary] by ID with [CompletableFuture] */
+    @JvmOverloads
+    fun getSummaryByIdFuture(
+        id: Long,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<TrackSummary> = futures.future(coroutineContext) { delegate.getSummaryById(id) }
+
+    // -- Batch --
+
+    /**
+     * Retrieve the [Track]s of the [ids] with [CompletableFuture], at most [DeezerBatchOptions.maxParallelism] at once.
+     * The values and failures of the result follow the order of [ids].
+     */
+    @JvmOverloads
+    fun getByIdsFuture(
+        ids: Collection<Long>,
+        options: DeezerBatchOptions = DeezerBatchOptions.DEFAULT,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<DeezerLoadResult<Long, Track>> = futures.future(coroutineContext) {
+        batch(ids, options) { delegate.getById(it) }
+    }
+
+    /**
+     * Retrieve the [Track]s of the [isrcs] (International Standard Recording Code) with [CompletableFuture],
+     * at most [DeezerBatchOptions.maxParallelism] at once.
+     * The values and failures of the result follow the order of [isrcs].
+     */
+    @JvmOverloads
+    fun getByIsrcsFuture(
+        isrcs: Collection<String>,
+        options: DeezerBatchOptions = DeezerBatchOptions.DEFAULT,
+        coroutineContext: CoroutineContext = EmptyCoroutineContext,
+    ): CompletableFuture<DeezerLoadResult<String, Track>> = futures.future(coroutineContext) {
+        batch(isrcs, options) { delegate.getByIsrc(it) }
+    }
 
     companion object {
         /** Create a [TrackJavaRoutes] with [Track Kotlin Routes][TrackRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun TrackRoutes.asJava() = TrackJavaRoutes(this)
+        internal fun TrackRoutes.asJava() = TrackJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun TrackRoutes.asJava(futures: DeezerFutureScope) = TrackJavaRoutes(this, futures)
     }
 }
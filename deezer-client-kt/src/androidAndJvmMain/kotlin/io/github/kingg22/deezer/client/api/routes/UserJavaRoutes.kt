@@ -1,9 +1,7 @@
 package io.github.kingg22.deezer.client.api.routes
 
+import io.github.kingg22.deezer.client.api.DeezerFutureScope
 import io.github.kingg22.deezer.client.api.objects.User
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.future.future
-import kotlinx.coroutines.runBlocking
 import org.jetbrains.annotations.Blocking
 import java.util.concurrent.CompletableFuture
 import kotlin.coroutines.CoroutineContext
@@ -20,23 +18,27 @@
  */
 internal class UserJavaRoutes private constructor(
     private val delegate: UserRoutes,
+    private val futures: DeezerFutureScope,
 ) {
     /** Retrieve a [User] by ID blocking the thread. */
     @Blocking
-    fun getById(id: Long) = runBlocking { delegate.getById(id) }
+    fun getById(id: Long) = futures.blocking { delegate.getById(id) }
 
     // -- Completable Future --
 
     /** Retrieve a [User] by ID with [CompletableFuture] */
     @JvmOverloads
     fun getByIdFuture(id: Long, coroutineContext: CoroutineContext = EmptyCoroutineContext): CompletableFuture<User> =
-        CoroutineScope(coroutineContext).future { delegate.getById(id) }
+        futures.future(coroutineContext) { delegate.getById(id) }
 
     companion object {
         /** Create a [UserJavaRoutes] with [User Kotlin Routes][UserRoutes] as delegate. */
         @PublishedApi
         @JvmStatic
         @JvmName("create")
-        internal fun UserRoutes.asJava() = UserJavaRoutes(this)
+        internal fun UserRoutes.asJava() = UserJavaRoutes(this, DeezerFutureScope.Unmanaged)
+
+        /** Same as [asJava], running the futures in the scope of a Java client */
+        internal fun UserRoutes.asJava(futures: DeezerFutureScope) = UserJavaRoutes(this, futures)
     }
 }
@@ -0,0 +1,68 @@
+@file:JvmName("-DeezerBodySniffer")
+
+package io.github.kingg22.deezer.client.api
+
+import io.ktor.utils.io.ByteReadChannel
+import io.ktor.utils.io.exhausted
+import io.ktor.utils.io.readByte
+import kotlin.jvm.JvmName
+
+/**
+ * Result of [sniffDeezerBody], what kind of body the [Deezer API](https://developers.deezer.com/api/) responded.
+ * @see sniffDeezerBody
+ */
+internal enum class DeezerBodyKind {
+    /** Body starts with `{"error":`, decode an [io.github.kingg22.deezer.client.api.objects.ErrorContainer] */
+    ERROR,
+
+    /** Body is the literal `true` */
+    TRUE,
+
+    /** Body is the literal `false` */
+    FALSE,
+
+    /** Any other body, a normal response to pass untouched to the route deserializer */
+    OTHER,
+}
+
+private const val ERROR_KEY = "\"error\""
+
+/**
+ * Look only at the leading bytes of a body to detect the Deezer workaround responses (error in 2xx and booleans).
+ *
+ * Reads byte by byte until the kind is known, so a successful response is never decoded here.
+ * Leading whitespace is ignored.
+ */
+internal suspend fun ByteReadChannel.sniffDeezerBody(): DeezerBodyKind {
+    val first = nextNonWhitespace() ?: return DeezerBodyKind.OTHER
+    return when (first) {
+        '{' -> if (nextNonWhitespace() == '"' && matches(ERROR_KEY, 1) && nextNonWhitespace() == ':') {
+            DeezerBodyKind.ERROR
+        } else {
+            DeezerBodyKind.OTHER
+        }
+
+        't' -> if (matches("true", 1) && nextNonWhitespace() == null) DeezerBodyKind.TRUE else DeezerBodyKind.OTHER
+
+        'f' -> if (matches("false", 1) && nextNonWhitespace() == null) DeezerBodyKind.FALSE else DeezerBodyKind.OTHER
+
+        else -> DeezerBodyKind.OTHER
+    }
+}
+
+/** Read the next char that isn't a JSON whitespace, `null` if the channel is exhausted */
+private suspend fun ByteReadChannel.nextNonWhitespace(): Char? {
+    while (!exhausted()) {
+        val char = readByte().toInt().toChar()
+        if (char != ' ' && char != '\n' && char != '\r' && char != '\t') return char
+    }
+    return null
+}
+
+/** Whether the next bytes match [expected] starting at [offset] (the previous chars are already consumed) */
+private suspend fun ByteReadChannel.matches(expected: String, offset: Int): Boolean {
+    for (i in offset until expected.length) {
+        if (exhausted() || readByte().toInt().toChar() != expected[i]) return false
+    }
+    return true
+}
@@ -0,0 +1,60 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import io.ktor.http.Url
+import io.ktor.utils.io.KtorDsl
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.days
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.minutes
+
+/** Configurations for [DeezerCachePlugin] */
+@KtorDsl
+@DeezerApiPoko
+class DeezerCacheConfig(
+    /** The storage of responses, share an instance to share the cache between clients. */
+    var storage: DeezerResponseCache = DeezerResponseCache(),
+
+    /**
+     * A list of [hosts][Url.host] to match and apply this plugin. Default [DeezerApiClient.API_DEEZER_URL].
+     * @see DeezerPluginConfig.allowedHosts
+     */
+    val allowedHosts: MutableSet<String> = mutableSetOf(Url(DeezerApiClient.API_DEEZER_URL).host),
+
+    /** Time to live of the routes without a rule in [routeTtl]. Default 10 minutes */
+    var defaultTtl: Duration = 10.minutes,
+
+    /**
+     * Time to live by route template, like `album/{id}`, `track/isrc:{isrc}` or `chart`.
+     *
+     * A template also matches the routes below it, `chart` apply to `chart/{id}/tracks`.
+     * The most specific template wins. A zero or negative duration disables the cache of the route.
+     *
+     * By default, `album/{id}` and `track/isrc:{isrc}` are nearly immutable (1 day),
+     * `chart` and `editorial/{id}/releases` change hourly (1 hour) and `search` is short-lived (1 minute).
+     */
+    val routeTtl: MutableMap<String, Duration> = mutableMapOf(
+        "album/{id}" to 1.days,
+        "album/upc:{upc}" to 1.days,
+        "track/isrc:{isrc}" to 1.days,
+        "chart" to 1.hours,
+        "editorial/{id}/releases" to 1.hours,
+        "search" to 1.minutes,
+    ),
+
+    /**
+     * A storage that survives restarts beneath [storage], like `DeezerDiskCache` on JVM. Default `null`.
+     *
+     * On a memory miss, a persisted body still fresh by [routeTtl] (using its fetch timestamp) answers the request,
+     * each successful response is written to both tiers.
+     */
+    var persistentStorage: DeezerPersistentCache? = null,
+) {
+    /** Set the time to live of a route [template], see [routeTtl] */
+    fun route(template: String, ttl: Duration) {
+        routeTtl[template.trim('/')] = ttl
+    }
+
+    /** Time to live of an [url] following the rules of [routeTtl] */
+    internal fun ttlFor(url: Url): Duration = routeTtl.findByRouteTemplate(url.deezerRouteTemplate()) ?: defaultTtl
+}
@@ -0,0 +1,129 @@
+@file:JvmName("-DeezerCachePlugin")
+
+package io.github.kingg22.deezer.client.api
+
+import io.ktor.client.*
+import io.ktor.client.call.*
+import io.ktor.client.plugins.api.*
+import io.ktor.client.request.*
+import io.ktor.client.statement.*
+import io.ktor.http.*
+import io.ktor.util.date.GMTDate
+import io.ktor.util.date.getTimeMillis
+import io.ktor.utils.io.ByteReadChannel
+import io.ktor.utils.io.InternalAPI
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlin.jvm.JvmName
+import kotlin.time.Duration.Companion.milliseconds
+
+private val persistedHeaders = headersOf(HttpHeaders.ContentType, ContentType.Application.Json.toString())
+
+/** Create a saved call (the body can be read many times) answering the [request] with a [body] already read */
+@OptIn(InternalAPI::class)
+internal suspend fun HttpClient.cachedCall(
+    request: HttpRequestBuilder,
+    body: ByteArray,
+    headers: Headers,
+    status: HttpStatusCode = HttpStatusCode.OK,
+): HttpClientCall {
+    // The call doesn't do any I/O, the context is completed since the start
+    val callContext = Job().apply { complete() }
+    val responseData = HttpResponseData(
+        status,
+        GMTDate(),
+        headers,
+        HttpProtocolVersion.HTTP_1_1,
+        ByteReadChannel(body),
+        callContext,
+    )
+    return HttpClientCall(this, request.build(), responseData).save()
+}
+
+/** Write in the persistent tier, is best effort: a failure doesn't fail the request */
+@Suppress("kotlin:S6312")
+private suspend fun DeezerPersistentCache.writeOrIgnore(key: String, body: ByteArray) {
+    try {
+        write(key, body, getTimeMillis())
+    } catch (_: Throwable) {
+        currentCoroutineContext().ensureActive()
+    }
+}
+
+// Expose as a kotlin object to easy access from java
+@Suppress("ktlint:standard:backing-property-naming")
+private val _DeezerCachePlugin = createClientPlugin("DeezerCachePlugin", ::DeezerCacheConfig) {
+    val config = pluginConfig
+    val storage = config.storage
+
+    on(Send) { request ->
+        /* Only GET of Deezer are cached, a streaming body is read once by its caller */
+        if (request.method != HttpMethod.Get || request.url.host !in config.allowedHosts) {
+            return@on proceed(request)
+        }
+        if (request.attributes.contains(DeezerStreamingBody)) return@on proceed(request)
+
+        val url = request.url.build()
+        val ttl = config.ttlFor(url)
+        if (!ttl.isPositive()) return@on proceed(request)
+
+        val key = url.deezerCacheKey()
+        val metrics = request.attributes.getOrNull(DeezerMetricsAttribute)
+        storage.get(key)?.let {
+            metrics?.onCacheOutcome(url.deezerRouteTemplate(), DeezerCacheOutcome.HIT)
+            return@on client.cachedCall(request, it.body, it.headers)
+        }
+
+        /* Memory miss, look the persistent tier with the same time to live */
+        val persisted = config.persistentStorage?.read(key)
+        if (persisted != null) {
+            val remaining = ttl - (getTimeMillis() - persisted.fetchedAtMillis).milliseconds
+            if (remaining.isPositive()) {
+                storage.put(key, persisted.body, persistedHeaders, remaining)
+                metrics?.onCacheOutcome(url.deezerRouteTemplate(), DeezerCacheOutcome.PERSISTENT_HIT)
+                return@on client.cachedCall(request, persisted.body, persistedHeaders)
+            }
+        }
+
+        metrics?.onCacheOutcome(url.deezerRouteTemplate(), DeezerCacheOutcome.MISS)
+        val call = proceed(request)
+        val response = call.response
+
+        /* Errors of Deezer come with 200 OK, only successful bodies are stored */
+        val isSuccess = response.status == HttpStatusCode.OK &&
+            response.bodyAsChannel().sniffDeezerBody() == DeezerBodyKind.OTHER
+        if (isSuccess) {
+            val body = response.bodyAsBytes()
+            storage.put(key, body, response.headers, ttl)
+            config.persistentStorage?.writeOrIgnore(key, body)
+        }
+
+        return@on call
+    }
+}
+
+/**
+ * Ktor Client Plugin to cache in memory the GET responses of [Deezer API](https://developers.deezer.com/api/).
+ *
+ * Responses are keyed by normalized url, each route family has its own [time to live][DeezerCacheConfig.routeTtl]
+ * and the [storage][DeezerResponseCache] enforce a byte budget.
+ * The counters are available in [DeezerResponseCache.stats], and by route in [DeezerPluginConfig.metrics].
+ * Optionally, a [persistent storage][DeezerCacheConfig.persistentStorage] keeps the bodies between restarts.
+ *
+ * Usage:
+ * ```kotlin
+ * val cache = DeezerResponseCache(maxBytes = 32L * 1024 * 1024)
+ * val httpClient = HttpClient {
+ *   install(DeezerClientPlugin)
+ *   install(DeezerCachePlugin) {
+ *     storage = cache
+ *     route("artist/{id}", 1.hours)
+ *   }
+ * }
+ * println(cache.stats.hitRate)
+ * ```
+ * @see DeezerCacheConfig
+ * @see DeezerResponseCache
+ */
+data object DeezerCachePlugin : ClientPlugin<DeezerCacheConfig> by _DeezerCachePlugin
@@ -0,0 +1,60 @@
+@file:JvmName("-DeezerCallEvent")
+
+package io.github.kingg22.deezer.client.api
+
+import io.ktor.util.AttributeKey
+import kotlin.jvm.JvmName
+
+/**
+ * Event of one call to [Deezer API](https://developers.deezer.com/api/) recorded by the platform,
+ * the JDK Flight Recorder on JVM. Started when the request is sent, committed once with the fields of the call.
+ * @see DeezerCallRecorder
+ */
+internal interface DeezerCallEvent {
+    /**
+     * End the event and record it.
+     * @param route Route template, like `album/{id}`
+     * @param resourceId The id of the url (`302127`, `isrc:GBDUW0000061`), `null` if the route has none
+     * @param status HTTP status, `0` without response
+     * @param errorCode Code of the error of Deezer, `0` without error
+     * @param bytes Size of the body, `-1` if unknown
+     * @param decodeNanos Time to decode the body to its model, `0` if not decoded
+     * @param attempt `0` for the first attempt, the number of the retry otherwise
+     */
+    fun commit(
+        route: String,
+        resourceId: String?,
+        status: Int,
+        errorCode: Int,
+        bytes: Long,
+        decodeNanos: Long,
+        attempt: Int,
+    )
+}
+
+/** Platform recorder of [DeezerCallEvent], without effect where there is no recorder */
+internal expect object DeezerCallRecorder {
+    /** Whether a recording listens to the events, a cheap check before measuring a call */
+    val isEnabled: Boolean
+
+    /** Begin the event of a call, `null` if no recording listens */
+    fun begin(): DeezerCallEvent?
+}
+
+/** Counter of the attempts of a request, shared by the copies of the request made by the retries */
+internal class DeezerCallAttempts {
+    var count = 0
+}
+
+internal val DeezerCallAttemptsAttribute = AttributeKey<DeezerCallAttempts>("DeezerCallAttempts")
+
+/** Event of a successful call waiting for the decode of its body to be committed */
+internal class PendingDeezerCallEvent(
+    val event: DeezerCallEvent,
+    val resourceId: String?,
+    val status: Int,
+    val bytes: Long,
+    val attempt: Int,
+)
+
+internal val PendingDeezerCallEventAttribute = AttributeKey<PendingDeezerCallEvent>("PendingDeezerCallEvent")
@@ -0,0 +1,210 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asSharedFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import kotlin.jvm.JvmOverloads
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+import kotlin.time.TimeSource
+
+/**
+ * Circuit breaker of a host of [Deezer API](https://developers.deezer.com/api/), used by [DeezerClientPlugin].
+ *
+ * - [CLOSED][DeezerCircuitState.CLOSED]: the requests are sent and their outcomes recorded in a sliding window
+ *   of the last [windowSize] calls. When at least [minimumCalls] are recorded and the rate of failures reaches
+ *   [failureRateThreshold], the breaker opens.
+ * - [OPEN][DeezerCircuitState.OPEN]: the requests fail fast with
+ *   [DeezerCircuitOpenException][io.github.kingg22.deezer.client.exceptions.DeezerCircuitOpenException]
+ *   without waiting a timeout, the responses of `DeezerCachePlugin` are still served. After [openDuration],
+ *   the breaker is half-open.
+ * - [HALF_OPEN][DeezerCircuitState.HALF_OPEN]: only [halfOpenCalls] trial requests are sent, if all succeed the breaker
+ *   closes, a failure opens it again.
+ *
+ * A failure is a service busy error (code 700), an HTTP 5xx status or a call without response
+ * (timeout, connection error).
+ * Other errors of Deezer (like data not found) mean the API is healthy.
+ *
+ * @param failureRateThreshold Rate of failures (between 0 and 1) to open the breaker. Default 0.5
+ * @param windowSize Number of the last calls recorded. Default 20
+ * @param minimumCalls Calls recorded before the rate is evaluated. Default 10
+ * @param openDuration Time to wait in open before the trial requests. Default 30 seconds
+ * @param halfOpenCalls Number of trial requests in half-open. Default 3
+ * @param timeSource Source of time of the open duration. Default [TimeSource.Monotonic]
+ * @see DeezerPluginConfig.circuitBreaker
+ */
+class DeezerCircuitBreaker @JvmOverloads constructor(
+    val failureRateThreshold: Double = DEFAULT_FAILURE_RATE_THRESHOLD,
+    val windowSize: Int = DEFAULT_WINDOW_SIZE,
+    val minimumCalls: Int = DEFAULT_MINIMUM_CALLS,
+    val openDuration: Duration = DEFAULT_OPEN_DURATION,
+    val halfOpenCalls: Int = DEFAULT_HALF_OPEN_CALLS,
+    timeSource: TimeSource.WithComparableMarks = TimeSource.Monotonic,
+) {
+    private val mutex = Mutex()
+    private val origin = timeSource.markNow()
+    private val mutableState = MutableStateFlow(DeezerCircuitState.CLOSED)
+    private val mutableTransitions = MutableSharedFlow<DeezerCircuitState>(
+        extraBufferCapacity = TRANSITIONS_BUFFER,
+        onBufferOverflow = BufferOverflow.DROP_OLDEST,
+    )
+
+    // Ring buffer of the outcomes, true is a failure
+    private val window = BooleanArray(windowSize)
+    private var next = 0
+    private var recorded = 0
+    private var failures = 0
+
+    private var openedAt = Duration.ZERO
+    private var trialPermits = 0
+    private var trialSuccesses = 0
+
+    init {
+        require(failureRateThreshold > 0 && failureRateThreshold <= 1) { "failureRateThreshold must be in (0, 1]" }
+        require(windowSize > 0) { "windowSize must be greater than 0" }
+        require(minimumCalls in 1..windowSize) { "minimumCalls must be between 1 and windowSize" }
+        require(openDuration.isPositive()) { "openDuration must be positive" }
+        require(halfOpenCalls > 0) { "halfOpenCalls must be greater than 0" }
+    }
+
+    /** The current state, its collectors only see the latest state, see [transitions] for each change */
+    val state: StateFlow<DeezerCircuitState> = mutableState.asStateFlow()
+
+    /**
+     * Each change of state, in order, even the quick ones like open, half-open and open again.
+     * Without replay, a slow collector loses the oldest changes beyond a buffer of 64.
+     */
+    val transitions: SharedFlow<DeezerCircuitState> = mutableTransitions.asSharedFlow()
+
+    /** Take the permission to send a request, `false` if the breaker rejects it */
+    internal suspend fun tryAcquire(): Boolean = mutex.withLock {
+        when (mutableState.value) {
+            DeezerCircuitState.CLOSED -> true
+
+            DeezerCircuitState.OPEN -> if (origin.elapsedNow() - openedAt >= openDuration) {
+                trialPermits = halfOpenCalls - 1
+                trialSuccesses = 0
+                moveTo(DeezerCircuitState.HALF_OPEN)
+                true
+            } else {
+                false
+            }
+
+            DeezerCircuitState.HALF_OPEN -> if (trialPermits > 0) {
+                trialPermits--
+                true
+            } else {
+                false
+            }
+        }
+    }
+
+    /** Record the outcome of a request allowed by [tryAcquire] */
+    internal suspend fun record(failure: Boolean) {
+        withContext(NonCancellable) {
+            mutex.withLock<Unit> {
+                when (mutableState.value) {
+                    DeezerCircuitState.CLOSED -> {
+                        slide(failure)
+                        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) open()
+                    }
+
+                    DeezerCircuitState.HALF_OPEN -> if (failure) {
+                        open()
+                    } else if (++trialSuccesses >= halfOpenCalls) {
+                        close()
+                    }
+
+                    // A late outcome of a request sent before opening
+                    DeezerCircuitState.OPEN -> Unit
+                }
+            }
+        }
+    }
+
+    /** Give back the permission of a request cancelled before its outcome, a trial can be sent by another */
+    internal suspend fun release() {
+        withContext(NonCancellable) {
+            mutex.withLock<Unit> {
+                if (mutableState.value == DeezerCircuitState.HALF_OPEN) trialPermits++
+            }
+        }
+    }
+
+    /* -- Implementation Zone -- */
+
+    private fun slide(failure: Boolean) {
+        if (recorded == windowSize) {
+            if (window[next]) failures--
+        } else {
+            recorded++
+        }
+        window[next] = failure
+        if (failure) failures++
+        next = (next + 1) % windowSize
+    }
+
+    private fun open() {
+        openedAt = origin.elapsedNow()
+        reset()
+        moveTo(DeezerCircuitState.OPEN)
+    }
+
+    private fun close() {
+        reset()
+        moveTo(DeezerCircuitState.CLOSED)
+    }
+
+    private fun moveTo(state: DeezerCircuitState) {
+        mutableState.value = state
+        // Never suspends, the buffer drops the oldest
+        mutableTransitions.tryEmit(state)
+    }
+
+    private fun reset() {
+        window.fill(false)
+        next = 0
+        recorded = 0
+        failures = 0
+    }
+
+    /** Defaults of [DeezerCircuitBreaker] */
+    companion object {
+        /** Default [failureRateThreshold] */
+        const val DEFAULT_FAILURE_RATE_THRESHOLD = 0.5
+
+        /** Default [windowSize] */
+        const val DEFAULT_WINDOW_SIZE = 20
+
+        /** Default [minimumCalls] */
+        const val DEFAULT_MINIMUM_CALLS = 10
+
+        /** Default [halfOpenCalls] */
+        const val DEFAULT_HALF_OPEN_CALLS = 3
+
+        /** Default [openDuration] */
+        val DEFAULT_OPEN_DURATION = 30.seconds
+
+        private const val TRANSITIONS_BUFFER = 64
+    }
+}
+
+/** State of a [DeezerCircuitBreaker] */
+enum class DeezerCircuitState {
+    /** The requests are sent */
+    CLOSED,
+
+    /** The requests fail fast */
+    OPEN,
+
+    /** Only a few trial requests are sent */
+    HALF_OPEN,
+}
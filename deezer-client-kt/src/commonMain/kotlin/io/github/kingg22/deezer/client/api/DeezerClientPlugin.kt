@@ -4,20 +4,134 @@
 
 import io.github.kingg22.deezer.client.api.objects.ErrorContainer
 import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import io.github.kingg22.deezer.client.exceptions.DeezerCircuitOpenException
+import io.github.kingg22.deezer.client.utils.SingleFlight
 import io.github.kingg22.deezer.client.utils.getDefaultDeezerHeaders
+import io.ktor.client.HttpClient
 import io.ktor.client.call.*
+import io.ktor.client.plugins.HttpRequestRetryEvent
 import io.ktor.client.plugins.api.*
+import io.ktor.client.request.*
 import io.ktor.client.statement.*
-import kotlinx.coroutines.currentCoroutineContext
-import kotlinx.coroutines.ensureActive
+import io.ktor.http.*
+import io.ktor.util.AttributeKey
+import io.ktor.util.pipeline.PipelinePhase
+import io.ktor.utils.io.ByteReadChannel
+import io.ktor.utils.io.discard
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.selects.select
+import kotlinx.coroutines.supervisorScope
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeoutOrNull
 import kotlin.jvm.JvmName
+import kotlin.time.ComparableTimeMark
+import kotlin.time.Duration
+import kotlin.time.TimeSource
 
-@Suppress("kotlin:S6312")
-private suspend inline fun <reified T : Any> HttpResponse.bodyOrNull(): T? = try {
-    body()
-} catch (_: Throwable) {
-    currentCoroutineContext().ensureActive()
-    null
+/** Phase of the response pipeline that wraps the converters of `ContentNegotiation`, to measure the decoding */
+private val DeezerDecodePhase = PipelinePhase("DeezerDecodeMetrics")
+
+/** Mark of the request shared by the coalesced callers, each caller decodes its own copy of the response */
+private val DeezerCoalescedCall = AttributeKey<Unit>("DeezerCoalescedCall")
+
+/** Mark of the hedge of a slow request, sent through its own pipeline without coalescing, retries or hedges */
+private val DeezerHedgeCall = AttributeKey<Unit>("DeezerHedgeCall")
+
+/** The circuit breaker that allowed the request to be sent, waiting its outcome */
+private val DeezerCircuitPermit = AttributeKey<DeezerCircuitBreaker>("DeezerCircuitPermit")
+
+/** Start of a request in a slot of the concurrency limiter, waiting its release */
+private val DeezerConcurrencyPermit = AttributeKey<ComparableTimeMark>("DeezerConcurrencyPermit")
+
+/** A response of a coalesced call, copied to each caller */
+private class SharedResponse(val status: HttpStatusCode, val headers: Headers, val body: ByteArray)
+
+/** Proceed the [request] until it succeeds or its error isn't retried by the [policy] */
+private suspend fun Send.Sender.proceedWithRetries(
+    request: HttpRequestBuilder,
+    policy: DeezerRetryPolicy,
+    metrics: DeezerMetrics?,
+): HttpClientCall {
+    policy.onRequest()
+    var attempt = 0
+    while (true) {
+        try {
+            // Each attempt with its own copy, like HttpRequestRetry
+            return proceed(HttpRequestBuilder().takeFromWithExecutionContext(request))
+        } catch (exception: DeezerApiException) {
+            attempt++
+            val wait = policy.retryDelay(exception.error, attempt) ?: throw exception
+            metrics?.onRetry(request.url.build().deezerRouteTemplate(), attempt)
+            delay(wait)
+        }
+    }
+}
+
+/**
+ * Proceed the [request], and an identical hedge when it's slower than the usual latency of its route.
+ * The first response wins, the other call is cancelled up to the engine.
+ */
+private suspend fun Send.Sender.proceedWithHedge(
+    client: HttpClient,
+    request: HttpRequestBuilder,
+    policy: DeezerHedgePolicy,
+): HttpClientCall {
+    val route = request.url.build().deezerRouteTemplate()
+    val hedgeDelay = policy.hedgeDelay(route)
+    val start = TimeSource.Monotonic.markNow()
+    if (hedgeDelay == null) return proceed(request).also { policy.record(route, start.elapsedNow()) }
+
+    // Copies with their own execution context, to cancel the call of the loser
+    val primaryRequest = HttpRequestBuilder().takeFrom(request)
+    val hedgeRequest = HttpRequestBuilder().takeFrom(request).apply {
+        attributes.put(DeezerHedgeCall, Unit)
+        // Not an attempt of the request, the hedge has its own
+        attributes.remove(DeezerCallAttemptsAttribute)
+    }
+    var winner: HttpRequestBuilder? = null
+    return try {
+        supervisorScope {
+            // The only call of this sender, the hedge is sent through its own pipeline
+            val primary = async {
+                try {
+                    proceed(primaryRequest).also { policy.record(route, start.elapsedNow()) }
+                } catch (cause: CancellationException) {
+                    /* Cancelled by its hedge, its latency is at least its time until now */
+                    withContext(NonCancellable) { policy.recordCancelled(route, start.elapsedNow()) }
+                    throw cause
+                }
+            }
+            val completed = withTimeoutOrNull(hedgeDelay) { primary.join() } != null
+            if (completed || !policy.tryHedge()) return@supervisorScope primary.await().also { winner = primaryRequest }
+
+            val hedgeStart = TimeSource.Monotonic.markNow()
+            val hedge = async {
+                client.request(hedgeRequest).call.also { policy.record(route, hedgeStart.elapsedNow()) }
+            }
+            val calls = listOf(primary, hedge)
+            val requests = listOf(primaryRequest, hedgeRequest)
+            val first = select<Int> { calls.forEachIndexed { index, call -> call.onJoin { index } } }
+            val call = try {
+                calls[first].await().also { winner = requests[first] }
+            } catch (cause: Exception) {
+                /* An error of Deezer is an answer, without response the other call can still answer */
+                if (cause is DeezerApiException || cause is CancellationException) throw cause
+                calls[1 - first].await().also { winner = requests[1 - first] }
+            }
+            calls.forEach { it.cancel() }
+            call
+        }
+    } finally {
+        if (winner !== primaryRequest) primaryRequest.executionContext.cancel()
+        if (winner !== hedgeRequest) hedgeRequest.executionContext.cancel()
+    }
 }
 
 // Expose as a kotlin object to easy access from java
@@ -25,37 +139,232 @@ private suspend inline fun <reified T : Any> HttpResponse.bodyOrNull(): T? = try
 private val _DeezerClientPlugin = createClientPlugin("DeezerValidationPlugin", ::DeezerPluginConfig) {
     /* Add default Deezer headers if enabled */
     on(SetupRequest) { request ->
-        if (request.url.host in pluginConfig.allowedHosts && pluginConfig.includeDefaultHeaders) {
+        // A hedge already has the headers of its request
+        val hedge = request.attributes.contains(DeezerHedgeCall)
+        if (request.url.host in pluginConfig.allowedHosts && pluginConfig.includeDefaultHeaders && !hedge) {
             request.headers.appendAll(getDefaultDeezerHeaders())
         }
+        /* Let the other plugins (cache) report to the same metrics */
+        val metrics = pluginConfig.metrics
+        if (metrics != null && request.url.host in pluginConfig.allowedHosts) {
+            request.attributes.put(DeezerMetricsAttribute, metrics)
+        }
+        if (DeezerCallRecorder.isEnabled && request.url.host in pluginConfig.allowedHosts) {
+            request.attributes.put(DeezerCallAttemptsAttribute, DeezerCallAttempts())
+        }
     }
 
-    /* Validate a boolean (unique case) response and errors */
+    /* Count the retries of HttpRequestRetry */
+    client.monitor.subscribe(HttpRequestRetryEvent) { retry ->
+        val metrics = pluginConfig.metrics ?: return@subscribe
+        if (retry.request.url.host in pluginConfig.allowedHosts) {
+            metrics.onRetry(retry.request.url.build().deezerRouteTemplate(), retry.retryCount)
+        }
+    }
+
+    /* Measure the time to decode the bodies to the models, skip the raw reads (sniff, streaming) */
+    client.responsePipeline.insertPhaseBefore(HttpResponsePipeline.Transform, DeezerDecodePhase)
+    client.responsePipeline.intercept(DeezerDecodePhase) { container ->
+        val metrics = this@createClientPlugin.pluginConfig.metrics
+        val pending = context.attributes.getOrNull(PendingDeezerCallEventAttribute)
+        if (metrics == null && pending == null) return@intercept
+        val type = container.expectedType.type
+        if (type == ByteReadChannel::class || type == ByteArray::class) return@intercept
+        val url = context.request.url
+        if (url.host !in this@createClientPlugin.pluginConfig.allowedHosts) return@intercept
+
+        val start = TimeSource.Monotonic.markNow()
+        try {
+            proceed()
+        } finally {
+            val decodeNanos = start.elapsedNow().inWholeNanoseconds
+            val route = url.deezerRouteTemplate()
+            metrics?.onDecode(route, decodeNanos)
+            /* The event of the call is complete with the decode of its body */
+            if (pending != null) {
+                context.attributes.remove(PendingDeezerCallEventAttribute)
+                with(pending) { event.commit(route, resourceId, status, 0, bytes, decodeNanos, attempt) }
+            }
+        }
+    }
+
+    /* Share the identical GET in flight, registered first to wrap the validation and the rate limiter */
+    // Not a child of the client to not block its completion, cancelled when the client is closed
+    val flightsJob = SupervisorJob()
+    client.coroutineContext[Job]?.invokeOnCompletion { flightsJob.cancel() }
+    val singleFlight = SingleFlight<SharedResponse>(CoroutineScope(client.coroutineContext + flightsJob))
+    on(Send) { request ->
+        val config = this@createClientPlugin.pluginConfig
+        if (!config.coalesceRequests || request.method != HttpMethod.Get || request.url.host !in config.allowedHosts) {
+            return@on proceed(request)
+        }
+        /* A streaming body is read once by its caller, a hedge is already inside the coalescing */
+        if (request.attributes.contains(DeezerStreamingBody) || request.attributes.contains(DeezerHedgeCall)) {
+            return@on proceed(request)
+        }
+
+        // A copy of the request without the execution context of the first caller, the others can't cancel it
+        val shared = singleFlight.run(request.url.build().deezerCacheKey()) {
+            val copy = HttpRequestBuilder().takeFrom(request).apply { attributes.put(DeezerCoalescedCall, Unit) }
+            val response = proceed(copy).response
+            SharedResponse(response.status, response.headers, response.bodyAsBytes())
+        }
+        return@on client.cachedCall(request, shared.body, shared.headers, shared.status)
+    }
+
+    /* Retry the transient errors of Deezer, inside the coalescing to retry once for all the callers */
+    on(Send) { request ->
+        val config = this@createClientPlugin.pluginConfig
+        val policy = config.retryPolicy
+        if (policy == null || request.url.host !in config.allowedHosts) return@on proceed(request)
+        /* A streaming body validates its errors after the call is returned, a hedge is already inside the retries */
+        if (request.attributes.contains(DeezerStreamingBody) || request.attributes.contains(DeezerHedgeCall)) {
+            return@on proceed(request)
+        }
+
+        return@on proceedWithRetries(request, policy, config.metrics)
+    }
+
+    /* Hedge the slow GET, after the retries to hedge each attempt */
     on(Send) { request ->
-        val call = proceed(request)
+        val config = this@createClientPlugin.pluginConfig
+        val policy = config.hedgePolicy
+        if (policy == null || request.method != HttpMethod.Get || request.url.host !in config.allowedHosts) {
+            return@on proceed(request)
+        }
+        /* A streaming body is read once by its caller, a hedge isn't hedged again */
+        if (request.attributes.contains(DeezerStreamingBody) || request.attributes.contains(DeezerHedgeCall)) {
+            return@on proceed(request)
+        }
+
+        return@on proceedWithHedge(client, request, policy)
+    }
 
+    /*
+     * Fail fast while the circuit is open, then wait a token of the rate limiter and a slot of the concurrency limiter,
+     * after the cache plugins
+     */
+    on(SendingRequest) { request, _ ->
+        val host = request.url.host
+        if (host !in pluginConfig.allowedHosts) return@on
+        pluginConfig.circuitBreakers[host]?.let { breaker ->
+            if (!breaker.tryAcquire()) throw DeezerCircuitOpenException(host)
+            request.attributes.put(DeezerCircuitPermit, breaker)
+        }
+        pluginConfig.rateLimiter?.acquire()
+        pluginConfig.concurrencyLimiter?.let { limiter ->
+            request.attributes.put(DeezerConcurrencyPermit, limiter.acquire())
+        }
+    }
+
+    /* Validate a boolean (unique case) response and errors */
+    on(Send) { request ->
         /* Skip another host is not Deezer */
         if (request.url.host !in this@createClientPlugin.pluginConfig.allowedHosts) {
-            return@on call
+            return@on proceed(request)
         }
 
-        val response = call.response
+        val metrics = this@createClientPlugin.pluginConfig.metrics
+        val limiter = this@createClientPlugin.pluginConfig.concurrencyLimiter
+        val event = DeezerCallRecorder.begin()
+        val attempt = request.attributes.getOrNull(DeezerCallAttemptsAttribute)?.let { it.count++ } ?: 0
+        val url = request.url.build()
+        val route = if (metrics != null || event != null) url.deezerRouteTemplate() else ""
+        val resourceId = if (event != null) url.deezerResourceId() else null
+        val start = TimeSource.Monotonic.markNow()
+        // Outcome for the circuit breaker, a failure of the host or not, null to give back its permit
+        var hostFailure: Boolean? = null
+        // Outcome for the concurrency limiter, the latency is null when the caller gave up
+        var latency: Duration? = null
+        var overloaded = false
+        try {
+            val call = try {
+                proceed(request)
+            } catch (cause: Throwable) {
+                if (cause !is CancellationException) {
+                    metrics?.onFailure(route, start.elapsedNow().inWholeNanoseconds, cause)
+                    /* Without response, a failure of the host unless the caller gave up */
+                    hostFailure = true
+                    overloaded = true
+                }
+                event?.commit(route, resourceId, 0, 0, -1, 0, attempt)
+                throw cause
+            }
+            val response = call.response
+            val status = response.status.value
+            // The body is saved, the latency doesn't include the validation
+            latency = request.attributes.getOrNull(DeezerConcurrencyPermit)?.elapsedNow()
+            overloaded = status == HttpStatusCode.TooManyRequests.value || status >= 500
 
-        val error = response.bodyOrNull<ErrorContainer>()?.error
-        val asBoolean = response.bodyOrNull<Boolean>()
+            /* A streaming body can't be read ahead, its reader validates the errors */
+            if (request.attributes.contains(DeezerStreamingBody)) {
+                hostFailure = status >= 500
+                metrics?.onResponse(route, status, start.elapsedNow().inWholeNanoseconds, -1)
+                event?.commit(route, resourceId, status, 0, -1, 0, attempt)
+                return@on call
+            }
 
-        when {
-            asBoolean != null -> throw DeezerApiException(
-                errorMessage = "API responded with boolean: $asBoolean",
-            )
+            // The body is saved in memory, count it without copying
+            val bytes = if (metrics != null || event != null) response.bodyAsChannel().discard() else -1
+            metrics?.onResponse(route, status, start.elapsedNow().inWholeNanoseconds, bytes)
 
-            error != null -> throw DeezerApiException(
-                errorCode = error.code,
-                errorMessage = error.message,
-            )
-        }
+            /* Only look at the leading bytes, the route deserializer decode the successful body */
+            val kind = response.bodyAsChannel().sniffDeezerBody()
+            if (kind != DeezerBodyKind.ERROR) hostFailure = status >= 500
+            if (event != null && kind != DeezerBodyKind.ERROR) {
+                if (kind == DeezerBodyKind.OTHER && !request.attributes.contains(DeezerCoalescedCall)) {
+                    // Committed after the decode of the body by its caller
+                    request.attributes.put(
+                        PendingDeezerCallEventAttribute,
+                        PendingDeezerCallEvent(event, resourceId, status, bytes, attempt),
+                    )
+                } else {
+                    event.commit(route, resourceId, status, 0, bytes, 0, attempt)
+                }
+            }
+            when (kind) {
+                DeezerBodyKind.ERROR -> {
+                    val error = response.body<ErrorContainer>().error
+                    hostFailure = status >= 500 || error.code == DeezerErrorCode.SERVICE_BUSY.code
+                    metrics?.onDeezerError(route, DeezerErrorCode.fromCode(error.code))
+                    event?.commit(route, resourceId, status, error.code, bytes, 0, attempt)
+                    if (error.code == DeezerErrorCode.QUOTA.code) {
+                        this@createClientPlugin.pluginConfig.rateLimiter?.onQuotaExceeded()
+                    }
+                    if (error.code == DeezerErrorCode.QUOTA.code || error.code == DeezerErrorCode.SERVICE_BUSY.code) {
+                        overloaded = true
+                    }
+                    throw DeezerApiException(
+                        errorCode = error.code,
+                        errorMessage = error.message,
+                    )
+                }
+
+                DeezerBodyKind.TRUE -> {
+                    metrics?.onDeezerError(route, null)
+                    throw DeezerApiException(errorMessage = "API responded with boolean: true")
+                }
+
+                DeezerBodyKind.FALSE -> {
+                    metrics?.onDeezerError(route, null)
+                    throw DeezerApiException(errorMessage = "API responded with boolean: false")
+                }
 
-        return@on call
+                DeezerBodyKind.OTHER -> Unit
+            }
+
+            return@on call
+        } finally {
+            /* Settle the permit of the circuit breaker once, whatever the validation throws */
+            request.attributes.getOrNull(DeezerCircuitPermit)?.let { breaker ->
+                val failure = hostFailure
+                if (failure == null) breaker.release() else breaker.record(failure)
+            }
+            /* Free the slot once, an error of Deezer in a 200 OK is known after the sniff */
+            request.attributes.getOrNull(DeezerConcurrencyPermit)?.let { sentAt ->
+                limiter?.release(sentAt, latency, overloaded)
+            }
+        }
     }
 }
 
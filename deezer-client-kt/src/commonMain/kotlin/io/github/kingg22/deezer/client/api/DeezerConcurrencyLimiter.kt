@@ -0,0 +1,174 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import kotlin.concurrent.Volatile
+import kotlin.jvm.JvmOverloads
+import kotlin.time.ComparableTimeMark
+import kotlin.time.Duration
+import kotlin.time.TimeSource
+
+/**
+ * Adaptive limit of the requests in flight to [Deezer API](https://developers.deezer.com/api/),
+ * used by [DeezerClientPlugin].
+ *
+ * The limit follows AIMD (additive increase, multiplicative decrease): each response raises it by one while the latency
+ * stays flat and at least half of the limit is used, a rise of the latency, a quota or service busy error,
+ * an HTTP 429 or 5xx status or a call without response multiplies it by [backoffRatio].
+ * The latency is rising when its short-term average exceeds [latencyTolerance] times its long-term average.
+ * The limit decreases at most once by latency window: only the requests sent after the last decrease can decrease it,
+ * so the errors of a burst in flight count as one. So the limit stays near the knee of the latency curve of Deezer,
+ * without a static number.
+ *
+ * Above the limit, the callers suspend in FIFO order until a call completes.
+ * The time waiting the limit isn't part of the latency measured.
+ * A streamed body (like the items of a paginated response read while they arrive) frees its slot when its headers
+ * are received, the reading of its body isn't in flight for the limit.
+ *
+ * @param initialLimit Limit before any response. Default 10
+ * @param minLimit Min limit. Default 1
+ * @param maxLimit Max limit. Default 100
+ * @param backoffRatio Ratio (between 0 and 1) applied to the limit on overload. Default 0.9
+ * @param latencyTolerance Ratio of the short-term average of the latency to its long-term average
+ * considered a rise. Default 1.5
+ * @see DeezerPluginConfig.concurrencyLimiter
+ */
+class DeezerConcurrencyLimiter @JvmOverloads constructor(
+    val initialLimit: Int = DEFAULT_INITIAL_LIMIT,
+    val minLimit: Int = DEFAULT_MIN_LIMIT,
+    val maxLimit: Int = DEFAULT_MAX_LIMIT,
+    val backoffRatio: Double = DEFAULT_BACKOFF_RATIO,
+    val latencyTolerance: Double = DEFAULT_LATENCY_TOLERANCE,
+) {
+    private val mutex = Mutex()
+    private val waiters = ArrayDeque<CompletableDeferred<Unit>>()
+
+    @Volatile
+    private var currentLimit = initialLimit.toDouble()
+
+    @Volatile
+    private var running = 0
+
+    private var samples = 0L
+    private var lastDecrease: ComparableTimeMark? = null
+    private var shortLatencyNanos = 0.0
+    private var longLatencyNanos = 0.0
+
+    init {
+        require(minLimit > 0) { "minLimit must be greater than 0" }
+        require(initialLimit in minLimit..maxLimit) { "initialLimit must be between minLimit and maxLimit" }
+        require(backoffRatio > 0 && backoffRatio < 1) { "backoffRatio must be between 0 and 1" }
+        require(latencyTolerance > 1) { "latencyTolerance must be greater than 1" }
+    }
+
+    /** The current limit of requests in flight */
+    val limit: Int get() = currentLimit.toInt()
+
+    /** Number of requests in flight now */
+    val inFlight: Int get() = running
+
+    /** Suspend until a request can be sent, in FIFO order, and return the time it was sent */
+    internal suspend fun acquire(): ComparableTimeMark {
+        val waiter = mutex.withLock {
+            if (waiters.isEmpty() && running < limit) {
+                running++
+                return TimeSource.Monotonic.markNow()
+            }
+            CompletableDeferred<Unit>().also { waiters.addLast(it) }
+        }
+        try {
+            waiter.await()
+        } catch (cause: CancellationException) {
+            withContext(NonCancellable) {
+                mutex.withLock<Unit> {
+                    // Granted while it was cancelled, the slot goes to the next
+                    if (!waiters.remove(waiter)) {
+                        running--
+                        dispatch()
+                    }
+                }
+            }
+            throw cause
+        }
+        return TimeSource.Monotonic.markNow()
+    }
+
+    /**
+     * Release the slot of a request [sent at][sentAt] the time returned by [acquire] with its [latency],
+     * `null` when the request was cancelled. A [dropped] request (without response, HTTP 429 or 5xx,
+     * quota or service busy error) decreases the limit.
+     */
+    internal suspend fun release(sentAt: ComparableTimeMark, latency: Duration?, dropped: Boolean) {
+        withContext(NonCancellable) {
+            mutex.withLock {
+                val used = running
+                running--
+                if (dropped) {
+                    decrease(sentAt)
+                } else if (latency != null) {
+                    onSample(sentAt, latency.inWholeNanoseconds.toDouble(), used)
+                }
+                dispatch()
+            }
+        }
+    }
+
+    /* -- Implementation Zone -- */
+
+    private fun onSample(sentAt: ComparableTimeMark, nanos: Double, used: Int) {
+        if (samples++ == 0L) {
+            shortLatencyNanos = nanos
+            longLatencyNanos = nanos
+        } else {
+            shortLatencyNanos += (nanos - shortLatencyNanos) * SHORT_WEIGHT
+            longLatencyNanos += (nanos - longLatencyNanos) * LONG_WEIGHT
+        }
+        if (shortLatencyNanos > latencyTolerance * longLatencyNanos) {
+            decrease(sentAt)
+        } else if (used * 2 >= currentLimit) {
+            // Only raise a limit in use, an idle client keeps its limit
+            currentLimit = minOf(currentLimit + 1, maxLimit.toDouble())
+        }
+    }
+
+    private fun decrease(sentAt: ComparableTimeMark) {
+        // Sent before the last decrease, its overload is already counted
+        val last = lastDecrease
+        if (last != null && sentAt < last) return
+        lastDecrease = TimeSource.Monotonic.markNow()
+        currentLimit = maxOf(currentLimit * backoffRatio, minLimit.toDouble())
+    }
+
+    private fun dispatch() {
+        while (waiters.isNotEmpty() && running < limit) {
+            running++
+            waiters.removeFirst().complete(Unit)
+        }
+    }
+
+    /** Defaults of [DeezerConcurrencyLimiter] */
+    companion object {
+        /** Default [initialLimit] */
+        const val DEFAULT_INITIAL_LIMIT = 10
+
+        /** Default [minLimit] */
+        const val DEFAULT_MIN_LIMIT = 1
+
+        /** Default [maxLimit] */
+        const val DEFAULT_MAX_LIMIT = 100
+
+        /** Default [backoffRatio] */
+        const val DEFAULT_BACKOFF_RATIO = 0.9
+
+        /** Default [latencyTolerance] */
+        const val DEFAULT_LATENCY_TOLERANCE = 1.5
+
+        // Weights of the moving averages of the latency, about the last 10 and 100 responses
+        private const val SHORT_WEIGHT = 0.1
+        private const val LONG_WEIGHT = 0.01
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.completeWith
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.coroutines.withContext
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
+
+/**
+ * Loader of resources by key (like `client.tracks.getById`) to call from anywhere, in the style of _DataLoader_.
+ *
+ * The keys requested during a short [window] are gathered and deduplicated, then fetched with at most
+ * `maxConcurrency` requests at the same time. Successful results are cached by key ([cacheSize] the most recent),
+ * failures are not cached and the next [load] fetch again.
+ *
+ * Deezer doesn't have a batch endpoint, each key is still a request, the loader only controls how they are sent.
+ * The requests run in the [scope], a caller cancelled doesn't cancel the request of the others.
+ *
+ * Usage:
+ * ```kotlin
+ * val loader = DeezerDataLoader<Long, Track>(scope) { id -> client.tracks.getById(id) }
+ * val track = loader.load(3135556)
+ * val result = loader.loadMany(listOf(3135556, 3135553, 0))
+ * result.values // the tracks found by id
+ * result.failures // 0 -> DeezerApiException (DATA_NOT_FOUND)
+ * ```
+ *
+ * @param scope Where the requests are executed, cancel it to stop the loader
+ * @param window Time to gather the keys before sending the requests. Default 10 milliseconds
+ * @param maxConcurrency Max requests at the same time. Default 8
+ * @param cacheSize Max successful results kept, `0` to only deduplicate the requests in flight. Default 10 000
+ * @param fetch The route to request a key
+ * @see DeezerLoaders
+ */
+class DeezerDataLoader<K : Any, V : Any> internal constructor(
+    private val scope: CoroutineScope,
+    val window: Duration,
+    private val semaphore: Semaphore,
+    val cacheSize: Int,
+    private val fetch: suspend (K) -> V,
+) {
+    constructor(
+        scope: CoroutineScope,
+        window: Duration = DEFAULT_WINDOW,
+        maxConcurrency: Int = DEFAULT_MAX_CONCURRENCY,
+        cacheSize: Int = DEFAULT_CACHE_SIZE,
+        fetch: suspend (K) -> V,
+    ) : this(scope, window, Semaphore(maxConcurrency), cacheSize, fetch)
+
+    private val mutex = Mutex()
+    private val pending = mutableListOf<K>()
+    private val inFlight = HashMap<K, CompletableDeferred<V>>()
+
+    // Insertion order, the oldest results are dropped first
+    private val cached = LinkedHashMap<K, V>()
+
+    init {
+        require(!window.isNegative()) { "window can't be negative" }
+        require(cacheSize >= 0) { "cacheSize can't be negative" }
+    }
+
+    /**
+     * Load the value of the [key], waiting the next window if not cached.
+     * @throws IllegalStateException If the [scope] of the loader is cancelled
+     */
+    suspend fun load(key: K): V = awaitOrThrow(enqueue(key))
+
+    /** Load all the [keys], the values and failures by key follow the order of [keys] */
+    @Suppress("kotlin:S6312")
+    suspend fun loadMany(keys: Iterable<K>): DeezerLoadResult<K, V> {
+        val deferredByKey = LinkedHashMap<K, Deferred<V>>()
+        for (key in keys) {
+            if (key !in deferredByKey) deferredByKey[key] = enqueue(key)
+        }
+        val values = LinkedHashMap<K, V>()
+        val failures = LinkedHashMap<K, Throwable>()
+        for ((key, deferred) in deferredByKey) {
+            try {
+                values[key] = awaitOrThrow(deferred)
+            } catch (e: Throwable) {
+                currentCoroutineContext().ensureActive()
+                failures[key] = e
+            }
+        }
+        return DeezerLoadResult(values, failures)
+    }
+
+    /** Forget the cached value of the [key] */
+    suspend fun clear(key: K) {
+        mutex.withLock { cached.remove(key) }
+    }
+
+    /** Forget all the cached values */
+    suspend fun clearAll() {
+        mutex.withLock { cached.clear() }
+    }
+
+    /* -- Implementation Zone -- */
+
+    private suspend fun enqueue(key: K): Deferred<V> = mutex.withLock {
+        cached[key]?.let { return CompletableDeferred(it) }
+        inFlight[key]?.let { return it }
+
+        val deferred = CompletableDeferred<V>()
+        inFlight[key] = deferred
+        pending += key
+        // The first key of the window schedules the dispatch, ATOMIC to complete the keys even if cancelled
+        if (pending.size == 1) {
+            scope.launch(start = CoroutineStart.ATOMIC) {
+                try {
+                    delay(window)
+                } finally {
+                    withContext(NonCancellable) { dispatch() }
+                }
+            }
+        }
+        deferred
+    }
+
+    private suspend fun dispatch() {
+        val batch = mutex.withLock { pending.toList().also { pending.clear() } }
+        for (key in batch) {
+            scope.launch(start = CoroutineStart.ATOMIC) { resolve(key) }
+        }
+    }
+
+    private suspend fun resolve(key: K) {
+        // Include the cancellation of the scope, waiters get it instead of waiting forever
+        val result = runCatching { semaphore.withPermit { fetch(key) } }
+        val deferred = withContext(NonCancellable) {
+            mutex.withLock {
+                result.onSuccess { value ->
+                    if (cacheSize > 0) {
+                        cached[key] = value
+                        if (cached.size > cacheSize) cached.remove(cached.keys.first())
+                    }
+                }
+                inFlight.remove(key)
+            }
+        }
+        deferred?.completeWith(result)
+    }
+
+    private suspend fun awaitOrThrow(deferred: Deferred<V>): V = try {
+        deferred.await()
+    } catch (e: CancellationException) {
+        // The caller is cancelled or the scope of the loader
+        currentCoroutineContext().ensureActive()
+        throw IllegalStateException("The scope of the loader is cancelled", e)
+    }
+
+    /** Defaults of [DeezerDataLoader] */
+    companion object {
+        /** Default [window] */
+        val DEFAULT_WINDOW = 10.milliseconds
+
+        /** Default max requests at the same time */
+        const val DEFAULT_MAX_CONCURRENCY = 8
+
+        /** Default [cacheSize] */
+        const val DEFAULT_CACHE_SIZE = 10_000
+    }
+}
+
+/**
+ * Result of [DeezerDataLoader.loadMany], the partial successes with the failures.
+ *
+ * @property values The values loaded by key
+ * @property failures The exceptions by key, like a `DeezerApiException` of a resource not found
+ */
+@DeezerApiPoko
+class DeezerLoadResult<K : Any, V : Any>(val values: Map<K, V>, val failures: Map<K, Throwable>) {
+    /** Whether all keys are loaded */
+    val isSuccess: Boolean get() = failures.isEmpty()
+}
@@ -0,0 +1,151 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlin.jvm.JvmOverloads
+import kotlin.math.ceil
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.nanoseconds
+
+/**
+ * Hedging of the slow GET requests of [Deezer API](https://developers.deezer.com/api/), used by [DeezerClientPlugin].
+ *
+ * The latency of the last [windowSize] calls of each route template (`search/track`, `album/{id}`, ...) is tracked.
+ * When a call hasn't completed after the [percentile] of its route, an identical request is sent and the first
+ * response wins, the other call is cancelled. The routes with less than [minimumSamples] calls aren't hedged.
+ * The percentile is computed again every few calls of the route, not on each request.
+ *
+ * A budget of [budgetRatio] hedges by request, up to [budgetBurst] at once, bounds the hedges. When the budget
+ * is empty the call isn't hedged. The hedges still pass the rate limiter and the circuit breaker.
+ *
+ * @param percentile Percentile of the latency of the route to wait before the hedge. Default 95
+ * @param budgetRatio Hedges allowed by request on average. Default 0.05 (5%)
+ * @param budgetBurst Hedges allowed at once, also the initial budget. Default 5
+ * @param minimumSamples Calls of a route before hedging it. Default 20
+ * @param windowSize Number of the last latencies tracked by route. Default 200
+ * @param minDelay Min delay before a hedge. Default 10 milliseconds
+ * @see DeezerPluginConfig.hedgePolicy
+ */
+class DeezerHedgePolicy @JvmOverloads constructor(
+    val percentile: Double = DEFAULT_PERCENTILE,
+    val budgetRatio: Double = DEFAULT_BUDGET_RATIO,
+    val budgetBurst: Int = DEFAULT_BUDGET_BURST,
+    val minimumSamples: Int = DEFAULT_MINIMUM_SAMPLES,
+    val windowSize: Int = DEFAULT_WINDOW_SIZE,
+    val minDelay: Duration = DEFAULT_MIN_DELAY,
+) {
+    private val mutex = Mutex()
+    private val routes = HashMap<String, LatencyWindow>()
+    private val tokens = DeezerTokenBudget(budgetRatio, budgetBurst)
+
+    init {
+        require(percentile > 0 && percentile < 100) { "percentile must be between 0 and 100" }
+        require(minimumSamples in 1..windowSize) { "minimumSamples must be between 1 and windowSize" }
+        require(!minDelay.isNegative()) { "minDelay must be positive or zero" }
+    }
+
+    /** Hedges available now in the budget */
+    val budget: Double get() = tokens.balance
+
+    /**
+     * Deposit the share of hedges of a new request of the [route] in the budget, and return the delay before its hedge.
+     * `null` if the route hasn't enough calls tracked.
+     */
+    internal suspend fun hedgeDelay(route: String): Duration? {
+        tokens.deposit()
+        return mutex.withLock {
+            routes[route]?.percentileNanos(percentile, minimumSamples)?.nanoseconds?.coerceAtLeast(minDelay)
+        }
+    }
+
+    /** Take a token of the budget to send a hedge, `false` if the budget is empty */
+    internal suspend fun tryHedge(): Boolean = tokens.tryTake()
+
+    /** Track the [latency] of a completed call of the [route] */
+    internal suspend fun record(route: String, latency: Duration) {
+        mutex.withLock {
+            val window = routes[route]
+                ?: if (routes.size < DeezerInMemoryMetrics.MAX_ROUTES) {
+                    LatencyWindow(windowSize).also { routes[route] = it }
+                } else {
+                    // Too many templates, the rare ones aren't hedged
+                    return@withLock
+                }
+            window.add(latency.inWholeNanoseconds)
+        }
+    }
+
+    /**
+     * Track the time until now of a call of the [route] cancelled by its hedge, a lower bound of its latency.
+     * Only when it already exceeds the percentile, where its real latency doesn't move the percentile,
+     * otherwise it would pull the percentile down.
+     */
+    internal suspend fun recordCancelled(route: String, elapsed: Duration) {
+        mutex.withLock {
+            val window = routes[route] ?: return@withLock
+            val percentileNanos = window.percentileNanos(percentile, minimumSamples) ?: return@withLock
+            if (elapsed.inWholeNanoseconds > percentileNanos) window.add(elapsed.inWholeNanoseconds)
+        }
+    }
+
+    /** Number of latencies of the [route] tracked now */
+    internal suspend fun samples(route: String): Int = mutex.withLock { routes[route]?.count ?: 0 }
+
+    /* -- Implementation Zone -- */
+
+    /** Ring buffer of the last latencies of a route, with its percentile cached between refreshes */
+    private class LatencyWindow(size: Int) {
+        private val samples = LongArray(size)
+        private val sorted = LongArray(size)
+        private var next = 0
+        var count = 0
+            private set
+
+        // Samples added since the percentile was computed, -1 before the first time
+        private var added = -1
+        private var cachedNanos = 0L
+
+        fun add(nanos: Long) {
+            samples[next] = nanos
+            next = (next + 1) % samples.size
+            if (count < samples.size) count++
+            if (added >= 0) added++
+        }
+
+        fun percentileNanos(percentile: Double, minimumSamples: Int): Long? {
+            if (count < minimumSamples) return null
+            if (added < 0 || added >= REFRESH_SAMPLES) {
+                samples.copyInto(sorted, endIndex = count)
+                sorted.sort(toIndex = count)
+                cachedNanos = sorted[(ceil(percentile / 100 * count).toInt() - 1).coerceIn(0, count - 1)]
+                added = 0
+            }
+            return cachedNanos
+        }
+    }
+
+    /** Defaults of [DeezerHedgePolicy] */
+    companion object {
+        /** Default [percentile] */
+        const val DEFAULT_PERCENTILE = 95.0
+
+        /** Default [budgetRatio] */
+        const val DEFAULT_BUDGET_RATIO = 0.05
+
+        /** Default [budgetBurst] */
+        const val DEFAULT_BUDGET_BURST = 5
+
+        /** Default [minimumSamples] */
+        const val DEFAULT_MINIMUM_SAMPLES = 20
+
+        /** Default [windowSize] */
+        const val DEFAULT_WINDOW_SIZE = 200
+
+        /** Default [minDelay] */
+        val DEFAULT_MIN_DELAY = 10.milliseconds
+
+        /** New samples of a route before computing its percentile again */
+        private const val REFRESH_SAMPLES = 10
+    }
+}
@@ -0,0 +1,244 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import kotlin.concurrent.atomics.AtomicLong
+import kotlin.concurrent.atomics.AtomicLongArray
+import kotlin.concurrent.atomics.AtomicReference
+import kotlin.concurrent.atomics.ExperimentalAtomicApi
+import kotlin.math.ceil
+
+/**
+ * In-memory [DeezerMetrics] without dependencies, the default implementation to read the measures in the process.
+ *
+ * Each route template has its counters and two log-linear histograms (latency and decode time) of fixed size,
+ * recording a measure is lock-free and doesn't allocate. The histograms have a precision of about 6%
+ * from 1 microsecond to 19 hours, enough for percentiles like p99.
+ *
+ * Share the same instance between clients to aggregate their measures.
+ *
+ * Usage:
+ * ```kotlin
+ * val metrics = DeezerInMemoryMetrics()
+ * val httpClient = HttpClient {
+ *   install(DeezerClientPlugin) { this.metrics = metrics }
+ * }
+ * println(metrics.stats("album/{id}")?.latency?.percentileMicros(99.0))
+ * ```
+ * @see DeezerRouteStats
+ */
+@OptIn(ExperimentalAtomicApi::class)
+class DeezerInMemoryMetrics : DeezerMetrics {
+    // Copy on write, a new route is rare after the warm-up
+    private val routes = AtomicReference<Map<String, RouteRecorder>>(emptyMap())
+
+    /** A snapshot of the counters of each route template seen */
+    fun snapshot(): Map<String, DeezerRouteStats> =
+        routes.load().mapValues { (route, recorder) -> recorder.stats(route) }
+
+    /** A snapshot of the counters of the [route] template, `null` if the route wasn't seen */
+    fun stats(route: String): DeezerRouteStats? = routes.load()[route]?.stats(route)
+
+    override fun onResponse(route: String, status: Int, latencyNanos: Long, bytes: Long) {
+        val recorder = recorder(route)
+        recorder.requests.incrementAndFetch()
+        recorder.latency.record(latencyNanos)
+        if (bytes > 0) recorder.bytes.addAndFetch(bytes)
+    }
+
+    override fun onFailure(route: String, latencyNanos: Long, cause: Throwable) {
+        val recorder = recorder(route)
+        recorder.requests.incrementAndFetch()
+        recorder.failures.incrementAndFetch()
+        recorder.latency.record(latencyNanos)
+    }
+
+    override fun onDeezerError(route: String, errorCode: DeezerErrorCode?) {
+        val recorder = recorder(route)
+        if (errorCode == null) {
+            recorder.otherErrors.incrementAndFetch()
+        } else {
+            recorder.errors.incrementAndFetchAt(errorCode.ordinal)
+        }
+    }
+
+    override fun onDecode(route: String, durationNanos: Long) {
+        recorder(route).decode.record(durationNanos)
+    }
+
+    override fun onRetry(route: String, attempt: Int) {
+        recorder(route).retries.incrementAndFetch()
+    }
+
+    override fun onCacheOutcome(route: String, outcome: DeezerCacheOutcome) {
+        recorder(route).cacheOutcomes.incrementAndFetchAt(outcome.ordinal)
+    }
+
+    /* -- Implementation Zone -- */
+
+    private fun recorder(route: String): RouteRecorder {
+        while (true) {
+            val current = routes.load()
+            current[route]?.let { return it }
+            // Bound the memory if the templates aren't bounded (unexpected path segments)
+            val name = if (current.size >= MAX_ROUTES) OTHER_ROUTE else route
+            current[name]?.let { return it }
+            val recorder = RouteRecorder()
+            if (routes.compareAndSet(current, current + (name to recorder))) return recorder
+        }
+    }
+
+    private class RouteRecorder {
+        val requests = AtomicLong(0)
+        val failures = AtomicLong(0)
+        val bytes = AtomicLong(0)
+        val retries = AtomicLong(0)
+        val otherErrors = AtomicLong(0)
+        val errors = AtomicLongArray(DeezerErrorCode.entries.size)
+        val cacheOutcomes = AtomicLongArray(DeezerCacheOutcome.entries.size)
+        val latency = AtomicHistogram()
+        val decode = AtomicHistogram()
+
+        fun stats(route: String) = DeezerRouteStats(
+            route = route,
+            requestCount = requests.load(),
+            failureCount = failures.load(),
+            responseBytes = bytes.load(),
+            retryCount = retries.load(),
+            errorCounts = DeezerErrorCode.entries
+                .associateWith { errors.loadAt(it.ordinal) }
+                .filterValues { it > 0 },
+            otherErrorCount = otherErrors.load(),
+            cacheOutcomes = DeezerCacheOutcome.entries
+                .associateWith { cacheOutcomes.loadAt(it.ordinal) }
+                .filterValues { it > 0 },
+            latency = latency.snapshot(),
+            decode = decode.snapshot(),
+        )
+    }
+
+    /** Defaults of [DeezerInMemoryMetrics] */
+    companion object {
+        /** Name of the route that aggregates the templates beyond [MAX_ROUTES] */
+        const val OTHER_ROUTE = "{other}"
+
+        /** Max number of route templates with their own counters */
+        const val MAX_ROUTES = 256
+    }
+}
+
+/**
+ * Snapshot of the counters of a route template in [DeezerInMemoryMetrics].
+ *
+ * @property route The route template, like `album/{id}`
+ * @property requestCount Number of calls, with and without response
+ * @property failureCount Number of calls without response (timeouts, connection errors)
+ * @property responseBytes Sum of the sizes of the bodies
+ * @property retryCount Number of retries
+ * @property errorCounts Number of errors of Deezer by code, only the codes seen
+ * @property otherErrorCount Number of errors of Deezer with an unknown code or a boolean body
+ * @property cacheOutcomes Number of lookups of [DeezerCachePlugin] by outcome, only the outcomes seen
+ * @property latency Histogram of the latency of the calls
+ * @property decode Histogram of the time to decode the bodies
+ */
+@DeezerApiPoko
+class DeezerRouteStats(
+    val route: String,
+    val requestCount: Long,
+    val failureCount: Long,
+    val responseBytes: Long,
+    val retryCount: Long,
+    val errorCounts: Map<DeezerErrorCode, Long>,
+    val otherErrorCount: Long,
+    val cacheOutcomes: Map<DeezerCacheOutcome, Long>,
+    val latency: DeezerHistogram,
+    val decode: DeezerHistogram,
+)
+
+/**
+ * Snapshot of a histogram of durations of [DeezerInMemoryMetrics], the values are in microseconds.
+ *
+ * Values below 16 are exact, the others are grouped in 16 buckets by power of two (precision of about 6%).
+ * A percentile is the highest value of its bucket.
+ */
+class DeezerHistogram internal constructor(
+    private val counts: LongArray,
+    /** Sum of all recorded values */
+    val totalMicros: Long,
+    /** Highest recorded value */
+    val maxMicros: Long,
+) {
+    /** Number of recorded values */
+    val count: Long = counts.sum()
+
+    /** Mean of the recorded values, `0.0` if empty */
+    val meanMicros: Double get() = if (count == 0L) 0.0 else totalMicros.toDouble() / count
+
+    /**
+     * The value below which the [percentile] of the values fall, `0` if empty.
+     * @param percentile Between 0 and 100, like `99.0`
+     */
+    fun percentileMicros(percentile: Double): Long {
+        require(percentile in 0.0..100.0) { "percentile must be between 0 and 100" }
+        if (count == 0L) return 0
+        val rank = ceil(percentile / 100 * count).toLong().coerceAtLeast(1)
+        var seen = 0L
+        for (bucket in counts.indices) {
+            seen += counts[bucket]
+            if (seen >= rank) return minOf(highestValueOf(bucket), maxMicros)
+        }
+        return maxMicros
+    }
+
+    override fun toString(): String =
+        "DeezerHistogram(count=$count, meanMicros=$meanMicros, p50=${percentileMicros(50.0)}, " +
+            "p99=${percentileMicros(99.0)}, maxMicros=$maxMicros)"
+
+    internal companion object {
+        private const val SUB_BUCKET_BITS = 4
+        private const val SUB_BUCKETS = 1 shl SUB_BUCKET_BITS
+
+        /** Highest power of two recorded, 2^36 microseconds are about 19 hours */
+        private const val MAX_EXPONENT = 35
+        const val MAX_VALUE = (1L shl (MAX_EXPONENT + 1)) - 1
+        const val BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS
+
+        /** Bucket of a [value]: the exponent of its highest bit and the next [SUB_BUCKET_BITS] bits */
+        fun bucketOf(value: Long): Int {
+            if (value < SUB_BUCKETS) return value.toInt()
+            val exponent = 63 - value.countLeadingZeroBits()
+            val mantissa = (value shr (exponent - SUB_BUCKET_BITS)).toInt() and (SUB_BUCKETS - 1)
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa
+        }
+
+        fun highestValueOf(bucket: Int): Long {
+            if (bucket < SUB_BUCKETS) return bucket.toLong()
+            val exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1
+            val mantissa = bucket % SUB_BUCKETS
+            val shift = exponent - SUB_BUCKET_BITS
+            return ((SUB_BUCKETS + mantissa + 1).toLong() shl shift) - 1
+        }
+    }
+}
+
+/** Lock-free histogram of [DeezerHistogram], recording nanoseconds as microseconds */
+@OptIn(ExperimentalAtomicApi::class)
+internal class AtomicHistogram {
+    private val counts = AtomicLongArray(DeezerHistogram.BUCKETS)
+    private val total = AtomicLong(0)
+    private val max = AtomicLong(0)
+
+    fun record(nanos: Long) {
+        val micros = (nanos / NANOS_PER_MICRO).coerceIn(0, DeezerHistogram.MAX_VALUE)
+        counts.incrementAndFetchAt(DeezerHistogram.bucketOf(micros))
+        total.addAndFetch(micros)
+        var current = max.load()
+        while (micros > current && !max.compareAndSet(current, micros)) current = max.load()
+    }
+
+    fun snapshot() = DeezerHistogram(LongArray(DeezerHistogram.BUCKETS) { counts.loadAt(it) }, total.load(), max.load())
+
+    private companion object {
+        const val NANOS_PER_MICRO = 1_000
+    }
+}
@@ -0,0 +1,61 @@
+@file:JvmName("-DeezerJsonConverter")
+
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import io.ktor.http.*
+import io.ktor.http.content.OutgoingContent
+import io.ktor.serialization.Configuration
+import io.ktor.serialization.ContentConverter
+import io.ktor.serialization.kotlinx.KotlinxSerializationConverter
+import io.ktor.util.reflect.TypeInfo
+import io.ktor.utils.io.ByteReadChannel
+import io.ktor.utils.io.charsets.Charset
+import io.ktor.utils.io.core.readText
+import io.ktor.utils.io.readRemaining
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.serializer
+import kotlin.jvm.JvmName
+
+/**
+ * Register the JSON converter of the Deezer models in the `ContentNegotiation` plugin,
+ * interning the repeated strings of the responses in the [stringPool].
+ *
+ * Usage:
+ * ```kotlin
+ * HttpClient {
+ *   install(ContentNegotiation) { deezerJson(DeezerStringPool()) }
+ *   install(DeezerClientPlugin)
+ * }
+ * ```
+ * @param stringPool Pool to deduplicate the strings of the decoded models
+ * @param json Format of the bodies. Default [getDefaultJson]
+ * @param contentType Content type to handle. Default [ContentType.Application.Json]
+ * @see DeezerStringPool
+ */
+fun Configuration.deezerJson(
+    stringPool: DeezerStringPool,
+    json: Json = getDefaultJson(),
+    contentType: ContentType = ContentType.Application.Json,
+) {
+    register(contentType, DeezerJsonConverter(json, stringPool))
+}
+
+/** Same as the kotlinx converter of Ktor, decoding with the deserializers wrapped by [DeezerStringPool.interning] */
+internal class DeezerJsonConverter(private val json: Json, private val stringPool: DeezerStringPool) : ContentConverter {
+    private val delegate = KotlinxSerializationConverter(json)
+
+    override suspend fun serialize(
+        contentType: ContentType,
+        charset: Charset,
+        typeInfo: TypeInfo,
+        value: Any?,
+    ): OutgoingContent? = delegate.serialize(contentType, charset, typeInfo, value)
+
+    override suspend fun deserialize(charset: Charset, typeInfo: TypeInfo, content: ByteReadChannel): Any? {
+        // Without the full type (generics) the lookup of the serializer is left to Ktor
+        val type = typeInfo.kotlinType ?: return delegate.deserialize(charset, typeInfo, content)
+        val deserializer = stringPool.interning(json.serializersModule.serializer(type))
+        return json.decodeFromString(deserializer, content.readRemaining().readText(charset))
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.api.objects.*
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlin.time.Duration
+
+/**
+ * [DeezerDataLoader] by ID of each resource of the [client], all sharing the same `maxConcurrency`
+ * because the quota of the API is shared too.
+ *
+ * The loaders are created on the first access.
+ *
+ * Usage:
+ * ```kotlin
+ * val loaders = DeezerLoaders(client, scope)
+ * val album = loaders.albums.load(302127)
+ * val result = loaders.tracks.loadMany(trackIds)
+ * ```
+ *
+ * @param client The client to request
+ * @param scope Where the requests are executed, cancel it to stop the loaders
+ * @param window Time to gather the ids before sending the requests. Default 10 milliseconds
+ * @param maxConcurrency Max requests at the same time of all loaders. Default 8
+ * @param cacheSize Max successful results kept by each loader, `0` to disable. Default 10 000
+ */
+class DeezerLoaders(
+    private val client: DeezerApiClient,
+    private val scope: CoroutineScope,
+    val window: Duration = DeezerDataLoader.DEFAULT_WINDOW,
+    val maxConcurrency: Int = DeezerDataLoader.DEFAULT_MAX_CONCURRENCY,
+    val cacheSize: Int = DeezerDataLoader.DEFAULT_CACHE_SIZE,
+) {
+    private val semaphore = Semaphore(maxConcurrency)
+
+    /** Loader of [Album] by ID */
+    val albums: DeezerDataLoader<Long, Album> by lazy { loader { client.albums.getById(it) } }
+
+    /** Loader of [Artist] by ID */
+    val artists: DeezerDataLoader<Long, Artist> by lazy { loader { client.artists.getById(it) } }
+
+    /** Loader of [Chart] by ID */
+    val charts: DeezerDataLoader<Long, Chart> by lazy { loader { client.charts.getById(it) } }
+
+    /** Loader of [Editorial] by ID */
+    val editorials: DeezerDataLoader<Long, Editorial> by lazy { loader { client.editorials.getById(it) } }
+
+    /** Loader of [Episode] by ID */
+    val episodes: DeezerDataLoader<Long, Episode> by lazy { loader { client.episodes.getById(it) } }
+
+    /** Loader of [Genre] by ID */
+    val genres: DeezerDataLoader<Long, Genre> by lazy { loader { client.genres.getById(it) } }
+
+    /** Loader of [Playlist] by ID */
+    val playlists: DeezerDataLoader<Long, Playlist> by lazy { loader { client.playlists.getById(it) } }
+
+    /** Loader of [Podcast] by ID */
+    val podcasts: DeezerDataLoader<Long, Podcast> by lazy { loader { client.podcasts.getById(it) } }
+
+    /** Loader of [Radio] by ID */
+    val radios: DeezerDataLoader<Long, Radio> by lazy { loader { client.radios.getById(it) } }
+
+    /** Loader of [Track] by ID */
+    val tracks: DeezerDataLoader<Long, Track> by lazy { loader { client.tracks.getById(it) } }
+
+    /** Loader of [User] by ID */
+    val users: DeezerDataLoader<Long, User> by lazy { loader { client.users.getById(it) } }
+
+    private fun <V : Any> loader(fetch: suspend (Long) -> V) =
+        DeezerDataLoader(scope, window, semaphore, cacheSize, fetch)
+}
@@ -0,0 +1,60 @@
+@file:JvmName("-DeezerMetrics")
+
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import io.ktor.util.AttributeKey
+import kotlin.jvm.JvmName
+
+/**
+ * Receiver of the measures of [DeezerClientPlugin], by logical route template (`album/{id}`, `search/track`, ...)
+ * instead of the raw url, see [DeezerPluginConfig.metrics].
+ *
+ * The callbacks are invoked in the coroutine of the call, keep them fast and non-blocking.
+ * Implement this interface to adapt the measures to another registry (Micrometer, OpenTelemetry, ...),
+ * [DeezerInMemoryMetrics] is the default implementation without dependencies.
+ *
+ * Durations are in nanoseconds.
+ * @see DeezerInMemoryMetrics
+ */
+interface DeezerMetrics {
+    /**
+     * A call of the [route] responded with the HTTP [status] after [latencyNanos], as seen by the caller:
+     * including the wait of the rate limiter and the responses of the cache.
+     * @param bytes Size of the body, `-1` if the body is streamed to its reader
+     */
+    fun onResponse(route: String, status: Int, latencyNanos: Long, bytes: Long)
+
+    /** A call of the [route] failed without a response after [latencyNanos], like a timeout or a connection error */
+    fun onFailure(route: String, latencyNanos: Long, cause: Throwable)
+
+    /**
+     * The [route] responded an error of Deezer (in a 200 OK).
+     * @param errorCode The code of the error, `null` if the code is unknown or the body was a boolean
+     */
+    fun onDeezerError(route: String, errorCode: DeezerErrorCode?)
+
+    /** A body of the [route] was decoded to its model in [durationNanos] */
+    fun onDecode(route: String, durationNanos: Long)
+
+    /** A call of the [route] is retried, [attempt] starts at 1 for the first retry */
+    fun onRetry(route: String, attempt: Int)
+
+    /** The [DeezerCachePlugin] looked up a response of the [route] */
+    fun onCacheOutcome(route: String, outcome: DeezerCacheOutcome)
+}
+
+/** Result of the lookup of a response in [DeezerCachePlugin], see [DeezerMetrics.onCacheOutcome] */
+enum class DeezerCacheOutcome {
+    /** Answered from [DeezerCacheConfig.storage] */
+    HIT,
+
+    /** Answered from [DeezerCacheConfig.persistentStorage] after a memory miss */
+    PERSISTENT_HIT,
+
+    /** Not found or expired in both tiers, the request was sent */
+    MISS,
+}
+
+/** The [DeezerMetrics] of the client, set on each request to a Deezer host so other plugins can report to it */
+internal val DeezerMetricsAttribute = AttributeKey<DeezerMetrics>("DeezerMetrics")
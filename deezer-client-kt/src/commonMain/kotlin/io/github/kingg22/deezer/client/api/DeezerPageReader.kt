@@ -0,0 +1,239 @@
+@file:JvmName("-DeezerPageReader")
+
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.api.objects.ErrorContainer
+import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import io.ktor.client.*
+import io.ktor.client.request.*
+import io.ktor.client.statement.*
+import io.ktor.http.*
+import io.ktor.util.AttributeKey
+import io.ktor.utils.io.ByteReadChannel
+import io.ktor.utils.io.readAvailable
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.contentOrNull
+import kotlinx.serialization.json.intOrNull
+import kotlinx.serialization.json.jsonPrimitive
+import kotlin.jvm.JvmName
+
+/**
+ * Mark of a request whose body is read as it arrives by [DeezerPageReader],
+ * the plugins don't read it ahead (sniff, cache or share), the reader validates the errors itself.
+ */
+internal val DeezerStreamingBody = AttributeKey<Unit>("DeezerStreamingBody")
+
+/**
+ * Request the page of the [url] and decode the items of its `data` while the body arrives, see [DeezerPageReader].
+ * @return The page without its data, with the total and the links
+ */
+internal suspend fun <T> HttpClient.streamPage(
+    url: Url,
+    itemSerializer: KSerializer<T>,
+    json: Json = getDefaultJson(),
+    onItem: suspend (T) -> Unit,
+): PaginatedResponse<Nothing> = prepareGet(url) { attributes.put(DeezerStreamingBody, Unit) }.execute { response ->
+    DeezerPageReader(response.bodyAsChannel(), json).read(itemSerializer, onItem)
+}
+
+/**
+ * Incremental reader of a page body (`{"data":[...],"total":10,"next":"..."}`) from a [ByteReadChannel].
+ *
+ * The items of `data` are cut one by one at the byte level, aware of the strings and nesting,
+ * and each one is decoded with the [json] before reading the next. The memory holds one item at a time
+ * instead of the whole body and its String copy. The other top-level values are small and parsed at the end.
+ *
+ * An error body (`{"error":{...}}`) or a boolean body (`true`, `false`) is thrown as [DeezerApiException],
+ * like [DeezerClientPlugin] does for the bodies it reads ahead.
+ */
+internal class DeezerPageReader(private val channel: ByteReadChannel, private val json: Json) {
+    private val chunk = ByteArray(CHUNK_SIZE)
+    private var position = 0
+    private var limit = 0
+
+    // Bytes of the current value, reused between the items
+    private var value = ByteArray(CHUNK_SIZE)
+    private var valueSize = 0
+
+    /**
+     * Read the whole body, calling [onItem] for each item of `data` in order.
+     * @return The page without its data, with the total and the links
+     * @throws DeezerApiException If the body is an error or a boolean
+     * @throws SerializationException If the body isn't a JSON object
+     */
+    suspend fun <T> read(itemSerializer: KSerializer<T>, onItem: suspend (T) -> Unit): PaginatedResponse<Nothing> {
+        var checksum: String? = null
+        var total: Int? = null
+        var prev: String? = null
+        var next: String? = null
+
+        val first = nextNonWhitespace()
+        if (first == 't'.code || first == 'f'.code) {
+            val literal = readValue(first)
+            if (literal == "true" || literal == "false") {
+                throw DeezerApiException(errorMessage = "API responded with boolean: $literal")
+            }
+        }
+        if (first != '{'.code) unexpected(first, '{')
+        var separator = nextNonWhitespace()
+        while (separator != '}'.code) {
+            if (separator != '"'.code) unexpected(separator)
+            val key = readKey()
+            expect(':')
+            when (key) {
+                "data" -> readItems(itemSerializer, onItem)
+
+                "error" -> {
+                    val error = readValue()
+                    if (error != "null") {
+                        val detail = json.decodeFromString(ErrorContainer.ErrorDetail.serializer(), error)
+                        throw DeezerApiException(errorCode = detail.code, errorMessage = detail.message)
+                    }
+                }
+
+                "checksum" -> checksum = readValue().let(json::parseToJsonElement).jsonPrimitive.contentOrNull
+
+                "total" -> total = readValue().let(json::parseToJsonElement).jsonPrimitive.intOrNull
+
+                "prev" -> prev = readValue().let(json::parseToJsonElement).jsonPrimitive.contentOrNull
+
+                "next" -> next = readValue().let(json::parseToJsonElement).jsonPrimitive.contentOrNull
+
+                else -> readValue()
+            }
+            separator = nextNonWhitespace()
+            if (separator == ','.code) separator = nextNonWhitespace()
+        }
+        return PaginatedResponse(emptyList(), checksum, total, prev, next)
+    }
+
+    /* -- Implementation Zone -- */
+
+    private suspend fun <T> readItems(itemSerializer: KSerializer<T>, onItem: suspend (T) -> Unit) {
+        expect('[')
+        var byte = nextNonWhitespace()
+        while (byte != ']'.code) {
+            if (byte == ','.code) byte = nextNonWhitespace()
+            onItem(json.decodeFromString(itemSerializer, readValue(byte)))
+            byte = nextNonWhitespace()
+        }
+    }
+
+    /** Read a key, the opening quote is consumed. Keys of a page don't have escapes */
+    private suspend fun readKey(): String {
+        valueSize = 0
+        var byte = nextRequiredByte()
+        while (byte != '"'.code) {
+            append(byte)
+            byte = nextRequiredByte()
+        }
+        return value.decodeToString(0, valueSize)
+    }
+
+    /** Read the next value as text, [first] is its first byte when already consumed */
+    private suspend fun readValue(first: Int = nextNonWhitespace()): String {
+        valueSize = 0
+        when (first) {
+            '{'.code, '['.code -> readNested(first)
+
+            '"'.code -> {
+                append(first)
+                readString()
+            }
+
+            // Number, boolean or null: until the next separator, kept for the caller
+            else -> {
+                var byte = first
+                while (!isScalarEnd(byte)) {
+                    append(byte)
+                    byte = nextByte()
+                }
+                if (byte != END) position--
+            }
+        }
+        return value.decodeToString(0, valueSize)
+    }
+
+    private suspend fun readNested(first: Int) {
+        var depth = 0
+        var byte = first
+        while (true) {
+            append(byte)
+            when (byte) {
+                '{'.code, '['.code -> depth++
+
+                '}'.code, ']'.code -> if (--depth == 0) return
+
+                '"'.code -> readString()
+            }
+            byte = nextRequiredByte()
+        }
+    }
+
+    /** Append a string until its closing quote, the opening quote is already appended */
+    private suspend fun readString() {
+        while (true) {
+            val byte = nextRequiredByte()
+            append(byte)
+            when (byte) {
+                '\\'.code -> append(nextRequiredByte())
+                '"'.code -> return
+            }
+        }
+    }
+
+    private fun append(byte: Int) {
+        if (valueSize == value.size) value = value.copyOf(value.size * 2)
+        value[valueSize++] = byte.toByte()
+    }
+
+    private suspend fun expect(char: Char) {
+        val byte = nextNonWhitespace()
+        if (byte != char.code) unexpected(byte, char)
+    }
+
+    private fun unexpected(byte: Int, expected: Char? = null): Nothing = throw SerializationException(
+        buildString {
+            append("Unexpected ")
+            append(if (byte == END) "end of the page" else "'${byte.toChar()}'")
+            if (expected != null) append(", expected '$expected'")
+        },
+    )
+
+    private suspend fun nextNonWhitespace(): Int {
+        var byte = nextByte()
+        while (isWhitespace(byte)) byte = nextByte()
+        return byte
+    }
+
+    /** Next byte of a value not finished yet */
+    private suspend fun nextRequiredByte(): Int = nextByte().also { if (it == END) unexpected(it) }
+
+    /** Next byte of the body, [END] after the last */
+    private suspend fun nextByte(): Int {
+        if (position == limit) {
+            limit = channel.readAvailable(chunk, 0, chunk.size)
+            position = 0
+            if (limit <= 0) {
+                limit = 0
+                return END
+            }
+        }
+        return chunk[position++].toInt() and 0xFF
+    }
+
+    private fun isScalarEnd(byte: Int) =
+        byte == ','.code || byte == '}'.code || byte == ']'.code || byte == END || isWhitespace(byte)
+
+    private fun isWhitespace(byte: Int) =
+        byte == ' '.code || byte == '\n'.code || byte == '\r'.code || byte == '\t'.code
+
+    private companion object {
+        const val CHUNK_SIZE = 8 * 1024
+        const val END = -1
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.kingg22.deezer.client.api
+
+/**
+ * Storage of raw JSON bodies of [Deezer API](https://developers.deezer.com/api/) that survive restarts,
+ * the tier beneath the in-memory [DeezerResponseCache].
+ *
+ * The staleness is decided by [DeezerCachePlugin] with the [route rules][DeezerCacheConfig.routeTtl]
+ * and the [fetch timestamp][DeezerPersistedBody.fetchedAtMillis] of each entry.
+ *
+ * Implementations must be safe to call concurrently.
+ * @see DeezerCacheConfig.persistentStorage
+ */
+interface DeezerPersistentCache {
+    /** Read the body stored with the [key] or `null` if absent */
+    suspend fun read(key: String): DeezerPersistedBody?
+
+    /** Store the [body] of the [key] fetched at [fetchedAtMillis] (epoch milliseconds), replacing the previous one */
+    suspend fun write(key: String, body: ByteArray, fetchedAtMillis: Long)
+}
+
+/**
+ * A raw body read from a [DeezerPersistentCache].
+ *
+ * @property body The raw JSON body
+ * @property fetchedAtMillis When the body was fetched from the API, epoch milliseconds
+ */
+class DeezerPersistedBody(val body: ByteArray, val fetchedAtMillis: Long)
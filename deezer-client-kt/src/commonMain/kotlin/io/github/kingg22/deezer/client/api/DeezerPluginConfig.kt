@@ -3,6 +3,7 @@
 import io.github.kingg22.deezer.client.utils.DeezerApiPoko
 import io.ktor.http.Url
 import io.ktor.utils.io.KtorDsl
+import kotlin.jvm.JvmOverloads
 
 /** Configurations for [DeezerClientPlugin] */
 @KtorDsl
@@ -24,4 +25,64 @@ class DeezerPluginConfig(
      * Default `false`
      */
     var includeDefaultHeaders: Boolean = false,
-)
+
+    /**
+     * Token bucket to limit the requests sent to the [allowedHosts], callers suspend until their turn.
+     * Quota errors of the API shrink its rate temporarily. Default `null` (no limit).
+     *
+     * Cached responses don't consume tokens, the limiter is applied just before the request is sent.
+     * @see DeezerRateLimiter
+     */
+    var rateLimiter: DeezerRateLimiter? = null,
+
+    /**
+     * Adaptive limit of the requests in flight to the [allowedHosts], raised while the latency is flat and cut
+     * when it rises or Deezer is overloaded, callers suspend in FIFO order. Default `null` (no limit).
+     *
+     * Like the [rateLimiter], cached responses don't take a slot.
+     * @see DeezerConcurrencyLimiter
+     */
+    var concurrencyLimiter: DeezerConcurrencyLimiter? = null,
+
+    /**
+     * Whether the concurrent GET requests of the same url share one in-flight call, each caller decodes the same body.
+     * A cancelled caller doesn't cancel the call of the others. Default `false`
+     */
+    var coalesceRequests: Boolean = false,
+
+    /**
+     * Retry of the transient errors of Deezer (quota, service busy) with jittered backoff and a budget of retries.
+     * Default `null` (no retry of the errors of Deezer, `HttpRequestRetry` only sees HTTP statuses).
+     * @see DeezerRetryPolicy
+     */
+    var retryPolicy: DeezerRetryPolicy? = null,
+
+    /**
+     * Hedging of the GET requests slower than the usual latency of their route, the first response wins,
+     * with a budget of hedges. Default `null` (no hedge).
+     * @see DeezerHedgePolicy
+     */
+    var hedgePolicy: DeezerHedgePolicy? = null,
+
+    /**
+     * Receiver of the measures of each call to the [allowedHosts] by route template: latency, bytes, decode time,
+     * errors of Deezer, retries and outcomes of [DeezerCachePlugin]. Default `null` (no measures).
+     * @see DeezerInMemoryMetrics
+     */
+    var metrics: DeezerMetrics? = null,
+
+    /**
+     * Circuit breakers by host of [allowedHosts], while open the requests to the host fail fast. Default empty.
+     * @see circuitBreaker
+     */
+    val circuitBreakers: MutableMap<String, DeezerCircuitBreaker> = mutableMapOf(),
+) {
+    /** Set the circuit [breaker] of the [host], by default the host of [DeezerApiClient.API_DEEZER_URL] */
+    @JvmOverloads
+    fun circuitBreaker(
+        breaker: DeezerCircuitBreaker = DeezerCircuitBreaker(),
+        host: String = Url(DeezerApiClient.API_DEEZER_URL).host,
+    ) {
+        circuitBreakers[host] = breaker
+    }
+}
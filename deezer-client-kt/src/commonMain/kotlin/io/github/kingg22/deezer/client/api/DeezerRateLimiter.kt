@@ -0,0 +1,104 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlin.concurrent.Volatile
+import kotlin.jvm.JvmOverloads
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+import kotlin.time.DurationUnit
+import kotlin.time.TimeSource
+
+/**
+ * Client-side token bucket to stay below the quota of [Deezer API](https://developers.deezer.com/api/)
+ * (about 50 requests each 5 seconds), used by [DeezerClientPlugin].
+ *
+ * The bucket holds up to [permits] tokens and refills them evenly along the [period].
+ * A request without a token available suspends until its turn, callers are served in arrival order.
+ *
+ * When the API still answers a quota error (code 4), the rate is halved and the bucket drained,
+ * after each [period] without quota errors the rate recovers a quarter of the configured one.
+ *
+ * Share the same instance between clients that use the same quota (IP address).
+ *
+ * @param permits Requests allowed in each [period], also the max burst. Default 50
+ * @param period Window of the [permits]. Default 5 seconds
+ * @param timeSource Source of time to refill the tokens. Default [TimeSource.Monotonic]
+ * @see DeezerPluginConfig.rateLimiter
+ */
+class DeezerRateLimiter @JvmOverloads constructor(
+    val permits: Int = DEFAULT_PERMITS,
+    val period: Duration = DEFAULT_PERIOD,
+    timeSource: TimeSource.WithComparableMarks = TimeSource.Monotonic,
+) {
+    private val mutex = Mutex()
+    private val origin = timeSource.markNow()
+    private val baseRate = permits / period.toDouble(DurationUnit.SECONDS)
+    private val minRate = baseRate / MAX_SHRINK
+
+    // Virtual scheduling of the bucket: the time (since origin) the bucket would be empty of all reserved tokens
+    private var theoreticalArrival = Duration.ZERO
+    private var recoverAt = Duration.ZERO
+
+    @Volatile
+    private var rate = baseRate
+
+    init {
+        require(permits > 0) { "permits must be greater than 0" }
+        require(period.isPositive() && period.isFinite()) { "period must be positive" }
+    }
+
+    /** The current rate in requests per second, lower than configured after a quota error */
+    val currentRate: Double get() = rate
+
+    /** Suspend until a token is available and take it */
+    suspend fun acquire() {
+        val wait = mutex.withLock {
+            val now = origin.elapsedNow()
+            recover(now)
+            val interval = interval()
+            val start = maxOf(theoreticalArrival, now)
+            theoreticalArrival = start + interval
+            // A full bucket allows to start [permits] requests at once
+            start - interval * (burst() - 1) - now
+        }
+        if (wait.isPositive()) delay(wait)
+    }
+
+    /** Shrink the rate after a quota error of the API and drain the bucket */
+    internal suspend fun onQuotaExceeded() {
+        mutex.withLock {
+            val now = origin.elapsedNow()
+            rate = maxOf(rate / 2, minRate)
+            recoverAt = now + period
+            // Next token in a full interval
+            theoreticalArrival = maxOf(theoreticalArrival, now + interval() * burst())
+        }
+    }
+
+    /* -- Implementation Zone -- */
+
+    private fun interval() = (1 / rate).seconds
+
+    /** Capacity of the bucket at the current rate, at least one token */
+    private fun burst() = (permits * rate / baseRate).toInt().coerceAtLeast(1)
+
+    private fun recover(now: Duration) {
+        if (rate >= baseRate || now < recoverAt) return
+        rate = minOf(rate + baseRate / RECOVERY_STEPS, baseRate)
+        recoverAt = now + period
+    }
+
+    /** Defaults of [DeezerRateLimiter] */
+    companion object {
+        /** Default [permits], requests allowed by Deezer in [DEFAULT_PERIOD] */
+        const val DEFAULT_PERMITS = 50
+
+        /** Default [period] */
+        val DEFAULT_PERIOD = 5.seconds
+
+        private const val MAX_SHRINK = 8
+        private const val RECOVERY_STEPS = 4
+    }
+}
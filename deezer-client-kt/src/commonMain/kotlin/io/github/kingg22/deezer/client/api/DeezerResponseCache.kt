@@ -0,0 +1,198 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import io.github.kingg22.deezer.client.utils.FrequencySketch
+import io.ktor.http.Headers
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlin.concurrent.Volatile
+import kotlin.concurrent.atomics.AtomicLong
+import kotlin.concurrent.atomics.ExperimentalAtomicApi
+import kotlin.jvm.JvmOverloads
+import kotlin.time.ComparableTimeMark
+import kotlin.time.Duration
+import kotlin.time.TimeSource
+
+/**
+ * In-memory storage of [Deezer API](https://developers.deezer.com/api/) responses used by [DeezerCachePlugin].
+ *
+ * Enforce a total byte budget with a W-TinyLFU policy: new entries enter a small LRU window (1% of the budget),
+ * entries leaving the window are admitted in the main LRU region only if they are more popular
+ * than the entry to evict. A burst of one-time requests (like search) can't flush the popular albums and artists.
+ *
+ * Share the same instance between clients to share the cache.
+ *
+ * @param maxBytes Total budget of bytes of the bodies and keys. Default 16 MiB
+ * @param timeSource Source of time to expire entries. Default [TimeSource.Monotonic]
+ * @see DeezerCachePlugin
+ * @see DeezerCacheStats
+ */
+@OptIn(ExperimentalAtomicApi::class)
+class DeezerResponseCache @JvmOverloads constructor(
+    val maxBytes: Long = DEFAULT_MAX_BYTES,
+    private val timeSource: TimeSource.WithComparableMarks = TimeSource.Monotonic,
+) {
+    private val mutex = Mutex()
+    private val sketch = FrequencySketch((maxBytes / AVERAGE_ENTRY_BYTES).coerceIn(MIN_ENTRIES, MAX_ENTRIES).toInt())
+    private val windowMaxBytes = (maxBytes / WINDOW_RATIO).coerceAtLeast(1)
+    private val mainMaxBytes = maxBytes - windowMaxBytes
+
+    // LinkedHashMap keeps the insertion order, an entry is reinserted when accessed to be the most recent
+    private val window = LinkedHashMap<String, CachedResponse>()
+    private val main = LinkedHashMap<String, CachedResponse>()
+    private var windowBytes = 0L
+    private var mainBytes = 0L
+
+    // Read by stats without the mutex
+    private val hits = AtomicLong(0)
+    private val misses = AtomicLong(0)
+    private val evictions = AtomicLong(0)
+
+    @Volatile
+    private var entryCount = 0
+
+    @Volatile
+    private var sizeBytes = 0L
+
+    init {
+        require(maxBytes > 0) { "maxBytes must be greater than 0" }
+    }
+
+    /** A snapshot of the counters of this cache */
+    val stats: DeezerCacheStats
+        get() = DeezerCacheStats(
+            hitCount = hits.load(),
+            missCount = misses.load(),
+            evictionCount = evictions.load(),
+            entryCount = entryCount,
+            sizeBytes = sizeBytes,
+        )
+
+    /** Remove all entries, the counters are kept */
+    suspend fun clear() {
+        mutex.withLock {
+            window.clear()
+            main.clear()
+            windowBytes = 0
+            mainBytes = 0
+            publishSize()
+        }
+    }
+
+    /** Remove the entry of the [key] if present */
+    internal suspend fun invalidate(key: String) {
+        mutex.withLock {
+            window.remove(key)?.let { windowBytes -= it.size }
+            main.remove(key)?.let { mainBytes -= it.size }
+            publishSize()
+        }
+    }
+
+    /** Retrieve a fresh entry of the [key] or `null` on miss */
+    internal suspend fun get(key: String): CachedResponse? = mutex.withLock {
+        sketch.increment(key.hashCode())
+        val region = when (key) {
+            in window -> window
+            in main -> main
+            else -> {
+                misses.incrementAndFetch()
+                return@withLock null
+            }
+        }
+        val entry = region.remove(key)!!
+        if (entry.expiresAt.hasPassedNow()) {
+            if (region === window) windowBytes -= entry.size else mainBytes -= entry.size
+            misses.incrementAndFetch()
+            publishSize()
+            return@withLock null
+        }
+        region[key] = entry
+        hits.incrementAndFetch()
+        entry
+    }
+
+    /** Store a [body] with the [headers] of the response, valid during [ttl] */
+    internal suspend fun put(key: String, body: ByteArray, headers: Headers, ttl: Duration) {
+        if (!ttl.isPositive()) return
+        val entry = CachedResponse(body, headers, timeSource.markNow() + ttl, key.length + body.size.toLong())
+        if (entry.size > mainMaxBytes) return
+        mutex.withLock {
+            window.remove(key)?.let { windowBytes -= it.size }
+            main.remove(key)?.let { mainBytes -= it.size }
+            window[key] = entry
+            windowBytes += entry.size
+            while (windowBytes > windowMaxBytes) {
+                val candidateKey = window.keys.first()
+                val candidate = window.remove(candidateKey)!!
+                windowBytes -= candidate.size
+                admit(candidateKey, candidate)
+            }
+            publishSize()
+        }
+    }
+
+    /** Move the [candidate] leaving the window to the main region if it wins against the victims */
+    private fun admit(candidateKey: String, candidate: CachedResponse) {
+        val candidateFrequency = sketch.frequency(candidateKey.hashCode())
+        while (mainBytes + candidate.size > mainMaxBytes) {
+            val victimKey = main.keys.first()
+            val victim = main.getValue(victimKey)
+            evictions.incrementAndFetch()
+            if (!victim.expiresAt.hasPassedNow() && sketch.frequency(victimKey.hashCode()) >= candidateFrequency) {
+                // The candidate is rejected, the victim is more popular
+                return
+            }
+            main.remove(victimKey)
+            mainBytes -= victim.size
+        }
+        main[candidateKey] = candidate
+        mainBytes += candidate.size
+    }
+
+    /** Copy the size of the regions for [stats], called with the mutex held */
+    private fun publishSize() {
+        entryCount = window.size + main.size
+        sizeBytes = windowBytes + mainBytes
+    }
+
+    /** Default values of [DeezerResponseCache] */
+    companion object {
+        /** Default budget of [maxBytes], 16 MiB */
+        const val DEFAULT_MAX_BYTES = 16L * 1024 * 1024
+
+        private const val WINDOW_RATIO = 100
+        private const val AVERAGE_ENTRY_BYTES = 8 * 1024
+        private const val MIN_ENTRIES = 64L
+        private const val MAX_ENTRIES = 1L shl 20
+    }
+}
+
+/** A body stored in [DeezerResponseCache] */
+internal class CachedResponse(
+    val body: ByteArray,
+    val headers: Headers,
+    val expiresAt: ComparableTimeMark,
+    val size: Long,
+)
+
+/**
+ * Snapshot of the counters of a [DeezerResponseCache].
+ *
+ * @property hitCount Number of requests answered from the cache
+ * @property missCount Number of requests not found or expired in the cache
+ * @property evictionCount Number of entries evicted or rejected by the byte budget
+ * @property entryCount Number of entries stored
+ * @property sizeBytes Bytes used of the budget
+ */
+@DeezerApiPoko
+class DeezerCacheStats(
+    val hitCount: Long,
+    val missCount: Long,
+    val evictionCount: Long,
+    val entryCount: Int,
+    val sizeBytes: Long,
+) {
+    /** Ratio of hits over all requests, `0.0` if there wasn't any request */
+    val hitRate: Double
+        get() = if (hitCount + missCount == 0L) 0.0 else hitCount.toDouble() / (hitCount + missCount)
+}
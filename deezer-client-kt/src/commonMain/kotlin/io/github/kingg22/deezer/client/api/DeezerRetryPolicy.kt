@@ -0,0 +1,90 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import kotlin.jvm.JvmField
+import kotlin.jvm.JvmOverloads
+import kotlin.random.Random
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Retry of the errors of [Deezer API](https://developers.deezer.com/api/) answered in a `200 OK`,
+ * which `HttpRequestRetry` can't see, used by [DeezerClientPlugin].
+ *
+ * Only the [retryable codes][retryableCodes] are retried (by default quota and service busy), the others like
+ * data not found or invalid parameter are terminal. Each retry waits a random delay between zero and
+ * [baseDelay] doubled at each attempt, up to [maxDelay] (full jitter), so the callers don't retry in waves.
+ *
+ * A budget of [budgetRatio] retries by request, up to [budgetBurst] at once, bounds the retries. When the budget
+ * is empty the error is thrown at once. Share the same instance between clients to share the budget.
+ *
+ * @param maxRetries Max retries of a request. Default 3
+ * @param baseDelay Max delay of the first retry. Default 1 second
+ * @param maxDelay Max delay of any retry. Default 10 seconds
+ * @param budgetRatio Retries allowed by request on average. Default 0.1 (10%)
+ * @param budgetBurst Retries allowed at once, also the initial budget. Default 10
+ * @param retryableCodes Codes of the errors to retry.
+ * Default [DeezerErrorCode.QUOTA] and [DeezerErrorCode.SERVICE_BUSY]
+ * @param random Source of the jitter. Default [Random.Default]
+ * @see DeezerPluginConfig.retryPolicy
+ */
+class DeezerRetryPolicy @JvmOverloads constructor(
+    val maxRetries: Int = DEFAULT_MAX_RETRIES,
+    val baseDelay: Duration = DEFAULT_BASE_DELAY,
+    val maxDelay: Duration = DEFAULT_MAX_DELAY,
+    val budgetRatio: Double = DEFAULT_BUDGET_RATIO,
+    val budgetBurst: Int = DEFAULT_BUDGET_BURST,
+    val retryableCodes: Set<DeezerErrorCode> = DEFAULT_RETRYABLE_CODES,
+    private val random: Random = Random.Default,
+) {
+    private val tokens = DeezerTokenBudget(budgetRatio, budgetBurst)
+
+    init {
+        require(maxRetries >= 0) { "maxRetries must be greater than or equal to 0" }
+        require(baseDelay.isPositive() && baseDelay <= maxDelay) { "baseDelay must be positive and up to maxDelay" }
+    }
+
+    /** Retries available now in the budget */
+    val budget: Double get() = tokens.balance
+
+    /** Deposit the share of retries of a new request in the budget */
+    internal suspend fun onRequest() {
+        tokens.deposit()
+    }
+
+    /**
+     * Delay before the [attempt] (starts at 1) of a request that failed with the [error],
+     * taking a token of the budget. `null` if the error is terminal, the retries or the budget are exhausted.
+     */
+    internal suspend fun retryDelay(error: DeezerErrorCode?, attempt: Int): Duration? {
+        if (error == null || error !in retryableCodes || attempt > maxRetries) return null
+        if (!tokens.tryTake()) return null
+        // Full jitter: a random delay up to the exponential backoff
+        val backoff = minOf(baseDelay * (1L shl (attempt - 1).coerceAtMost(MAX_SHIFT)).toDouble(), maxDelay)
+        return backoff * random.nextDouble()
+    }
+
+    /** Defaults of [DeezerRetryPolicy] */
+    companion object {
+        /** Default [maxRetries] */
+        const val DEFAULT_MAX_RETRIES = 3
+
+        /** Default [budgetRatio] */
+        const val DEFAULT_BUDGET_RATIO = 0.1
+
+        /** Default [budgetBurst] */
+        const val DEFAULT_BUDGET_BURST = 10
+
+        /** Default [baseDelay] */
+        val DEFAULT_BASE_DELAY = 1.seconds
+
+        /** Default [maxDelay] */
+        val DEFAULT_MAX_DELAY = 10.seconds
+
+        /** Default [retryableCodes], transient errors of the API */
+        @JvmField
+        val DEFAULT_RETRYABLE_CODES: Set<DeezerErrorCode> = setOf(DeezerErrorCode.QUOTA, DeezerErrorCode.SERVICE_BUSY)
+
+        private const val MAX_SHIFT = 30
+    }
+}
@@ -0,0 +1,54 @@
+@file:JvmName("-DeezerRouteTemplate")
+
+package io.github.kingg22.deezer.client.api
+
+import io.ktor.http.Url
+import kotlin.jvm.JvmName
+
+/**
+ * Logical route template of a [Deezer API](https://developers.deezer.com/api/) url, without host or query.
+ *
+ * Example: `https://api.deezer.com/album/302127/tracks?index=25` is `album/{id}/tracks`,
+ * `https://api.deezer.com/track/isrc:GBDUW0000061` is `track/isrc:{isrc}`.
+ */
+internal fun Url.deezerRouteTemplate(): String = segments.filter { it.isNotEmpty() }.joinToString("/") { segment ->
+    when {
+        segment.all { it.isDigit() } -> "{id}"
+        segment.startsWith("isrc:") -> "isrc:{isrc}"
+        segment.startsWith("upc:") -> "upc:{upc}"
+        else -> segment
+    }
+}
+
+/**
+ * Normalized key of an url: lowercase host, path and the query parameters sorted by name and value.
+ * Two urls with the same parameters in another order have the same key.
+ */
+internal fun Url.deezerCacheKey(): String = buildString {
+    append(host.lowercase())
+    append(encodedPath)
+    parameters.names().sorted().forEachIndexed { index, name ->
+        append(if (index == 0) '?' else '&')
+        append(name)
+        append('=')
+        append(parameters.getAll(name).orEmpty().sorted().joinToString(","))
+    }
+}
+
+/**
+ * Find the value of the most specific template: first an exact match,
+ * then the longest template that is a prefix by segments (`chart` match `chart/{id}/tracks`).
+ */
+internal fun <V> Map<String, V>.findByRouteTemplate(template: String): V? {
+    get(template)?.let { return it }
+    var best: String? = null
+    for (key in keys) {
+        if (template.startsWith("$key/") && (best == null || key.length > best.length)) best = key
+    }
+    return best?.let { get(it) }
+}
+
+/** The id of a resource in the url (`302127`, `isrc:GBDUW0000061`, `upc:724384960650`), `null` if there isn't */
+internal fun Url.deezerResourceId(): String? = segments.firstOrNull { segment ->
+    segment.isNotEmpty() && segment.all { it.isDigit() } || segment.startsWith("isrc:") || segment.startsWith("upc:")
+}
@@ -0,0 +1,247 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.serialization.DeserializationStrategy
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.SealedSerializationApi
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.encoding.CompositeDecoder
+import kotlinx.serialization.encoding.Decoder
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonDecoder
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.modules.SerializersModule
+import kotlin.jvm.JvmField
+import kotlin.jvm.JvmOverloads
+
+/**
+ * Bounded pool to deduplicate the strings repeated between decoded models,
+ * like artist names, CDN urls of pictures and `type` values, so many models in memory share one instance of each.
+ *
+ * The pool is a fixed table of [maxEntries] slots, in sets of two indexed by hash (2-way set associative),
+ * a lookup reads two slots. Each slot has a hit bit set when it deduplicates a string: a new string replaces
+ * an entry not hit since it was stored, and when both were hit their bits are cleared instead (second chance),
+ * so a burst of one-time strings can't evict the popular ones. It isn't an LRU nor a weak pool, a string not
+ * stored only misses the dedup. The memory is bounded and it is thread safe without locks,
+ * a lost race only misses the dedup too.
+ *
+ * Only the properties named in [fields] (JSON names) are interned, see the presets in the companion.
+ *
+ * Usage:
+ * ```kotlin
+ * val pool = DeezerStringPool(fields = DeezerStringPool.NAME_FIELDS + DeezerStringPool.URL_FIELDS)
+ * val httpClient = HttpClient {
+ *   install(ContentNegotiation) { deezerJson(pool) }
+ *   install(DeezerClientPlugin)
+ * }
+ * // or decoding directly
+ * val track = getDefaultJson().decodeFromString(pool.interning(Track.serializer()), body)
+ * ```
+ *
+ * @param maxEntries Number of slots of the table, rounded up to a power of two (at least 2). Default 16384
+ * @property fields JSON names of the properties to intern. Default [DEFAULT_FIELDS]
+ */
+class DeezerStringPool @JvmOverloads constructor(
+    maxEntries: Int = DEFAULT_MAX_ENTRIES,
+    val fields: Set<String> = DEFAULT_FIELDS,
+) {
+    // Plain arrays: the writes of references are atomic and String is immutable, the races are benign
+    private val slots: Array<String?>
+    private val hits: BooleanArray
+    private val setMask: Int
+
+    init {
+        require(maxEntries > 0) { "maxEntries must be greater than 0" }
+        var size = WAYS
+        while (size < maxEntries) size = size shl 1
+        slots = arrayOfNulls(size)
+        hits = BooleanArray(size)
+        setMask = size / WAYS - 1
+    }
+
+    /** Number of slots of the table */
+    val maxEntries: Int get() = slots.size
+
+    /** The pooled instance equal to the [value], the [value] itself becomes the pooled instance if absent */
+    fun intern(value: String): String {
+        val hash = value.hashCode()
+        val first = ((hash xor (hash ushr 16)) and setMask) * WAYS
+        val second = first + 1
+        for (index in first..second) {
+            val pooled = slots[index]
+            if (pooled == value) {
+                hits[index] = true
+                return pooled
+            }
+        }
+        val victim = when {
+            slots[first] == null || !hits[first] -> first
+            slots[second] == null || !hits[second] -> second
+            else -> {
+                // Both popular: age them, the next miss of this set can replace one
+                hits[first] = false
+                hits[second] = false
+                return value
+            }
+        }
+        hits[victim] = false
+        slots[victim] = value
+        return value
+    }
+
+    /** Same as [intern] if the property [field] is one of the [fields], otherwise the [value] as is */
+    fun intern(field: String, value: String): String = if (field in fields) intern(value) else value
+
+    /** Wrap the [deserializer] to intern the strings of the [fields] while decoding with a [Json] */
+    fun <T> interning(deserializer: DeserializationStrategy<T>): DeserializationStrategy<T> =
+        InterningDeserializer(deserializer, this)
+
+    /** Defaults of [DeezerStringPool] */
+    companion object {
+        /** Default number of slots */
+        const val DEFAULT_MAX_ENTRIES = 16 * 1024
+
+        private const val WAYS = 2
+
+        /** Names and titles: artists, albums, labels, users, genres */
+        @JvmField
+        val NAME_FIELDS = setOf("name", "title", "title_short", "title_version", "label")
+
+        /** Urls and image hashes, the same picture urls are repeated on each track of an artist or album */
+        @JvmField
+        val URL_FIELDS = setOf(
+            "link", "share", "tracklist", "preview", "md5_image",
+            "picture", "picture_small", "picture_medium", "picture_big", "picture_xl",
+            "cover", "cover_small", "cover_medium", "cover_big", "cover_xl",
+        )
+
+        /** Small codes and constants: types, roles, countries, languages */
+        @JvmField
+        val CODE_FIELDS = setOf("type", "record_type", "role", "country", "lang")
+
+        /** All the presets */
+        @JvmField
+        val DEFAULT_FIELDS = NAME_FIELDS + URL_FIELDS + CODE_FIELDS
+    }
+}
+
+/* -- Implementation Zone -- */
+
+/** Deserialize with an [InterningDecoder] when decoding JSON, other formats decode as is */
+internal class InterningDeserializer<T>(
+    private val deserializer: DeserializationStrategy<T>,
+    private val pool: DeezerStringPool,
+) : DeserializationStrategy<T> {
+    override val descriptor: SerialDescriptor get() = deserializer.descriptor
+
+    override fun deserialize(decoder: Decoder): T = if (decoder is JsonDecoder && decoder !is InterningDecoder) {
+        deserializer.deserialize(InterningDecoder(decoder, pool))
+    } else {
+        deserializer.deserialize(decoder)
+    }
+}
+
+/**
+ * [JsonDecoder] that interns the string properties of the [pool] fields, everything else is delegated.
+ * The nested structures and values are decoded by the [delegate] with their deserializer wrapped,
+ * so its polymorphism and JSON specific handling stay untouched.
+ */
+@OptIn(SealedSerializationApi::class, ExperimentalSerializationApi::class)
+internal class InterningDecoder(private val delegate: JsonDecoder, private val pool: DeezerStringPool) : JsonDecoder {
+    override val json: Json get() = delegate.json
+    override val serializersModule: SerializersModule get() = delegate.serializersModule
+
+    override fun decodeJsonElement(): JsonElement = delegate.decodeJsonElement()
+
+    // -- Decoder --
+
+    override fun beginStructure(descriptor: SerialDescriptor): CompositeDecoder {
+        val composite = delegate.beginStructure(descriptor)
+        return if (composite is JsonDecoder) InterningDecoder(composite, pool) else composite
+    }
+
+    override fun <T> decodeSerializableValue(deserializer: DeserializationStrategy<T>): T =
+        delegate.decodeSerializableValue(InterningDeserializer(deserializer, pool))
+
+    override fun decodeInline(descriptor: SerialDescriptor): Decoder = delegate.decodeInline(descriptor)
+    override fun decodeNotNullMark() = delegate.decodeNotNullMark()
+    override fun decodeNull() = delegate.decodeNull()
+    override fun decodeBoolean() = delegate.decodeBoolean()
+    override fun decodeByte() = delegate.decodeByte()
+    override fun decodeShort() = delegate.decodeShort()
+    override fun decodeChar() = delegate.decodeChar()
+    override fun decodeInt() = delegate.decodeInt()
+    override fun decodeLong() = delegate.decodeLong()
+    override fun decodeFloat() = delegate.decodeFloat()
+    override fun decodeDouble() = delegate.decodeDouble()
+    override fun decodeString() = delegate.decodeString()
+    override fun decodeEnum(enumDescriptor: SerialDescriptor) = delegate.decodeEnum(enumDescriptor)
+
+    // -- CompositeDecoder --
+
+    override fun decodeStringElement(descriptor: SerialDescriptor, index: Int): String =
+        pool.intern(descriptor.getElementName(index), delegate.decodeStringElement(descriptor, index))
+
+    override fun <T> decodeSerializableElement(
+        descriptor: SerialDescriptor,
+        index: Int,
+        deserializer: DeserializationStrategy<T>,
+        previousValue: T?,
+    ): T = internElement(
+        descriptor,
+        index,
+        delegate.decodeSerializableElement(descriptor, index, InterningDeserializer(deserializer, pool), previousValue),
+    )
+
+    override fun <T : Any> decodeNullableSerializableElement(
+        descriptor: SerialDescriptor,
+        index: Int,
+        deserializer: DeserializationStrategy<T?>,
+        previousValue: T?,
+    ): T? = internElement(
+        descriptor,
+        index,
+        delegate.decodeNullableSerializableElement(
+            descriptor,
+            index,
+            InterningDeserializer(deserializer, pool),
+            previousValue,
+        ),
+    )
+
+    override fun decodeElementIndex(descriptor: SerialDescriptor) = delegate.decodeElementIndex(descriptor)
+    override fun decodeCollectionSize(descriptor: SerialDescriptor) = delegate.decodeCollectionSize(descriptor)
+    override fun decodeSequentially() = delegate.decodeSequentially()
+    override fun endStructure(descriptor: SerialDescriptor) = delegate.endStructure(descriptor)
+
+    override fun decodeInlineElement(descriptor: SerialDescriptor, index: Int): Decoder =
+        delegate.decodeInlineElement(descriptor, index)
+
+    override fun decodeBooleanElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeBooleanElement(descriptor, index)
+
+    override fun decodeByteElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeByteElement(descriptor, index)
+
+    override fun decodeShortElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeShortElement(descriptor, index)
+
+    override fun decodeCharElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeCharElement(descriptor, index)
+
+    override fun decodeIntElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeIntElement(descriptor, index)
+
+    override fun decodeLongElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeLongElement(descriptor, index)
+
+    override fun decodeFloatElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeFloatElement(descriptor, index)
+
+    override fun decodeDoubleElement(descriptor: SerialDescriptor, index: Int) =
+        delegate.decodeDoubleElement(descriptor, index)
+
+    // Nullable strings are decoded as serializable elements with the String serializer
+    @Suppress("UNCHECKED_CAST")
+    private fun <T> internElement(descriptor: SerialDescriptor, index: Int, value: T): T =
+        if (value is String) pool.intern(descriptor.getElementName(index), value) as T else value
+}
@@ -0,0 +1,42 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlin.concurrent.Volatile
+
+/**
+ * Budget of the extra calls (retries, hedges) of [DeezerRetryPolicy] and [DeezerHedgePolicy],
+ * so they can't amplify an outage or consume the quota.
+ *
+ * Each request [deposits][deposit] [ratio] tokens, each extra call [takes][tryTake] one,
+ * up to [burst] tokens saved, also the initial balance. When the budget is empty the extra call isn't sent.
+ */
+internal class DeezerTokenBudget(private val ratio: Double, private val burst: Int) {
+    private val mutex = Mutex()
+
+    @Volatile
+    private var tokens = burst.toDouble()
+
+    init {
+        require(ratio >= 0) { "budgetRatio must be greater than or equal to 0" }
+        require(burst >= 0) { "budgetBurst must be greater than or equal to 0" }
+    }
+
+    /** Tokens available now */
+    val balance: Double get() = tokens
+
+    /** Deposit the share of a new request */
+    suspend fun deposit() {
+        mutex.withLock { tokens = minOf(tokens + ratio, burst.toDouble()) }
+    }
+
+    /** Take a token for an extra call, `false` if the budget is empty */
+    suspend fun tryTake(): Boolean = mutex.withLock {
+        if (tokens < 1) {
+            false
+        } else {
+            tokens -= 1
+            true
+        }
+    }
+}
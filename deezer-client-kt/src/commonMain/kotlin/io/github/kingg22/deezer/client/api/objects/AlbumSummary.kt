@@ -0,0 +1,44 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import io.github.kingg22.deezer.client.api.DeezerApiClient
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import kotlinx.datetime.LocalDate
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+import kotlin.jvm.JvmOverloads
+import kotlin.jvm.JvmSynthetic
+
+/**
+ * Projection of an [Album] with its identity, size, release date and artist.
+ *
+ * Decoded from the same JSON as [Album], the heavy keys (`genres`, `tracks`, `contributors`, ...)
+ * are skipped by the decoder without materializing them.
+ * [reload] returns the full [Album].
+ *
+ * @author Kingg22
+ * @see io.github.kingg22.deezer.client.api.routes.AlbumRoutes.getSummaryById
+ *
+ * @property id The Deezer album id
+ * @property title The album title
+ * @property trackCount The number of tracks in the album
+ * @property duration The album's duration (seconds)
+ * @property releaseDate The album's release date
+ * @property artist The artist of the album, only its identity
+ * @property type **unofficial** The type of object, usually the name of the class.
+ */
+@DeezerApiPoko
+@Serializable
+class AlbumSummary @JvmOverloads constructor(
+    override val id: Long,
+    val title: String,
+    @SerialName("nb_tracks") val trackCount: Int? = null,
+    val duration: Int? = null,
+    @SerialName("release_date") val releaseDate: LocalDate? = null,
+    val artist: ArtistRef? = null,
+    override val type: String = "album",
+) : Resource() {
+    @JvmSynthetic
+    override suspend fun reload(client: DeezerApiClient): Album = client.albums.getById(this.id)
+
+    companion object
+}
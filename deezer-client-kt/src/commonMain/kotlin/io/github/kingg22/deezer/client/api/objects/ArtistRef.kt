@@ -0,0 +1,31 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import io.github.kingg22.deezer.client.api.DeezerApiClient
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import kotlinx.serialization.Serializable
+import kotlin.jvm.JvmOverloads
+import kotlin.jvm.JvmSynthetic
+
+/**
+ * Projection of an [Artist] with only its identity, nested in [TrackSummary] and [AlbumSummary].
+ *
+ * The other keys of the artist object are skipped while decoding, without materializing them.
+ * [reload] returns the full [Artist].
+ *
+ * @author Kingg22
+ * @property id The artist's Deezer id
+ * @property name The artist's name
+ * @property type **unofficial** The type of object, usually the name of the class.
+ */
+@DeezerApiPoko
+@Serializable
+class ArtistRef @JvmOverloads constructor(
+    override val id: Long,
+    val name: String,
+    override val type: String = "artist",
+) : Resource() {
+    @JvmSynthetic
+    override suspend fun reload(client: DeezerApiClient): Artist = client.artists.getById(this.id)
+
+    companion object
+}
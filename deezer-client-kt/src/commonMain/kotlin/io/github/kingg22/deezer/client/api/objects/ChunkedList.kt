@@ -0,0 +1,154 @@
+package io.github.kingg22.deezer.client.api.objects
+
+/**
+ * Immutable [List] made of the pages (chunks) of a [PaginatedResponse] expanded with `expand = true`.
+ *
+ * The chunks are shared, never copied: [plus] and [prepend] return a new list that references the chunks of this one,
+ * in O(1). Expanding N pages costs N references instead of copying O(N²) items.
+ *
+ * The chunks are kept in two skew binary random access lists, one for the chunks prepended ([front], the first
+ * chunk at the head) and one for the chunks appended ([back], the last chunk at the head). Each one is a spine of
+ * O(log n) complete binary trees, so [get] is O(log n).
+ */
+internal class ChunkedList<out T> private constructor(
+    private val front: Spine<T>?,
+    private val back: Spine<T>?,
+    private val frontSize: Int,
+    override val size: Int,
+) : AbstractList<T>() {
+    /** This list with the [chunk] at the end */
+    operator fun plus(chunk: List<@UnsafeVariance T>): ChunkedList<T> =
+        if (chunk.isEmpty()) this else ChunkedList(front, push(back, chunk), frontSize, size + chunk.size)
+
+    /** This list with the [chunk] at the start */
+    fun prepend(chunk: List<@UnsafeVariance T>): ChunkedList<T> = if (chunk.isEmpty()) {
+        this
+    } else {
+        ChunkedList(push(front, chunk), back, frontSize + chunk.size, size + chunk.size)
+    }
+
+    override fun get(index: Int): T {
+        if (index < 0 || index >= size) throw IndexOutOfBoundsException("Index $index, size $size")
+        if (index < frontSize) {
+            var start = 0
+            var spine = front
+            while (spine != null) {
+                if (index < start + spine.tree.size) return spine.tree.getFromFront(index - start)
+                start += spine.tree.size
+                spine = spine.next
+            }
+        } else {
+            var end = size
+            var spine = back
+            while (spine != null) {
+                val start = end - spine.tree.size
+                if (index >= start) return spine.tree.getFromBack(index - start)
+                end = start
+                spine = spine.next
+            }
+        }
+        error("Unreachable, the sizes count all chunks")
+    }
+
+    override fun iterator(): Iterator<T> = chunks().asSequence().flatten().iterator()
+
+    /* -- Implementation Zone -- */
+
+    /** The chunks in order, walking the trees instead of looking up each index */
+    private fun chunks(): List<List<T>> {
+        val chunks = ArrayList<List<T>>()
+        var spine = front
+        while (spine != null) {
+            spine.tree.collectFromFront(chunks)
+            spine = spine.next
+        }
+        // The head of the back spine is the last, walk it from the tail
+        val backTrees = ArrayList<Node<T>>()
+        spine = back
+        while (spine != null) {
+            backTrees += spine.tree
+            spine = spine.next
+        }
+        for (index in backTrees.indices.reversed()) backTrees[index].collectFromBack(chunks)
+        return chunks
+    }
+
+    /**
+     * Complete binary tree of chunks, [newer] and [older] are both present or both absent.
+     * The chunks of the [newer] subtree were added after the ones of [older], and the [chunk] after both.
+     */
+    private class Node<out T>(val chunk: List<T>, val newer: Node<T>?, val older: Node<T>?) {
+        /** Number of chunks of this tree */
+        val chunks: Int = 1 + (newer?.chunks ?: 0) + (older?.chunks ?: 0)
+
+        /** Number of items of this tree */
+        val size: Int = chunk.size + (newer?.size ?: 0) + (older?.size ?: 0)
+
+        /** Item of a tree of prepended chunks, in order: [chunk], [newer], [older] */
+        fun getFromFront(index: Int): T {
+            var node = this
+            var remaining = index
+            while (true) {
+                if (remaining < node.chunk.size) return node.chunk[remaining]
+                remaining -= node.chunk.size
+                val newer = checkNotNull(node.newer)
+                if (remaining < newer.size) {
+                    node = newer
+                } else {
+                    remaining -= newer.size
+                    node = checkNotNull(node.older)
+                }
+            }
+        }
+
+        /** Item of a tree of appended chunks, in order: [older], [newer], [chunk] */
+        fun getFromBack(index: Int): T {
+            var node = this
+            var remaining = index
+            while (true) {
+                val older = node.older ?: return node.chunk[remaining]
+                val newer = checkNotNull(node.newer)
+                if (remaining < older.size) {
+                    node = older
+                } else if (remaining < older.size + newer.size) {
+                    remaining -= older.size
+                    node = newer
+                } else {
+                    return node.chunk[remaining - older.size - newer.size]
+                }
+            }
+        }
+
+        fun collectFromFront(chunks: MutableList<List<@UnsafeVariance T>>) {
+            chunks += chunk
+            newer?.collectFromFront(chunks)
+            older?.collectFromFront(chunks)
+        }
+
+        fun collectFromBack(chunks: MutableList<List<@UnsafeVariance T>>) {
+            older?.collectFromBack(chunks)
+            newer?.collectFromBack(chunks)
+            chunks += chunk
+        }
+    }
+
+    /** Immutable linked list of trees, the sizes (in chunks) of the trees never decrease towards the tail */
+    private class Spine<out T>(val tree: Node<T>, val next: Spine<T>?)
+
+    /** Defaults of [ChunkedList] */
+    companion object {
+        /** [list] as a [ChunkedList], sharing it as the first chunk */
+        fun <T> of(list: List<T>): ChunkedList<T> =
+            list as? ChunkedList<T> ?: (ChunkedList<T>(null, null, 0, 0) + list)
+
+        /** Skew binary addition: two leading trees of the same size are merged under the new chunk, O(1) */
+        private fun <T> push(spine: Spine<T>?, chunk: List<T>): Spine<T> {
+            val second = spine?.next
+            return if (spine != null && second != null && spine.tree.chunks == second.tree.chunks) {
+                Spine(Node(chunk, newer = spine.tree, older = second.tree), second.next)
+            } else {
+                Spine(Node(chunk, newer = null, older = null), spine)
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import io.github.kingg22.deezer.client.utils.InternalDeezerClient
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.builtins.ListSerializer
+import kotlinx.serialization.builtins.serializer
+import kotlinx.serialization.encoding.CompositeDecoder
+import kotlinx.serialization.encoding.Decoder
+import kotlinx.serialization.encoding.Encoder
+import kotlinx.serialization.encoding.decodeStructure
+import kotlin.jvm.JvmField
+import kotlin.jvm.JvmStatic
+
+/**
+ * Set of two-letter country codes (ISO 3166-1 alpha-2) packed in a bitset, one bit per code from `AA` to `ZZ`.
+ *
+ * The whole set takes 11 longs, membership is a bit test and [intersect] / [union] are a bitwise AND / OR,
+ * useful to filter many [Track] by region. Codes that aren't two letters can't be represented, they are ignored.
+ *
+ * Usage:
+ * ```kotlin
+ * val region = CountrySet.of("FR", "DE", "ES")
+ * val availableInRegion = tracks.filter { it.availableCountrySet?.containsAny(region) == true }
+ * ```
+ *
+ * @author Kingg22
+ * @see Track.availableCountrySet
+ */
+class CountrySet private constructor(private val bits: LongArray) {
+    /** Number of countries of this set */
+    val size: Int = bits.sumOf { it.countOneBits() }
+
+    /** Whether this set doesn't have any country */
+    fun isEmpty() = size == 0
+
+    /** Whether the [country] code (case-insensitive) is in this set */
+    operator fun contains(country: String): Boolean {
+        val index = indexOf(country)
+        return index >= 0 && bits[index ushr 6] and (1L shl (index and 63)) != 0L
+    }
+
+    /** Whether all countries of [other] are in this set */
+    fun containsAll(other: CountrySet): Boolean = bits.indices.all { bits[it] and other.bits[it] == other.bits[it] }
+
+    /** Whether at least one country of [other] is in this set */
+    fun containsAny(other: CountrySet): Boolean = bits.indices.any { bits[it] and other.bits[it] != 0L }
+
+    /** The countries in this set and in [other] */
+    infix fun intersect(other: CountrySet) = CountrySet(LongArray(WORDS) { bits[it] and other.bits[it] })
+
+    /** The countries in this set or in [other] */
+    infix fun union(other: CountrySet) = CountrySet(LongArray(WORDS) { bits[it] or other.bits[it] })
+
+    /** The countries in this set and not in [other] */
+    infix fun subtract(other: CountrySet) = CountrySet(LongArray(WORDS) { bits[it] and other.bits[it].inv() })
+
+    /** Read-only [List] view of the codes in alphabetical order, without copying the set */
+    fun asList(): List<String> = CountryList(this)
+
+    override fun equals(other: Any?) = this === other || other is CountrySet && bits.contentEquals(other.bits)
+
+    override fun hashCode() = bits.contentHashCode()
+
+    override fun toString() = asList().toString()
+
+    /* -- Implementation Zone -- */
+
+    /** Code of the [ordinal]-th country of this set, in alphabetical order */
+    internal fun elementAt(ordinal: Int): String {
+        if (ordinal < 0 || ordinal >= size) throw IndexOutOfBoundsException("Index $ordinal, size $size")
+        var remaining = ordinal
+        for (word in bits.indices) {
+            var value = bits[word]
+            val count = value.countOneBits()
+            if (remaining >= count) {
+                remaining -= count
+                continue
+            }
+            // Drop the lowest bits until the wanted one
+            repeat(remaining) { value = value and (value - 1) }
+            return CODES[word * Long.SIZE_BITS + value.countTrailingZeroBits()]
+        }
+        error("Unreachable, the size counts all bits")
+    }
+
+    /** Codes of this set in alphabetical order, walking the bits once */
+    internal fun codes(): Iterator<String> = object : Iterator<String> {
+        private var word = 0
+        private var value = bits[0]
+
+        override fun hasNext(): Boolean {
+            while (value == 0L && word < WORDS - 1) value = bits[++word]
+            return value != 0L
+        }
+
+        override fun next(): String {
+            if (!hasNext()) throw NoSuchElementException()
+            val index = word * Long.SIZE_BITS + value.countTrailingZeroBits()
+            // Drop the lowest bit, the one returned
+            value = value and (value - 1)
+            return CODES[index]
+        }
+    }
+
+    /** Mutable bits to build a set, see [of] */
+    internal class Builder {
+        private val bits = LongArray(WORDS)
+
+        /** @return Whether the [country] fits in a [CountrySet] */
+        fun add(country: String): Boolean {
+            val index = indexOf(country)
+            if (index < 0) return false
+            bits[index ushr 6] = bits[index ushr 6] or (1L shl (index and 63))
+            return true
+        }
+
+        fun build() = CountrySet(bits.copyOf())
+    }
+
+    /** Defaults of [CountrySet] */
+    companion object {
+        private const val LETTERS = 26
+        private const val WORDS = (LETTERS * LETTERS + Long.SIZE_BITS - 1) / Long.SIZE_BITS
+
+        /** Code of each bit, shared by the list views instead of a new string on each access */
+        private val CODES = Array(LETTERS * LETTERS) {
+            charArrayOf('A' + it / LETTERS, 'A' + it % LETTERS).concatToString()
+        }
+
+        /** Set without countries */
+        @JvmField
+        val EMPTY = CountrySet(LongArray(WORDS))
+
+        /** Create a [CountrySet] of the [countries], the codes that aren't two letters are ignored */
+        @JvmStatic
+        fun of(countries: Iterable<String>): CountrySet {
+            if (countries is CountryList) return countries.countries
+            val builder = Builder()
+            countries.forEach { builder.add(it) }
+            return builder.build()
+        }
+
+        /** Create a [CountrySet] of the [countries], the codes that aren't two letters are ignored */
+        @JvmStatic
+        fun of(vararg countries: String): CountrySet = of(countries.asIterable())
+
+        /** Bit of the [country], or -1 if it isn't two ASCII letters */
+        private fun indexOf(country: String): Int {
+            if (country.length != 2) return -1
+            val first = letterOf(country[0])
+            val second = letterOf(country[1])
+            return if (first < 0 || second < 0) -1 else first * LETTERS + second
+        }
+
+        private fun letterOf(char: Char): Int = when (char) {
+            in 'A'..'Z' -> char - 'A'
+            in 'a'..'z' -> char - 'a'
+            else -> -1
+        }
+
+        /** Whether the [country] is two uppercase ASCII letters, as the codes of the list view */
+        internal fun isCode(country: String) = country.length == 2 && country[0] in 'A'..'Z' && country[1] in 'A'..'Z'
+    }
+}
+
+/**
+ * [List] view of a [CountrySet], what [Track.availableCountries] holds once decoded.
+ *
+ * As a list of the uppercase codes it is case-sensitive, like [indexOf] and [equals],
+ * use [CountrySet.contains] or [Track.isAvailableIn] to ignore the case.
+ */
+internal class CountryList(val countries: CountrySet) : AbstractList<String>() {
+    override val size get() = countries.size
+
+    override fun get(index: Int): String = countries.elementAt(index)
+
+    override fun iterator(): Iterator<String> = countries.codes()
+
+    override fun contains(element: String) = CountrySet.isCode(element) && element in countries
+}
+
+/**
+ * Serializer of a list of country codes that decodes straight into a [CountrySet] behind a [List] view.
+ *
+ * The codes are decoded one by one into the bits, the strings are garbage right away instead of
+ * retained by the track. The list view is alphabetical and without duplicates, as Deezer sends it.
+ * If a code isn't two uppercase letters the plain list is kept as decoded, to not lose it or its case.
+ */
+@InternalDeezerClient
+internal object CountryListSerializer : KSerializer<List<String>> {
+    private val delegate = ListSerializer(String.serializer())
+
+    override val descriptor = delegate.descriptor
+
+    override fun serialize(encoder: Encoder, value: List<String>) {
+        delegate.serialize(encoder, value)
+    }
+
+    override fun deserialize(decoder: Decoder): List<String> {
+        val builder = CountrySet.Builder()
+        // The decoded codes in their order, only returned when a code isn't valid
+        val decoded = mutableListOf<String>()
+        var valid = true
+        decoder.decodeStructure(descriptor) {
+            fun decode(index: Int) {
+                val country = decodeStringElement(descriptor, index)
+                decoded += country
+                if (!CountrySet.isCode(country) || !builder.add(country)) valid = false
+            }
+            if (decodeSequentially()) {
+                repeat(decodeCollectionSize(descriptor)) { decode(it) }
+            } else {
+                while (true) {
+                    val index = decodeElementIndex(descriptor)
+                    if (index == CompositeDecoder.DECODE_DONE) break
+                    decode(index)
+                }
+            }
+        }
+        return if (valid) CountryList(builder.build()) else decoded
+    }
+}
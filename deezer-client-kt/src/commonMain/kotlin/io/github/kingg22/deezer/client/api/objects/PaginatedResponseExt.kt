@@ -3,6 +3,8 @@
 package io.github.kingg22.deezer.client.api.objects
 
 import io.github.kingg22.deezer.client.api.DeezerApiClient
+import io.github.kingg22.deezer.client.api.DeezerRateLimiter
+import io.github.kingg22.deezer.client.api.streamPage
 import io.github.kingg22.deezer.client.exceptions.DeezerApiException
 import io.github.kingg22.deezer.client.utils.AfterInitialize
 import io.github.kingg22.deezer.client.utils.ExperimentalDeezerClient
@@ -10,7 +12,20 @@
 import io.ktor.client.call.*
 import io.ktor.client.request.*
 import io.ktor.http.*
+import io.ktor.util.reflect.TypeInfo
+import io.ktor.util.reflect.typeInfo
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.transform
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.serialization.KSerializer
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.serializer
 import kotlin.coroutines.cancellation.CancellationException
 import kotlin.jvm.JvmName
 import kotlin.jvm.JvmSynthetic
@@ -34,7 +49,7 @@ suspend inline fun <reified N : @Serializable Any> PaginatedResponse<N>.fetchNex
     if (next.isNullOrBlank()) return null
     val result = httpClient.get(Url(next!!)).body<PaginatedResponse<N>>()
     return if (expand && data.isNotEmpty()) {
-        result.copy(data = data + result.data)
+        result.copy(data = appendPage(data, result.data))
     } else {
         result
     }
@@ -59,12 +74,20 @@ suspend inline fun <reified P : @Serializable Any> PaginatedResponse<P>.fetchPre
     if (prev.isNullOrBlank()) return null
     val result = httpClient.get(Url(prev!!)).body<PaginatedResponse<P>>()
     return if (expand && data.isNotEmpty()) {
-        result.copy(data = result.data + data)
+        result.copy(data = prependPage(result.data, data))
     } else {
         result
     }
 }
 
+/** The items of the expanded [data] followed by the [page], sharing both, see [ChunkedList] */
+@PublishedApi
+internal fun <T> appendPage(data: List<T>, page: List<T>): List<T> = ChunkedList.of(data) + page
+
+/** The items of the [page] followed by the expanded [data], sharing both, see [ChunkedList] */
+@PublishedApi
+internal fun <T> prependPage(page: List<T>, data: List<T>): List<T> = ChunkedList.of(data).prepend(page)
+
 /**
  * Fetch the next page of the search
  *
@@ -95,6 +118,163 @@ suspend inline fun <reified P : @Serializable Any> PaginatedResponse<P>.fetchPre
     expand: Boolean = false,
 ): PaginatedResponse<P>? = this.fetchPrevious(client.httpClient, expand)
 
+/**
+ * Lazy [Flow] of this page and the next ones, following [PaginatedResponse.next] until the last page.
+ *
+ * Only [prefetch] pages are fetched ahead of the collector,
+ * so the memory stays constant whatever the [total][PaginatedResponse.total].
+ * Each collection walks the pages again from this one.
+ *
+ * @param N Type of the items. Required to parse the responses.
+ * @param client The [DeezerApiClient] to use to fetch the pages
+ * @param prefetch Pages to fetch while the collector still consumes the current one, `0` to fetch on demand. Default 1
+ */
+@JvmSynthetic
+inline fun <reified N : @Serializable Any> PaginatedResponse<N>.pages(
+    client: DeezerApiClient,
+    prefetch: Int = 1,
+): Flow<PaginatedResponse<N>> {
+    require(prefetch >= 0) { "prefetch can't be negative" }
+    val pages = flow {
+        var page: PaginatedResponse<N>? = this@pages
+        while (page != null) {
+            emit(page)
+            page = page.fetchNext(client)
+        }
+    }
+    // The producer fetches one page while the collector is busy, the buffer holds the others
+    return if (prefetch == 0) pages else pages.buffer(prefetch - 1)
+}
+
+/**
+ * Lazy [Flow] of the items of this page and the next ones, see [pages].
+ *
+ * @param N Type of the items. Required to parse the responses.
+ * @param client The [DeezerApiClient] to use to fetch the pages
+ * @param prefetch Pages to fetch while the collector still consumes the current one, `0` to fetch on demand. Default 1
+ */
+@JvmSynthetic
+inline fun <reified N : @Serializable Any> PaginatedResponse<N>.items(
+    client: DeezerApiClient,
+    prefetch: Int = 1,
+): Flow<N> = pages(client, prefetch).transform { page -> page.data.forEach { emit(it) } }
+
+/**
+ * Lazy [Flow] of the items of this page and the next ones like [items],
+ * but each next page is decoded item by item while its body arrives.
+ *
+ * The body is never buffered: the memory holds one item instead of the whole page and its String copy,
+ * prefer it for pages with a big `limit`. The next page is requested when the collector reached the end of the current.
+ * These responses aren't cached nor shared by the plugins.
+ *
+ * Usage:
+ * ```kotlin
+ * PaginatedResponse<Track>(next = "https://api.deezer.com/album/302127/tracks?limit=2000")
+ *     .streamItems(client)
+ *     .collect { track -> println(track.title) }
+ * ```
+ *
+ * @param N Type of the items. Required to parse the responses.
+ * @param client The [DeezerApiClient] to use to fetch the pages
+ */
+@JvmSynthetic
+inline fun <reified N : @Serializable Any> PaginatedResponse<N>.streamItems(client: DeezerApiClient): Flow<N> =
+    streamItems(client.httpClient, serializer<N>())
+
+@PublishedApi
+internal fun <N : Any> PaginatedResponse<N>.streamItems(httpClient: HttpClient, serializer: KSerializer<N>): Flow<N> =
+    flow {
+        data.forEach { emit(it) }
+        var url = next
+        while (!url.isNullOrBlank()) {
+            url = httpClient.streamPage(Url(url), serializer) { emit(it) }.next
+        }
+    }
+
+/**
+ * Fetch all the remaining pages at the same time, using the offsets computed from [total][PaginatedResponse.total],
+ * instead of following [next][PaginatedResponse.next] one by one.
+ *
+ * The pages are reassembled in order after this page.
+ * A [Resource] repeated because the ranking shifted between the pages is kept only the first time.
+ * Without [total][PaginatedResponse.total] the offsets are unknown, the pages are followed one by one instead.
+ *
+ * @param N Type of the items. Required to parse the responses.
+ * @param client The [DeezerApiClient] to use to fetch the pages
+ * @param parallelism Max pages fetched at the same time. Default 4
+ * @param rateLimiter Budget of requests of the pages, in addition to the one of the plugin. Default `null`
+ * @return The items of this page and the remaining ones
+ */
+@JvmSynthetic
+@Throws(DeezerApiException::class, CancellationException::class)
+suspend inline fun <reified N : @Serializable Any> PaginatedResponse<N>.fetchAll(
+    client: DeezerApiClient,
+    parallelism: Int = 4,
+    rateLimiter: DeezerRateLimiter? = null,
+): List<N> = fetchAllInParallel(client.httpClient, typeInfo<PaginatedResponse<N>>(), parallelism, rateLimiter)
+
+@PublishedApi
+internal suspend fun <N : Any> PaginatedResponse<N>.fetchAllInParallel(
+    httpClient: HttpClient,
+    typeInfo: TypeInfo,
+    parallelism: Int,
+    rateLimiter: DeezerRateLimiter?,
+): List<N> {
+    require(parallelism > 0) { "parallelism must be greater than 0" }
+    val nextUrl = next?.takeIf { it.isNotBlank() }?.let(::Url)
+    val total = total
+    if (nextUrl == null) return data.asSequence().distinctByResourceId()
+    if (total == null) return fetchAllInOrder(httpClient, typeInfo, nextUrl, rateLimiter)
+
+    // The next link has the offset of the second page, the limit is only present if requested
+    val start = nextUrl.parameters["index"]?.toIntOrNull() ?: data.size
+    val limit = nextUrl.parameters["limit"]?.toIntOrNull()?.takeIf { it > 0 }
+        ?: data.size.takeIf { it > 0 }
+        ?: DEFAULT_PAGE_SIZE
+    val semaphore = Semaphore(parallelism)
+    val pages = coroutineScope {
+        (start until total step limit).map { index ->
+            async {
+                semaphore.withPermit {
+                    rateLimiter?.acquire()
+                    val url = URLBuilder(nextUrl).apply {
+                        parameters["index"] = index.toString()
+                        parameters["limit"] = limit.toString()
+                    }.build()
+                    httpClient.get(url).body<PaginatedResponse<N>>(typeInfo).data
+                }
+            }
+        }.awaitAll()
+    }
+    return (sequenceOf(data) + pages).flatten().distinctByResourceId()
+}
+
+/** Follow [next][PaginatedResponse.next] from the [nextUrl] until the last page */
+private suspend fun <N : Any> PaginatedResponse<N>.fetchAllInOrder(
+    httpClient: HttpClient,
+    typeInfo: TypeInfo,
+    nextUrl: Url,
+    rateLimiter: DeezerRateLimiter?,
+): List<N> {
+    val pages = mutableListOf(data)
+    var url: Url? = nextUrl
+    while (url != null) {
+        rateLimiter?.acquire()
+        val page = httpClient.get(url).body<PaginatedResponse<N>>(typeInfo)
+        pages += page.data
+        url = page.next?.takeIf { it.isNotBlank() }?.let(::Url)
+    }
+    return pages.asSequence().flatten().distinctByResourceId()
+}
+
+/** Default page size of Deezer API when `limit` is absent */
+private const val DEFAULT_PAGE_SIZE = 25
+
+private fun <N : Any> Sequence<N>.distinctByResourceId(): List<N> {
+    val ids = HashSet<Long>()
+    return filter { it !is Resource || ids.add(it.id) }.toList()
+}
+
 /**
  * Fetch the next page of the search
  *
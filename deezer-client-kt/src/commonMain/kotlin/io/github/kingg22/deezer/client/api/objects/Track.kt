@@ -34,7 +34,8 @@
  * @property preview The url of track's preview file. This file contains the first 30 seconds of the track
  * @property bpm Beats per minute
  * @property gain Signal strength
- * @property availableCountries List of countries where the track is available
+ * @property availableCountries List of countries where the track is available,
+ * decoded into a compact [CountrySet] behind the list, see [availableCountrySet]
  * @property alternative Return an alternative readable track if the current track is not readable
  * @property contributors Return a list of contributors on the track
  * @property md5Image MD5 value of the image represented as a hexadecimal string.
@@ -88,7 +89,9 @@ class Track @JvmOverloads constructor(
     @SerialName("explicit_content_cover") val explicitContentCover: Explicit? = null,
     val bpm: Float? = null,
     val gain: Float? = null,
-    @SerialName("available_countries") val availableCountries: List<String>? = null,
+    @Serializable(CountryListSerializer::class)
+    @SerialName("available_countries")
+    val availableCountries: List<String>? = null,
     val alternative: Track? = null,
     val contributors: List<Artist>? = null,
     @SerialName("md5_image") val md5Image: String? = null,
@@ -112,6 +115,12 @@ class Track @JvmOverloads constructor(
     val position: Int? = null,
     @SerialName("time_add") val timeAdd: Long? = null,
 ) : Resource() {
+    /** The [availableCountries] as a [CountrySet], for fast checks and set operations across tracks */
+    val availableCountrySet: CountrySet? get() = availableCountries?.let(CountrySet::of)
+
+    /** Whether the track is available in the [country] (two-letter code), false if the countries are unknown */
+    fun isAvailableIn(country: String): Boolean = availableCountrySet?.contains(country) == true
+
     @JvmSynthetic
     override suspend fun reload(client: DeezerApiClient) = client.tracks.getById(this.id)
 
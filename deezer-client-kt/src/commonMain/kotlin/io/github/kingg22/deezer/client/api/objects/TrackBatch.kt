@@ -0,0 +1,534 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import kotlinx.serialization.DeserializationStrategy
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.SerializationStrategy
+import kotlinx.serialization.builtins.serializer
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.descriptors.buildClassSerialDescriptor
+import kotlinx.serialization.descriptors.element
+import kotlinx.serialization.descriptors.listSerialDescriptor
+import kotlinx.serialization.encoding.CompositeDecoder
+import kotlinx.serialization.encoding.Decoder
+import kotlinx.serialization.encoding.Encoder
+import kotlinx.serialization.encoding.decodeStructure
+import kotlinx.serialization.encoding.encodeCollection
+import kotlinx.serialization.encoding.encodeStructure
+import kotlin.jvm.JvmField
+import kotlin.jvm.JvmStatic
+
+/**
+ * Page of [Track] stored by column (struct of arrays) for analytics: one primitive array per field
+ * instead of one object per track with boxed nullable fields.
+ *
+ * Decoded directly from the JSON of a `PaginatedResponse<Track>` without creating any [Track],
+ * only the fields below are read, the others are skipped. The string columns are kept in one text per column
+ * and each value is created when accessed.
+ *
+ * Usage:
+ * ```kotlin
+ * var batch: TrackBatch = client.albums.getTrackBatch(302127)
+ * var totalDuration = 0L
+ * for (i in 0 until batch.size) totalDuration += batch.duration(i)
+ * batch += otherPage // concatenate the columns without boxing
+ * ```
+ *
+ * @author Kingg22
+ * @property size Number of tracks of the batch
+ * @property total The total number of tracks of the search
+ * @property prev Link to the previous page of the first batch concatenated
+ * @property next Link to the next page of the last batch concatenated
+ * @see Track
+ */
+@Serializable(with = TrackBatch.Serializer::class)
+class TrackBatch private constructor(
+    val size: Int,
+    private val ids: LongArray,
+    private val durations: IntArray,
+    private val ranks: IntArray,
+    private val bpms: FloatArray,
+    private val gains: FloatArray,
+    private val explicitLyrics: BooleanArray,
+    private val explicitContentLyrics: ByteArray,
+    private val explicitContentCovers: ByteArray,
+    private val artistIds: LongArray,
+    private val titles: StringColumn,
+    private val isrcs: StringColumn,
+    val total: Int?,
+    val prev: String?,
+    val next: String?,
+) {
+    /** @see Track.id */
+    fun id(index: Int): Long = ids[checkIndex(index)]
+
+    /** @see Track.duration */
+    fun duration(index: Int): Int = durations[checkIndex(index)]
+
+    /** @see Track.rank */
+    fun rank(index: Int): Int = ranks[checkIndex(index)]
+
+    /** @see Track.bpm Or [Float.NaN] if unknown */
+    fun bpm(index: Int): Float = bpms[checkIndex(index)]
+
+    /** @see Track.gain Or [Float.NaN] if unknown */
+    fun gain(index: Int): Float = gains[checkIndex(index)]
+
+    /** @see Track.isExplicitLyrics */
+    fun isExplicitLyrics(index: Int): Boolean = explicitLyrics[checkIndex(index)]
+
+    /** @see Track.explicitContentLyrics */
+    fun explicitContentLyrics(index: Int): Explicit? = explicitOf(explicitContentLyrics[checkIndex(index)])
+
+    /** @see Track.explicitContentCover */
+    fun explicitContentCover(index: Int): Explicit? = explicitOf(explicitContentCovers[checkIndex(index)])
+
+    /** Id of the [Track.artist] Or `0` if unknown */
+    fun artistId(index: Int): Long = artistIds[checkIndex(index)]
+
+    /** @see Track.title */
+    fun title(index: Int): String = titles[checkIndex(index)].orEmpty()
+
+    /** @see Track.isrc */
+    fun isrc(index: Int): String? = isrcs[checkIndex(index)]
+
+    /** Copy of the ids column */
+    fun ids(): LongArray = ids.copyOf()
+
+    /** Copy of the durations column */
+    fun durations(): IntArray = durations.copyOf()
+
+    /** Copy of the ranks column */
+    fun ranks(): IntArray = ranks.copyOf()
+
+    /** Concatenate the columns of the [other] batch after these, like the next page */
+    operator fun plus(other: TrackBatch): TrackBatch {
+        if (other.size == 0) return copy(next = other.next, total = other.total ?: total)
+        if (size == 0) return other.copy(prev = prev)
+        return TrackBatch(
+            size = size + other.size,
+            ids = ids + other.ids,
+            durations = durations + other.durations,
+            ranks = ranks + other.ranks,
+            bpms = bpms + other.bpms,
+            gains = gains + other.gains,
+            explicitLyrics = explicitLyrics + other.explicitLyrics,
+            explicitContentLyrics = explicitContentLyrics + other.explicitContentLyrics,
+            explicitContentCovers = explicitContentCovers + other.explicitContentCovers,
+            artistIds = artistIds + other.artistIds,
+            titles = titles + other.titles,
+            isrcs = isrcs + other.isrcs,
+            total = other.total ?: total,
+            prev = prev,
+            next = other.next,
+        )
+    }
+
+    override fun toString() = "TrackBatch(size=$size, total=$total, prev=$prev, next=$next)"
+
+    /* -- Implementation Zone -- */
+
+    private fun checkIndex(index: Int): Int {
+        if (index < 0 || index >= size) throw IndexOutOfBoundsException("Index $index, size $size")
+        return index
+    }
+
+    private fun copy(total: Int? = this.total, prev: String? = this.prev, next: String? = this.next) = TrackBatch(
+        size, ids, durations, ranks, bpms, gains, explicitLyrics, explicitContentLyrics, explicitContentCovers,
+        artistIds, titles, isrcs, total, prev, next,
+    )
+
+    /** Growable columns filled row by row, the arrays are trimmed by [build] */
+    internal class Builder {
+        private var capacity = INITIAL_CAPACITY
+        private var size = 0
+        private var ids = LongArray(capacity)
+        private var durations = IntArray(capacity)
+        private var ranks = IntArray(capacity)
+        private var bpms = FloatArray(capacity)
+        private var gains = FloatArray(capacity)
+        private var explicitLyrics = BooleanArray(capacity)
+        private var explicitContentLyrics = ByteArray(capacity)
+        private var explicitContentCovers = ByteArray(capacity)
+        private var artistIds = LongArray(capacity)
+        private val titles = StringColumn.Builder()
+        private val isrcs = StringColumn.Builder()
+
+        var total: Int? = null
+        var prev: String? = null
+        var next: String? = null
+
+        // Index of the row being filled
+        private val row get() = size - 1
+
+        /** Start a new row with the defaults of the optional fields */
+        fun startRow() {
+            if (size == capacity) grow()
+            size++
+            bpms[row] = Float.NaN
+            gains[row] = Float.NaN
+            explicitContentLyrics[row] = UNKNOWN_EXPLICIT
+            explicitContentCovers[row] = UNKNOWN_EXPLICIT
+        }
+
+        /** End the row, the missing strings are null */
+        fun endRow() {
+            titles.fill(size)
+            isrcs.fill(size)
+        }
+
+        fun id(value: Long) {
+            ids[row] = value
+        }
+
+        fun duration(value: Int) {
+            durations[row] = value
+        }
+
+        fun rank(value: Int) {
+            ranks[row] = value
+        }
+
+        fun bpm(value: Float) {
+            bpms[row] = value
+        }
+
+        fun gain(value: Float) {
+            gains[row] = value
+        }
+
+        fun explicitLyrics(value: Boolean) {
+            explicitLyrics[row] = value
+        }
+
+        fun explicitContentLyrics(value: Int) {
+            explicitContentLyrics[row] = value.toByte()
+        }
+
+        fun explicitContentCover(value: Int) {
+            explicitContentCovers[row] = value.toByte()
+        }
+
+        fun artistId(value: Long) {
+            artistIds[row] = value
+        }
+
+        fun title(value: String) = titles.add(row, value)
+
+        fun isrc(value: String) = isrcs.add(row, value)
+
+        fun build() = TrackBatch(
+            size = size,
+            ids = ids.copyOf(size),
+            durations = durations.copyOf(size),
+            ranks = ranks.copyOf(size),
+            bpms = bpms.copyOf(size),
+            gains = gains.copyOf(size),
+            explicitLyrics = explicitLyrics.copyOf(size),
+            explicitContentLyrics = explicitContentLyrics.copyOf(size),
+            explicitContentCovers = explicitContentCovers.copyOf(size),
+            artistIds = artistIds.copyOf(size),
+            titles = titles.build(size),
+            isrcs = isrcs.build(size),
+            total = total,
+            prev = prev,
+            next = next,
+        )
+
+        private fun grow() {
+            capacity *= 2
+            ids = ids.copyOf(capacity)
+            durations = durations.copyOf(capacity)
+            ranks = ranks.copyOf(capacity)
+            bpms = bpms.copyOf(capacity)
+            gains = gains.copyOf(capacity)
+            explicitLyrics = explicitLyrics.copyOf(capacity)
+            explicitContentLyrics = explicitContentLyrics.copyOf(capacity)
+            explicitContentCovers = explicitContentCovers.copyOf(capacity)
+            artistIds = artistIds.copyOf(capacity)
+        }
+    }
+
+    /**
+     * Serializer of a [TrackBatch] from and to the JSON of a page of tracks,
+     * the items of `data` are read field by field into the columns.
+     */
+    internal object Serializer : KSerializer<TrackBatch> {
+        // Indexes of the elements of the descriptors
+        private const val DATA = 0
+        private const val TOTAL = 1
+        private const val PREV = 2
+        private const val NEXT = 3
+
+        private const val ID = 0
+        private const val TITLE = 1
+        private const val ISRC = 2
+        private const val DURATION = 3
+        private const val RANK = 4
+        private const val BPM = 5
+        private const val GAIN = 6
+        private const val EXPLICIT_LYRICS = 7
+        private const val EXPLICIT_CONTENT_LYRICS = 8
+        private const val EXPLICIT_CONTENT_COVER = 9
+        private const val ARTIST = 10
+
+        private const val SERIAL_NAME = "io.github.kingg22.deezer.client.api.objects.TrackBatch"
+
+        private val artistDescriptor = buildClassSerialDescriptor("$SERIAL_NAME.Artist") {
+            element<Long>("id")
+        }
+
+        private val rowDescriptor = buildClassSerialDescriptor("$SERIAL_NAME.Track") {
+            element<Long>("id")
+            element<String>("title")
+            element<String>("isrc", isOptional = true)
+            element<Int>("duration")
+            element<Int>("rank")
+            element<Float>("bpm", isOptional = true)
+            element<Float>("gain", isOptional = true)
+            element<Boolean>("explicit_lyrics", isOptional = true)
+            element<Int>("explicit_content_lyrics", isOptional = true)
+            element<Int>("explicit_content_cover", isOptional = true)
+            element("artist", artistDescriptor, isOptional = true)
+        }
+
+        private val rowsDescriptor = listSerialDescriptor(rowDescriptor)
+
+        override val descriptor = buildClassSerialDescriptor(SERIAL_NAME) {
+            element("data", rowsDescriptor, isOptional = true)
+            element<Int>("total", isOptional = true)
+            element<String>("prev", isOptional = true)
+            element<String>("next", isOptional = true)
+        }
+
+        override fun deserialize(decoder: Decoder): TrackBatch {
+            val builder = Builder()
+            decoder.decodeStructure(descriptor) {
+                forEachElement(descriptor) { index ->
+                    when (index) {
+                        DATA -> decodeSerializableElement(descriptor, index, RowsReader(builder))
+                        TOTAL -> builder.total = decodeNullableSerializableElement(descriptor, index, Int.serializer())
+                        PREV -> builder.prev = decodeNullableSerializableElement(descriptor, index, String.serializer())
+                        NEXT -> builder.next = decodeNullableSerializableElement(descriptor, index, String.serializer())
+                    }
+                }
+            }
+            return builder.build()
+        }
+
+        override fun serialize(encoder: Encoder, value: TrackBatch) {
+            encoder.encodeStructure(descriptor) {
+                encodeSerializableElement(descriptor, DATA, RowsWriter, value)
+                value.total?.let { encodeIntElement(descriptor, TOTAL, it) }
+                value.prev?.let { encodeStringElement(descriptor, PREV, it) }
+                value.next?.let { encodeStringElement(descriptor, NEXT, it) }
+            }
+        }
+
+        /** Read each decoded element index until the end of the structure */
+        private inline fun CompositeDecoder.forEachElement(descriptor: SerialDescriptor, block: (Int) -> Unit) {
+            while (true) {
+                val index = decodeElementIndex(descriptor)
+                if (index == CompositeDecoder.DECODE_DONE) break
+                block(index)
+            }
+        }
+
+        /** Reader of the optional values, the JSON `null` is skipped by the decoder before calling it */
+        private class ValueReader(
+            override val descriptor: SerialDescriptor,
+            private val read: (Decoder) -> Unit,
+        ) : DeserializationStrategy<Unit> {
+            override fun deserialize(decoder: Decoder) = read(decoder)
+        }
+
+        private class RowsReader(private val builder: Builder) : DeserializationStrategy<Unit> {
+            override val descriptor = rowsDescriptor
+
+            private val isrc = ValueReader(String.serializer().descriptor) { builder.isrc(it.decodeString()) }
+            private val bpm = ValueReader(Float.serializer().descriptor) { builder.bpm(it.decodeFloat()) }
+            private val gain = ValueReader(Float.serializer().descriptor) { builder.gain(it.decodeFloat()) }
+            private val explicitLyrics = ValueReader(Boolean.serializer().descriptor) {
+                builder.explicitLyrics(it.decodeBoolean())
+            }
+            private val explicitContentLyrics = ValueReader(Int.serializer().descriptor) {
+                builder.explicitContentLyrics(it.decodeInt())
+            }
+            private val explicitContentCover = ValueReader(Int.serializer().descriptor) {
+                builder.explicitContentCover(it.decodeInt())
+            }
+            private val artist = ValueReader(artistDescriptor) { decoder ->
+                decoder.decodeStructure(artistDescriptor) {
+                    forEachElement(artistDescriptor) { builder.artistId(decodeLongElement(artistDescriptor, it)) }
+                }
+            }
+            private val row = ValueReader(rowDescriptor) { decoder ->
+                builder.startRow()
+                decoder.decodeStructure(rowDescriptor) { forEachElement(rowDescriptor) { readField(it) } }
+                builder.endRow()
+            }
+
+            override fun deserialize(decoder: Decoder) {
+                decoder.decodeStructure(rowsDescriptor) {
+                    forEachElement(rowsDescriptor) { decodeSerializableElement(rowsDescriptor, it, row) }
+                }
+            }
+
+            private fun CompositeDecoder.readField(index: Int) {
+                when (index) {
+                    ID -> builder.id(decodeLongElement(rowDescriptor, index))
+                    TITLE -> builder.title(decodeStringElement(rowDescriptor, index))
+                    DURATION -> builder.duration(decodeIntElement(rowDescriptor, index))
+                    RANK -> builder.rank(decodeIntElement(rowDescriptor, index))
+                    ISRC -> decodeNullableSerializableElement(rowDescriptor, index, isrc)
+                    BPM -> decodeNullableSerializableElement(rowDescriptor, index, bpm)
+                    GAIN -> decodeNullableSerializableElement(rowDescriptor, index, gain)
+                    EXPLICIT_LYRICS -> decodeNullableSerializableElement(rowDescriptor, index, explicitLyrics)
+                    EXPLICIT_CONTENT_LYRICS ->
+                        decodeNullableSerializableElement(rowDescriptor, index, explicitContentLyrics)
+                    EXPLICIT_CONTENT_COVER ->
+                        decodeNullableSerializableElement(rowDescriptor, index, explicitContentCover)
+                    ARTIST -> decodeNullableSerializableElement(rowDescriptor, index, artist)
+                }
+            }
+        }
+
+        private object RowsWriter : SerializationStrategy<TrackBatch> {
+            override val descriptor = rowsDescriptor
+
+            override fun serialize(encoder: Encoder, value: TrackBatch) {
+                encoder.encodeCollection(rowsDescriptor, value.size) {
+                    for (index in 0 until value.size) {
+                        encodeSerializableElement(rowsDescriptor, index, RowWriter, value to index)
+                    }
+                }
+            }
+        }
+
+        private object RowWriter : SerializationStrategy<Pair<TrackBatch, Int>> {
+            override val descriptor = rowDescriptor
+
+            override fun serialize(encoder: Encoder, value: Pair<TrackBatch, Int>) {
+                val (batch, row) = value
+                encoder.encodeStructure(rowDescriptor) {
+                    encodeLongElement(rowDescriptor, ID, batch.id(row))
+                    encodeStringElement(rowDescriptor, TITLE, batch.title(row))
+                    batch.isrc(row)?.let { encodeStringElement(rowDescriptor, ISRC, it) }
+                    encodeIntElement(rowDescriptor, DURATION, batch.duration(row))
+                    encodeIntElement(rowDescriptor, RANK, batch.rank(row))
+                    batch.bpm(row).takeUnless { it.isNaN() }?.let { encodeFloatElement(rowDescriptor, BPM, it) }
+                    batch.gain(row).takeUnless { it.isNaN() }?.let { encodeFloatElement(rowDescriptor, GAIN, it) }
+                    encodeBooleanElement(rowDescriptor, EXPLICIT_LYRICS, batch.isExplicitLyrics(row))
+                    batch.explicitContentLyrics(row)?.let {
+                        encodeIntElement(rowDescriptor, EXPLICIT_CONTENT_LYRICS, it.value)
+                    }
+                    batch.explicitContentCover(row)?.let {
+                        encodeIntElement(rowDescriptor, EXPLICIT_CONTENT_COVER, it.value)
+                    }
+                    encodeSerializableElement(rowDescriptor, ARTIST, ArtistWriter, batch.artistId(row))
+                }
+            }
+        }
+
+        private object ArtistWriter : SerializationStrategy<Long> {
+            override val descriptor = artistDescriptor
+
+            override fun serialize(encoder: Encoder, value: Long) {
+                encoder.encodeStructure(artistDescriptor) { encodeLongElement(artistDescriptor, 0, value) }
+            }
+        }
+    }
+
+    /** Defaults of [TrackBatch] */
+    companion object {
+        private const val INITIAL_CAPACITY = 16
+        private const val UNKNOWN_EXPLICIT: Byte = -1
+
+        /** Batch without tracks */
+        @JvmField
+        val EMPTY = Builder().build()
+
+        /** Copy the columns of the tracks of a [page] already decoded */
+        @JvmStatic
+        fun of(page: PaginatedResponse<Track>): TrackBatch {
+            val builder = Builder()
+            for (track in page.data) {
+                builder.startRow()
+                builder.id(track.id)
+                builder.title(track.title)
+                track.isrc?.let(builder::isrc)
+                builder.duration(track.duration)
+                builder.rank(track.rank)
+                track.bpm?.let(builder::bpm)
+                track.gain?.let(builder::gain)
+                builder.explicitLyrics(track.isExplicitLyrics)
+                track.explicitContentLyrics?.let { builder.explicitContentLyrics(it.value) }
+                track.explicitContentCover?.let { builder.explicitContentCover(it.value) }
+                builder.artistId(track.artist.id)
+                builder.endRow()
+            }
+            builder.total = page.total
+            builder.prev = page.prev
+            builder.next = page.next
+            return builder.build()
+        }
+
+        /** The [Explicit] of a column value */
+        private fun explicitOf(value: Byte): Explicit? =
+            if (value == UNKNOWN_EXPLICIT) null else Explicit.fromValue(value.toInt())
+    }
+}
+
+/**
+ * Column of nullable strings kept in one [text], the value of a row is created when accessed.
+ * The row `i` is the range `offsets[i]..offsets[i + 1]`, a `null` row is marked in [nulls].
+ */
+internal class StringColumn(private val text: String, private val offsets: IntArray, private val nulls: BooleanArray) {
+    operator fun get(index: Int): String? =
+        if (nulls[index]) null else text.substring(offsets[index], offsets[index + 1])
+
+    operator fun plus(other: StringColumn): StringColumn {
+        val size = nulls.size
+        val shift = text.length
+        val merged = offsets.copyOf(size + other.nulls.size + 1)
+        for (index in 1..other.nulls.size) merged[size + index] = other.offsets[index] + shift
+        return StringColumn(text + other.text, merged, nulls + other.nulls)
+    }
+
+    class Builder {
+        private val text = StringBuilder()
+        private var offsets = IntArray(INITIAL_CAPACITY + 1)
+        private var nulls = BooleanArray(INITIAL_CAPACITY)
+        private var size = 0
+
+        /** Set the value of the [row], the rows before without value are null */
+        fun add(row: Int, value: String) {
+            fill(row)
+            text.append(value)
+            append(isNull = false)
+        }
+
+        /** Mark as null the rows before [size] without value */
+        fun fill(size: Int) {
+            while (this.size < size) append(isNull = true)
+        }
+
+        fun build(size: Int): StringColumn {
+            fill(size)
+            return StringColumn(text.toString(), offsets.copyOf(size + 1), nulls.copyOf(size))
+        }
+
+        private fun append(isNull: Boolean) {
+            if (size == nulls.size) {
+                nulls = nulls.copyOf(size * 2)
+                offsets = offsets.copyOf(size * 2 + 1)
+            }
+            nulls[size] = isNull
+            offsets[++size] = text.length
+        }
+
+        private companion object {
+            const val INITIAL_CAPACITY = 16
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import io.github.kingg22.deezer.client.api.DeezerApiClient
+import io.github.kingg22.deezer.client.utils.DeezerApiPoko
+import kotlinx.serialization.Serializable
+import kotlin.jvm.JvmOverloads
+import kotlin.jvm.JvmSynthetic
+
+/**
+ * Projection of a [Track] with the fields of the hot paths: identity, duration, rank and artist.
+ *
+ * Decoded from the same JSON as [Track], the heavy keys (`available_countries`, `contributors`,
+ * `alternative`, `album`, ...) are skipped by the decoder without materializing them.
+ * [reload] returns the full [Track].
+ *
+ * @author Kingg22
+ * @see io.github.kingg22.deezer.client.api.routes.TrackRoutes.getSummaryById
+ *
+ * @property id The track's Deezer id
+ * @property title The track's full title
+ * @property duration The track's duration in seconds
+ * @property rank The track's Deezer rank
+ * @property artist The artist of the track, only its identity
+ * @property type **unofficial** The type of object, usually the name of the class.
+ */
+@DeezerApiPoko
+@Serializable
+class TrackSummary @JvmOverloads constructor(
+    override val id: Long,
+    val title: String,
+    val duration: Int,
+    val rank: Int,
+    val artist: ArtistRef,
+    override val type: String = "track",
+) : Resource() {
+    @JvmSynthetic
+    override suspend fun reload(client: DeezerApiClient): Track = client.tracks.getById(this.id)
+
+    companion object
+}
@@ -2,8 +2,11 @@
 
 import io.github.kingg22.deezer.client.api.DeezerApiClient.Companion.API_DEEZER_URL
 import io.github.kingg22.deezer.client.api.objects.Album
+import io.github.kingg22.deezer.client.api.objects.AlbumSummary
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
+import io.github.kingg22.deezer.client.api.objects.TrackSummary
 import io.github.kingg22.deezer.client.api.objects.User
 import io.github.kingg22.deezer.client.utils.InternalDeezerClient
 import io.github.kingg22.ktorgen.core.KtorGen
@@ -46,4 +49,29 @@ suspend fun getTracks(
         @Query index: Int? = null,
         @Query limit: Int? = null,
     ): PaginatedResponse<Track>
+
+    /** Retrieve an [AlbumSummary] by ID, the same request as [getById] decoding only the fields of the summary */
+    @GET("{id}")
+    @JvmSynthetic
+    suspend fun getSummaryById(@Path id: Long): AlbumSummary
+
+    /**
+     * Retrieve a [PaginatedResponse] with the [TrackSummary] of an [Album],
+     * the same request as [getTracks] decoding only the fields of the summaries
+     */
+    @GET("{id}/tracks")
+    @JvmSynthetic
+    suspend fun getTrackSummaries(
+        @Path id: Long,
+        @Query index: Int? = null,
+        @Query limit: Int? = null,
+    ): PaginatedResponse<TrackSummary>
+
+    /**
+     * Retrieve the [Track]s of an [Album] as a [TrackBatch],
+     * the same request as [getTracks] decoding the page into columns without creating the tracks
+     */
+    @GET("{id}/tracks")
+    @JvmSynthetic
+    suspend fun getTrackBatch(@Path id: Long, @Query index: Int? = null, @Query limit: Int? = null): TrackBatch
 }
@@ -6,6 +6,7 @@
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Playlist
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
 import io.github.kingg22.deezer.client.api.objects.User
 import io.github.kingg22.deezer.client.utils.InternalDeezerClient
 import io.github.kingg22.ktorgen.core.KtorGen
@@ -44,6 +45,14 @@ suspend fun getTopTracks(
         @Query limit: Int? = null,
     ): PaginatedResponse<Track>
 
+    /**
+     * Retrieve the top [Track]s of an [Artist] as a [TrackBatch],
+     * the same request as [getTopTracks] decoding the page into columns without creating the tracks
+     */
+    @GET("{id}/top")
+    @JvmSynthetic
+    suspend fun getTopTrackBatch(@Path id: Long, @Query index: Int? = null, @Query limit: Int? = null): TrackBatch
+
     /** Retrieve a [PaginatedResponse] with all [Album]s of an [Artist] */
     @GET("{id}/albums")
     @JvmSynthetic
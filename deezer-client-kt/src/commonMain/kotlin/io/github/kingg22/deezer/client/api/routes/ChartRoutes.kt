@@ -8,6 +8,7 @@
 import io.github.kingg22.deezer.client.api.objects.Playlist
 import io.github.kingg22.deezer.client.api.objects.Podcast
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
 import io.github.kingg22.deezer.client.utils.InternalDeezerClient
 import io.github.kingg22.ktorgen.core.KtorGen
 import io.github.kingg22.ktorgen.http.GET
@@ -47,6 +48,18 @@ suspend fun getTracks(
         @Query limit: Int? = null,
     ): PaginatedResponse<Track>
 
+    /**
+     * Retrieve the Top [Track] as a [TrackBatch],
+     * the same request as [getTracks] decoding the page into columns without creating the tracks
+     */
+    @GET("/{id}/tracks")
+    @JvmSynthetic
+    suspend fun getTrackBatch(
+        @Path id: Long = 0,
+        @Query index: Int? = null,
+        @Query limit: Int? = null,
+    ): TrackBatch
+
     /** Retrieve the Top [Album] */
     @GET("/{id}/albums")
     @JvmSynthetic
@@ -4,6 +4,7 @@
 import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
 import io.github.kingg22.deezer.client.api.objects.Playlist
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackBatch
 import io.github.kingg22.deezer.client.api.objects.User
 import io.github.kingg22.deezer.client.utils.InternalDeezerClient
 import io.github.kingg22.ktorgen.core.KtorGen
@@ -42,6 +43,14 @@ suspend fun getTracks(
         @Query limit: Int? = null,
     ): PaginatedResponse<Track>
 
+    /**
+     * Retrieve the [Track]s of a [Playlist] as a [TrackBatch],
+     * the same request as [getTracks] decoding the page into columns without creating the tracks
+     */
+    @GET("{id}/tracks")
+    @JvmSynthetic
+    suspend fun getTrackBatch(@Path id: Long, @Query index: Int? = null, @Query limit: Int? = null): TrackBatch
+
     /** Retrieve a [PaginatedResponse] with the radio [Track]s of a [Playlist] */
     @GET("{id}/radio")
     @JvmSynthetic
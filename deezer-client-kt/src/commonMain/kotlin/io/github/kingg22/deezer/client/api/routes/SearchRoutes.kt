@@ -242,6 +242,20 @@ suspend fun searchTrack(
         @Query limit: Int? = null,
     ): PaginatedResponse<Track>
 
+    /**
+     * Search [Track] as a [TrackBatch],
+     * the same request as [searchTrack] decoding the page into columns without creating the tracks
+     */
+    @GET("/track")
+    @JvmSynthetic
+    suspend fun searchTrackBatch(
+        @Query q: String,
+        @Query strict: String? = null,
+        @Query order: SearchOrder? = null,
+        @Query index: Int? = null,
+        @Query limit: Int? = null,
+    ): TrackBatch
+
     /** Search [User] */
     @GET("/user")
     @JvmSynthetic
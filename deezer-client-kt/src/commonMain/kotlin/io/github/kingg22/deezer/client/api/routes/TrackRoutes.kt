@@ -2,6 +2,7 @@
 
 import io.github.kingg22.deezer.client.api.DeezerApiClient.Companion.API_DEEZER_URL
 import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.api.objects.TrackSummary
 import io.github.kingg22.deezer.client.utils.InternalDeezerClient
 import io.github.kingg22.ktorgen.core.KtorGen
 import io.github.kingg22.ktorgen.http.GET
@@ -28,4 +29,9 @@ suspend fun getById(@Path id: Long): Track
     @GET("isrc:{isrc}")
     @JvmSynthetic
     suspend fun getByIsrc(@Path isrc: String): Track
+
+    /** Retrieve a [TrackSummary] by ID, the same request as [getById] decoding only the fields of the summary */
+    @GET("{id}")
+    @JvmSynthetic
+    suspend fun getSummaryById(@Path id: Long): TrackSummary
 }
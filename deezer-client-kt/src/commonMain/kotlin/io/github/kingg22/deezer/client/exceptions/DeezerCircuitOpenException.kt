@@ -0,0 +1,13 @@
+package io.github.kingg22.deezer.client.exceptions
+
+import io.github.kingg22.deezer.client.utils.InternalDeezerClient
+
+/**
+ * The request was rejected without being sent, the circuit breaker of its [host] is open
+ * after too many failures of [Deezer API](https://developers.deezer.com/api/).
+ *
+ * @property host The host of the request
+ * @see io.github.kingg22.deezer.client.api.DeezerCircuitBreaker
+ */
+class DeezerCircuitOpenException @InternalDeezerClient constructor(val host: String) :
+    DeezerClientException("Circuit breaker of $host is open, the request was not sent")
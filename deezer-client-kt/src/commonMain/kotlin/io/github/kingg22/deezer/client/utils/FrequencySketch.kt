@@ -0,0 +1,69 @@
+package io.github.kingg22.deezer.client.utils
+
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * Count-min sketch with 4 bits counters to estimate the popularity of keys, the _TinyLFU_ part of W-TinyLFU.
+ *
+ * Counters are halved after `10 * width` increments (aging), so old popularity fades.
+ * Is **not** thread safe, the owner must synchronize the access.
+ *
+ * @param expectedEntries Number of entries expected to be tracked, used to size the table
+ */
+@InternalDeezerClient
+internal class FrequencySketch(expectedEntries: Int) {
+    private val width = nextPowerOfTwo(max(expectedEntries, MIN_WIDTH))
+    private val table = ByteArray(width * DEPTH)
+    private val sampleSize = width * SAMPLE_FACTOR
+    private var additions = 0
+
+    /** Estimated frequency of the [hash], between 0 and 15 */
+    fun frequency(hash: Int): Int {
+        var frequency = MAX_COUNT
+        for (row in 0 until DEPTH) {
+            frequency = min(frequency, table[indexOf(hash, row)].toInt())
+        }
+        return frequency
+    }
+
+    /** Increment the popularity of the [hash] */
+    fun increment(hash: Int) {
+        var added = false
+        for (row in 0 until DEPTH) {
+            val index = indexOf(hash, row)
+            if (table[index] < MAX_COUNT) {
+                table[index]++
+                added = true
+            }
+        }
+        if (added && ++additions >= sampleSize) reset()
+    }
+
+    private fun reset() {
+        for (i in table.indices) {
+            table[i] = (table[i].toInt() ushr 1).toByte()
+        }
+        additions /= 2
+    }
+
+    private fun indexOf(hash: Int, row: Int): Int {
+        var h = (hash + SEEDS[row]) * -0x61c88647
+        h = h xor (h ushr 16)
+        return row * width + (h and (width - 1))
+    }
+
+    private companion object {
+        const val DEPTH = 4
+        const val MAX_COUNT = 15
+        const val MIN_WIDTH = 16
+        const val SAMPLE_FACTOR = 10
+        val SEEDS = intArrayOf(0x3c6ef372, -0x4498517b, 0x5e5a7c4f, -0x2f6c2d1a)
+
+        fun nextPowerOfTwo(value: Int): Int {
+            var result = 1
+            while (result < value && result < (1 shl 30)) result = result shl 1
+            return result
+        }
+    }
+}
@@ -8,10 +8,17 @@
 import kotlinx.serialization.json.Json
 import kotlin.jvm.JvmName
 
-/** Configure a [Json] with default configuration to be compatible with the Deezer API */
-@OptIn(ExperimentalSerializationApi::class)
+/**
+ * Configure a [Json] with default configuration to be compatible with the Deezer API.
+ *
+ * The instance is shared, a [Json] is immutable and caches the lookups of its serializers.
+ * @see io.github.kingg22.deezer.client.api.DeezerStringPool
+ */
 @InternalDeezerClient
-fun getDefaultJson() = Json {
+fun getDefaultJson() = DefaultJson
+
+@OptIn(ExperimentalSerializationApi::class)
+private val DefaultJson = Json {
     encodeDefaults = true
     isLenient = true
     allowSpecialFloatingPointValues = true
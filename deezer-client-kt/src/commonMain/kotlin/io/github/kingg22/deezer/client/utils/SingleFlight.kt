@@ -0,0 +1,56 @@
+package io.github.kingg22.deezer.client.utils
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.async
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+
+/**
+ * Share one in-flight execution of a block between the concurrent callers of the same key.
+ *
+ * The block runs in the [scope], not in the callers: a cancelled caller only stops waiting,
+ * the execution keeps running for the others and is cancelled when nobody waits for it.
+ * The result (or failure) is delivered to all the callers waiting at that moment, nothing is kept after that.
+ *
+ * @param scope Where the blocks are executed, should have a `SupervisorJob` to isolate the failures
+ */
+@InternalDeezerClient
+internal class SingleFlight<T>(private val scope: CoroutineScope) {
+    private val mutex = Mutex()
+    private val flights = HashMap<String, Flight<T>>()
+
+    /** Number of keys in flight */
+    val size: Int get() = flights.size
+
+    /** Execute the [block] of the [key] or join the execution in flight */
+    suspend fun run(key: String, block: suspend () -> T): T {
+        val flight = mutex.withLock {
+            flights.getOrPut(key) {
+                Flight(scope.async(start = CoroutineStart.LAZY) { block() })
+            }.also { it.waiters++ }
+        }
+        flight.deferred.start()
+        try {
+            return flight.deferred.await()
+        } finally {
+            withContext(NonCancellable) {
+                mutex.withLock {
+                    flight.waiters--
+                    if (flight.waiters == 0) {
+                        if (flights[key] === flight) flights.remove(key)
+                        // Only when the last waiter was cancelled, otherwise is a no-op
+                        flight.deferred.cancel()
+                    }
+                }
+            }
+        }
+    }
+
+    private class Flight<T>(val deferred: Deferred<T>) {
+        var waiters = 0
+    }
+}
@@ -2,6 +2,7 @@
 
 import com.goncalossilva.resources.Resource
 import io.github.kingg22.deezer.client.api.DeezerClientPlugin
+import io.github.kingg22.deezer.client.api.DeezerPluginConfig
 import io.ktor.client.*
 import io.ktor.client.engine.*
 import io.ktor.client.engine.mock.*
@@ -12,6 +13,8 @@
 import io.ktor.http.*
 import io.ktor.serialization.kotlinx.json.*
 import io.ktor.utils.io.charsets.*
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.json.Json
 import org.intellij.lang.annotations.Language
@@ -39,8 +42,13 @@ private fun readResourceFile(path: String): String = Resource(path.removeRange(0
     @JvmStatic
     fun createHttpClientMock() = createHttpClient(createMockEngine())
 
+    /** Client of the [engine] with the plugins of the library, [pluginConfig] completes the config of the plugin */
     @JvmStatic
-    fun createHttpClient(engine: HttpClientEngine) = HttpClient(engine) {
+    @JvmOverloads
+    fun createHttpClient(
+        engine: HttpClientEngine,
+        pluginConfig: DeezerPluginConfig.() -> Unit = {},
+    ) = HttpClient(engine) {
         this.install(HttpCookies)
         this.install(BodyProgress)
         this.install(ContentNegotiation) {
@@ -57,6 +65,7 @@ override fun log(message: String) {
         }
         this.install(DeezerClientPlugin) {
             includeDefaultHeaders = true
+            pluginConfig()
         }
         this.Charsets {
             this.register(Charsets.UTF_8)
@@ -66,7 +75,7 @@ override fun log(message: String) {
     }
 
     @JvmStatic
-    private fun createMockEngine(): HttpClientEngine = MockEngine { request ->
+    fun createMockEngine(): HttpClientEngine = MockEngine { request ->
         val fullPath = request.url.fullPath
         respond(
             content = getJsonFromPath(fullPath, true),
@@ -75,6 +84,59 @@ private fun createMockEngine(): HttpClientEngine = MockEngine { request ->
         )
     }
 
+    /**
+     * Engine of a paginated list of genres `https://api.deezer.com/genre/paged?index=0&limit=[pageSize]`,
+     * honor `index` and `limit` queries and record each url requested in [requests].
+     */
+    @JvmStatic
+    fun createPagedMockEngine(total: Int, pageSize: Int, requests: MutableList<String>): HttpClientEngine {
+        val mutex = Mutex()
+        return MockEngine { request ->
+            mutex.withLock { requests += request.url.toString() }
+            val index = request.url.parameters["index"]?.toInt() ?: 0
+            val limit = request.url.parameters["limit"]?.toInt() ?: pageSize
+            val end = minOf(index + limit, total)
+            val data = (index until end).joinToString(",") { """{"id":$it,"name":"genre $it"}""" }
+            val next = if (end < total) ""","next":"$PAGED_URL?index=$end&limit=$limit"""" else ""
+            respond(
+                content = """{"data":[$data],"total":$total$next}""",
+                status = HttpStatusCode.OK,
+                headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+            )
+        }
+    }
+
+    /**
+     * Engine answering the error [code] of Deezer in a `200 OK` to the first [failures] requests,
+     * then the responses of [createMockEngine]. Record each url requested in [requests].
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun createErrorMockEngine(
+        code: Int,
+        failures: Int = Int.MAX_VALUE,
+        requests: MutableList<String> = mutableListOf(),
+    ): HttpClientEngine {
+        val mutex = Mutex()
+        return MockEngine { request ->
+            val count = mutex.withLock {
+                requests += request.url.toString()
+                requests.size
+            }
+            respond(
+                content = if (count <= failures) {
+                    """{"error":{"type":"Exception","message":"Error $code","code":$code}}"""
+                } else {
+                    getJsonFromPath(request.url.fullPath, true)
+                },
+                status = HttpStatusCode.OK,
+                headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+            )
+        }
+    }
+
+    const val PAGED_URL = "https://api.deezer.com/genre/paged"
+
     @JvmStatic
     @JvmOverloads
     fun getJsonFromPath(@Language("http-url-reference") path: String, mockServer: Boolean = false) = when (path) {
@@ -0,0 +1,40 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.ktor.utils.io.ByteReadChannel
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class DeezerBodySnifferTest {
+    private suspend fun sniff(body: String) = ByteReadChannel(body).sniffDeezerBody()
+
+    @Test
+    fun sniff_error_fixture() = runTest {
+        assertEquals(DeezerBodyKind.ERROR, sniff(getJsonFromPath("/user/0")))
+    }
+
+    @Test
+    fun sniff_error_compact_and_with_whitespace() = runTest {
+        assertEquals(DeezerBodyKind.ERROR, sniff("""{"error":{"code":4}}"""))
+        assertEquals(DeezerBodyKind.ERROR, sniff(" \n{ \"error\" \t: {}}"))
+    }
+
+    @Test
+    fun sniff_booleans() = runTest {
+        assertEquals(DeezerBodyKind.FALSE, sniff(getJsonFromPath("/playlist/908622995/radio")))
+        assertEquals(DeezerBodyKind.TRUE, sniff("true\n"))
+        assertEquals(DeezerBodyKind.FALSE, sniff("false"))
+    }
+
+    @Test
+    fun sniff_successful_responses_as_other() = runTest {
+        assertEquals(DeezerBodyKind.OTHER, sniff(getJsonFromPath("/album/302127")))
+        assertEquals(DeezerBodyKind.OTHER, sniff(getJsonFromPath("/search?q=eminem")))
+        assertEquals(DeezerBodyKind.OTHER, sniff("""{"errors": []}"""))
+        assertEquals(DeezerBodyKind.OTHER, sniff("""{"data": [], "error": null}"""))
+        assertEquals(DeezerBodyKind.OTHER, sniff("[true]"))
+        assertEquals(DeezerBodyKind.OTHER, sniff("trueish"))
+        assertEquals(DeezerBodyKind.OTHER, sniff(""))
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.ktor.client.engine.mock.*
+import io.ktor.http.*
+import kotlinx.coroutines.test.runTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotEquals
+import kotlin.time.Duration
+
+class DeezerCachePluginTest {
+    private var requestCount = 0
+    private lateinit var cache: DeezerResponseCache
+    private lateinit var client: DeezerApiClient
+
+    @BeforeTest
+    fun setup() {
+        requestCount = 0
+        cache = DeezerResponseCache()
+        val engine = MockEngine { request ->
+            requestCount++
+            respond(
+                content = getJsonFromPath(request.url.fullPath, true),
+                status = HttpStatusCode.OK,
+                headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+            )
+        }
+        val httpClient = KtorEngineMocked.createHttpClient(engine).config {
+            install(DeezerCachePlugin) {
+                storage = cache
+                route("artist", Duration.ZERO)
+            }
+        }
+        client = DeezerApiClient(httpClient)
+    }
+
+    @Test
+    fun same_url_is_fetched_once() = runTest {
+        val first = client.albums.getById(302127)
+        val second = client.albums.getById(302127)
+        assertEquals(first, second)
+        assertEquals(1, requestCount)
+        assertEquals(1, cache.stats.hitCount)
+        assertEquals(1, cache.stats.missCount)
+    }
+
+    @Test
+    fun route_with_zero_ttl_is_not_cached() = runTest {
+        client.artists.getById(27)
+        client.artists.getById(27)
+        assertEquals(2, requestCount)
+        assertEquals(0, cache.stats.entryCount)
+    }
+
+    @Test
+    fun deezer_errors_are_not_cached() = runTest {
+        assertFailsWith<DeezerApiException> { client.users.getById(0) }
+        assertFailsWith<DeezerApiException> { client.users.getById(0) }
+        assertEquals(2, requestCount)
+        assertEquals(0, cache.stats.entryCount)
+    }
+
+    @Test
+    fun fresh_persisted_body_answers_a_memory_miss() = runTest {
+        val persistent = MapPersistentCache()
+        val httpClient = client.httpClient.config {
+            install(DeezerCachePlugin) {
+                storage = cache
+                persistentStorage = persistent
+            }
+        }
+        DeezerApiClient(httpClient).albums.getById(302127)
+        assertEquals(1, persistent.bodies.size)
+
+        cache.clear()
+        DeezerApiClient(httpClient).albums.getById(302127)
+        assertEquals(1, requestCount)
+        assertEquals(1, cache.stats.entryCount)
+    }
+
+    @Test
+    fun stale_persisted_body_is_refetched() = runTest {
+        val persistent = MapPersistentCache()
+        persistent.write(
+            Url("https://api.deezer.com/album/302127").deezerCacheKey(),
+            getJsonFromPath("/album/302127", true).encodeToByteArray(),
+            fetchedAtMillis = 0,
+        )
+        val httpClient = client.httpClient.config {
+            install(DeezerCachePlugin) {
+                storage = cache
+                persistentStorage = persistent
+            }
+        }
+        DeezerApiClient(httpClient).albums.getById(302127)
+        assertEquals(1, requestCount)
+        assertNotEquals(0, persistent.bodies.values.single().fetchedAtMillis)
+    }
+
+    @Test
+    fun route_templates_and_keys() {
+        assertEquals(
+            "album/{id}/tracks",
+            Url("https://api.deezer.com/album/302127/tracks?index=25").deezerRouteTemplate(),
+        )
+        assertEquals("track/isrc:{isrc}", Url("https://api.deezer.com/track/isrc:GBDUW0000061").deezerRouteTemplate())
+        assertEquals(
+            Url("https://api.deezer.com/search?q=eminem&index=10").deezerCacheKey(),
+            Url("https://API.deezer.com/search?index=10&q=eminem").deezerCacheKey(),
+        )
+    }
+}
+
+private class MapPersistentCache : DeezerPersistentCache {
+    val bodies = mutableMapOf<String, DeezerPersistedBody>()
+
+    override suspend fun read(key: String) = bodies[key]
+
+    override suspend fun write(key: String, body: ByteArray, fetchedAtMillis: Long) {
+        bodies[key] = DeezerPersistedBody(body, fetchedAtMillis)
+    }
+}
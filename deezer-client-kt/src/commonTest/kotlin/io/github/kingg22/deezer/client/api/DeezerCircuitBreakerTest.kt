@@ -0,0 +1,153 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import io.github.kingg22.deezer.client.exceptions.DeezerCircuitOpenException
+import io.ktor.client.engine.mock.*
+import io.ktor.http.*
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFails
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+import kotlin.time.Duration.Companion.seconds
+import kotlin.time.TestTimeSource
+
+class DeezerCircuitBreakerTest {
+    private val timeSource = TestTimeSource()
+
+    private fun createBreaker() = DeezerCircuitBreaker(
+        failureRateThreshold = 0.5,
+        windowSize = 4,
+        minimumCalls = 2,
+        openDuration = 10.seconds,
+        halfOpenCalls = 2,
+        timeSource = timeSource,
+    )
+
+    @Test
+    fun opens_when_the_failure_rate_is_reached() = runTest {
+        val breaker = createBreaker()
+        assertTrue(breaker.tryAcquire())
+        breaker.record(failure = false)
+        assertTrue(breaker.tryAcquire())
+        breaker.record(failure = false)
+        assertTrue(breaker.tryAcquire())
+        breaker.record(failure = true)
+        assertEquals(DeezerCircuitState.CLOSED, breaker.state.value)
+
+        assertTrue(breaker.tryAcquire())
+        breaker.record(failure = true)
+        assertEquals(DeezerCircuitState.OPEN, breaker.state.value)
+        assertFalse(breaker.tryAcquire())
+    }
+
+    @Test
+    fun half_open_trials_close_or_open_again() = runTest {
+        val breaker = createBreaker()
+        repeat(2) {
+            breaker.tryAcquire()
+            breaker.record(failure = true)
+        }
+        assertEquals(DeezerCircuitState.OPEN, breaker.state.value)
+
+        timeSource += 10.seconds
+        assertTrue(breaker.tryAcquire())
+        assertEquals(DeezerCircuitState.HALF_OPEN, breaker.state.value)
+        assertTrue(breaker.tryAcquire())
+        // Only the trials are allowed
+        assertFalse(breaker.tryAcquire())
+        breaker.record(failure = true)
+        assertEquals(DeezerCircuitState.OPEN, breaker.state.value)
+
+        timeSource += 10.seconds
+        assertTrue(breaker.tryAcquire())
+        assertTrue(breaker.tryAcquire())
+        breaker.record(failure = false)
+        breaker.release()
+        // The released permit is taken by another trial
+        assertTrue(breaker.tryAcquire())
+        breaker.record(failure = false)
+        assertEquals(DeezerCircuitState.CLOSED, breaker.state.value)
+    }
+
+    @Test
+    fun transitions_are_emitted_in_order() = runTest {
+        val breaker = createBreaker()
+        val transitions = mutableListOf<DeezerCircuitState>()
+        val collector = launch { breaker.transitions.toList(transitions) }
+        runCurrent()
+
+        repeat(2) {
+            breaker.tryAcquire()
+            breaker.record(failure = true)
+        }
+        timeSource += 10.seconds
+        breaker.tryAcquire()
+        breaker.record(failure = true)
+        runCurrent()
+        collector.cancel()
+
+        // The quick open, half-open, open is seen while the state is still open
+        assertEquals(DeezerCircuitState.OPEN, breaker.state.value)
+        assertEquals(
+            listOf(DeezerCircuitState.OPEN, DeezerCircuitState.HALF_OPEN, DeezerCircuitState.OPEN),
+            transitions,
+        )
+    }
+
+    @Test
+    fun requests_fail_fast_while_the_host_is_busy() = runTest {
+        val requests = mutableListOf<String>()
+        val engine = KtorEngineMocked.createErrorMockEngine(DeezerErrorCode.SERVICE_BUSY.code, requests = requests)
+        val client = DeezerApiClient(KtorEngineMocked.createHttpClient(engine) { circuitBreaker(createBreaker()) })
+
+        repeat(2) {
+            val exception = assertFailsWith<DeezerApiException> { client.albums.getById(302127) }
+            assertEquals(DeezerErrorCode.SERVICE_BUSY, exception.error)
+        }
+        val exception = assertFailsWith<DeezerCircuitOpenException> { client.albums.getById(302127) }
+        assertEquals("api.deezer.com", exception.host)
+        assertEquals(2, requests.size)
+    }
+
+    @Test
+    fun trial_permit_is_given_back_when_the_validation_fails() = runTest {
+        val breaker = DeezerCircuitBreaker(
+            windowSize = 2,
+            minimumCalls = 2,
+            openDuration = 10.seconds,
+            halfOpenCalls = 1,
+            timeSource = timeSource,
+        )
+        var requestCount = 0
+        val engine = MockEngine { request ->
+            respond(
+                content = when (++requestCount) {
+                    1, 2 -> """{"error":{"type":"Exception","message":"Service busy","code":700}}"""
+                    // An error body that can't be decoded
+                    3 -> """{"error":"broken"}"""
+                    else -> KtorEngineMocked.getJsonFromPath(request.url.fullPath, true)
+                },
+                status = HttpStatusCode.OK,
+                headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+            )
+        }
+        val client = DeezerApiClient(KtorEngineMocked.createHttpClient(engine) { circuitBreaker(breaker) })
+
+        repeat(2) { assertFailsWith<DeezerApiException> { client.albums.getById(302127) } }
+        timeSource += 10.seconds
+        assertFails { client.albums.getById(302127) }
+        assertEquals(DeezerCircuitState.HALF_OPEN, breaker.state.value)
+
+        // The trial isn't lost, another one is sent and closes the breaker
+        assertEquals(302127, client.albums.getById(302127).id)
+        assertEquals(DeezerCircuitState.CLOSED, breaker.state.value)
+    }
+}
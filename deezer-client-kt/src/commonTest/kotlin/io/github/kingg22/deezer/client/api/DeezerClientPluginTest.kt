@@ -0,0 +1,55 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.ktor.client.engine.mock.*
+import io.ktor.http.*
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class DeezerClientPluginTest {
+    private var requestCount = 0
+
+    private fun createClient(gate: CompletableDeferred<Unit>, configure: DeezerPluginConfig.() -> Unit) =
+        DeezerApiClient(
+            KtorEngineMocked.createHttpClient(
+                MockEngine { request ->
+                    requestCount++
+                    gate.await()
+                    respond(
+                        content = getJsonFromPath(request.url.fullPath, true),
+                        status = HttpStatusCode.OK,
+                        headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+                    )
+                },
+            ).config {
+                install(DeezerClientPlugin, configure)
+            },
+        )
+
+    @Test
+    fun concurrent_identical_requests_share_one_call() = runTest {
+        val gate = CompletableDeferred<Unit>()
+        val client = createClient(gate) { coalesceRequests = true }
+        val albums = List(5) { async { client.albums.getById(302127) } }
+        testScheduler.advanceUntilIdle()
+        gate.complete(Unit)
+
+        val results = albums.awaitAll()
+        assertEquals(1, requestCount)
+        assertEquals(1, results.distinct().size)
+    }
+
+    @Test
+    fun requests_are_not_shared_by_default() = runTest {
+        val gate = CompletableDeferred<Unit>().apply { complete(Unit) }
+        val client = createClient(gate) {}
+        client.albums.getById(302127)
+        client.albums.getById(302127)
+        assertEquals(2, requestCount)
+    }
+}
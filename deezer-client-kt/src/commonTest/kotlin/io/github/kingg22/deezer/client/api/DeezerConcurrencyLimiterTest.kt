@@ -0,0 +1,84 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+import kotlin.time.Duration.Companion.milliseconds
+
+class DeezerConcurrencyLimiterTest {
+    @Test
+    fun waiters_are_served_in_order() = runTest {
+        val limiter = DeezerConcurrencyLimiter(initialLimit = 1)
+        val sentAt = limiter.acquire()
+        val order = mutableListOf<Int>()
+        val jobs = (1..3).map { index ->
+            launch {
+                limiter.acquire()
+                order += index
+            }
+        }
+        runCurrent()
+        assertTrue(order.isEmpty())
+
+        // A cancelled waiter leaves the queue
+        jobs[1].cancel()
+        repeat(2) {
+            limiter.release(sentAt, latency = null, dropped = false)
+            runCurrent()
+        }
+        assertEquals(listOf(1, 3), order)
+        assertEquals(1, limiter.inFlight)
+    }
+
+    @Test
+    fun limit_increases_while_used() = runTest {
+        val limiter = DeezerConcurrencyLimiter(initialLimit = 2)
+        val sent = List(2) { limiter.acquire() }
+        sent.forEach { limiter.release(it, 10.milliseconds, dropped = false) }
+        assertEquals(3, limiter.limit)
+        assertEquals(0, limiter.inFlight)
+    }
+
+    @Test
+    fun overload_of_a_burst_in_flight_decreases_the_limit_once() = runTest {
+        val limiter = DeezerConcurrencyLimiter(initialLimit = 10)
+        val burst = List(5) { limiter.acquire() }
+        burst.forEach { limiter.release(it, latency = null, dropped = true) }
+        assertEquals(9, limiter.limit)
+
+        // A request sent after the decrease decreases it again
+        limiter.release(limiter.acquire(), latency = null, dropped = true)
+        assertEquals(8, limiter.limit)
+        assertEquals(0, limiter.inFlight)
+    }
+
+    @Test
+    fun limit_decreases_when_the_latency_rises() = runTest {
+        val limiter = DeezerConcurrencyLimiter(initialLimit = 10)
+        repeat(20) { limiter.release(limiter.acquire(), 10.milliseconds, dropped = false) }
+        // An idle client keeps its limit
+        assertEquals(10, limiter.limit)
+
+        limiter.release(limiter.acquire(), 100.milliseconds, dropped = false)
+        assertEquals(9, limiter.limit)
+    }
+
+    @Test
+    fun service_busy_errors_decrease_the_limit() = runTest {
+        val limiter = DeezerConcurrencyLimiter(initialLimit = 2)
+        val engine = KtorEngineMocked.createErrorMockEngine(DeezerErrorCode.SERVICE_BUSY.code)
+        val client = DeezerApiClient(KtorEngineMocked.createHttpClient(engine) { concurrencyLimiter = limiter })
+
+        // The error in a 200 OK isn't a healthy sample that raises the limit first
+        assertFailsWith<DeezerApiException> { client.albums.getById(302127) }
+        assertEquals(1, limiter.limit)
+        assertEquals(0, limiter.inFlight)
+    }
+}
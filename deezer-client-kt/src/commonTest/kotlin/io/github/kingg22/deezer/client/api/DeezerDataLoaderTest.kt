@@ -0,0 +1,78 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertIs
+import kotlin.test.assertTrue
+import kotlin.time.Duration.Companion.milliseconds
+
+class DeezerDataLoaderTest {
+    private val requested = mutableListOf<Long>()
+    private var running = 0
+    private var maxRunning = 0
+
+    private suspend fun fetch(id: Long): String {
+        requested += id
+        running++
+        maxRunning = maxOf(maxRunning, running)
+        try {
+            delay(5.milliseconds)
+            if (id < 0) throw DeezerApiException(800, "no data")
+            return "track $id"
+        } finally {
+            running--
+        }
+    }
+
+    @Test
+    fun keys_of_the_window_are_deduplicated_and_bounded() = runTest {
+        val loader = DeezerDataLoader<Long, String>(backgroundScope, maxConcurrency = 2, fetch = ::fetch)
+        val results = listOf(1L, 2, 1, 3, 2, 4).map { async { loader.load(it) } }.awaitAll()
+
+        assertEquals(listOf("track 1", "track 2", "track 1", "track 3", "track 2", "track 4"), results)
+        assertEquals(listOf(1L, 2, 3, 4), requested)
+        assertEquals(2, maxRunning)
+    }
+
+    @Test
+    fun results_are_cached_and_failures_are_not() = runTest {
+        val loader = DeezerDataLoader<Long, String>(backgroundScope, fetch = ::fetch)
+        val result = loader.loadMany(listOf(1L, -1, 2))
+
+        assertFalse(result.isSuccess)
+        assertEquals(mapOf(1L to "track 1", 2L to "track 2"), result.values)
+        assertIs<DeezerApiException>(result.failures.getValue(-1))
+
+        assertTrue(loader.loadMany(listOf(1L, 2)).isSuccess)
+        assertFailsWith<DeezerApiException> { loader.load(-1) }
+        assertEquals(listOf(1L, -1, 2, -1), requested)
+
+        loader.clear(1)
+        loader.load(1)
+        assertEquals(listOf(1L, -1, 2, -1, 1), requested)
+    }
+
+    @Test
+    fun cancelled_scope_fails_the_waiters() = runTest {
+        val loader = DeezerDataLoader<Long, String>(backgroundScope, window = 1.milliseconds, fetch = ::fetch)
+        backgroundScope.cancel()
+        assertFailsWith<IllegalStateException> { loader.load(1) }
+    }
+
+    @Test
+    fun loaders_share_the_client() = runTest {
+        val loaders = DeezerLoaders(DeezerApiClient(KtorEngineMocked.createHttpClientMock()), backgroundScope)
+        val album = loaders.albums.load(302127)
+        assertEquals(302127, album.id)
+        assertEquals(album, loaders.albums.load(302127))
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.ktor.client.engine.mock.*
+import io.ktor.http.*
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.seconds
+
+class DeezerHedgePolicyTest {
+    @Test
+    fun slow_calls_are_hedged_and_the_first_response_wins() = runTest {
+        var requestCount = 0
+        val origins = mutableListOf<List<String>?>()
+        val policy = DeezerHedgePolicy(minimumSamples = 2, minDelay = 50.milliseconds)
+        val client = DeezerApiClient(
+            KtorEngineMocked.createHttpClient(
+                MockEngine { request ->
+                    origins += request.headers.getAll(HttpHeaders.Origin)
+                    // The first call after the warm-up never answers in time
+                    if (++requestCount == 3) delay(10.seconds)
+                    respond(
+                        content = getJsonFromPath(request.url.fullPath, true),
+                        status = HttpStatusCode.OK,
+                        headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+                    )
+                },
+            ) { hedgePolicy = policy },
+        )
+
+        repeat(3) { assertEquals(302127, client.albums.getById(302127).id) }
+        // The warm-up isn't hedged, the slow call is answered by its hedge
+        assertEquals(4, requestCount)
+        // The hedge is a copy of the request, its headers aren't added again
+        assertTrue(origins.all { it?.size == 1 })
+        // The warm-up and the hedge are tracked, the cancelled slow call only if it exceeds the percentile
+        assertNotNull(policy.hedgeDelay("album/{id}"))
+        assertTrue(policy.samples("album/{id}") >= 3)
+    }
+
+    @Test
+    fun cancelled_calls_are_tracked_only_above_the_percentile() = runTest {
+        val policy = DeezerHedgePolicy(percentile = 90.0, minimumSamples = 10, minDelay = 1.milliseconds)
+        policy.recordCancelled("album/{id}", 1.seconds)
+        assertEquals(0, policy.samples("album/{id}"))
+
+        for (latency in 1..10) policy.record("album/{id}", latency.milliseconds)
+        // A lower bound under the percentile would pull it down
+        policy.recordCancelled("album/{id}", 5.milliseconds)
+        assertEquals(10, policy.samples("album/{id}"))
+        policy.recordCancelled("album/{id}", 50.milliseconds)
+        assertEquals(11, policy.samples("album/{id}"))
+    }
+
+    @Test
+    fun delay_is_the_percentile_of_the_route() = runTest {
+        val policy = DeezerHedgePolicy(percentile = 90.0, minimumSamples = 10, minDelay = 1.milliseconds)
+        assertNull(policy.hedgeDelay("album/{id}"))
+        for (latency in 1..10) policy.record("album/{id}", latency.milliseconds)
+
+        assertEquals(9.milliseconds, policy.hedgeDelay("album/{id}"))
+        assertNull(policy.hedgeDelay("search/track"))
+
+        // Cached until enough new samples
+        repeat(5) { policy.record("album/{id}", 100.milliseconds) }
+        assertEquals(9.milliseconds, policy.hedgeDelay("album/{id}"))
+        repeat(5) { policy.record("album/{id}", 100.milliseconds) }
+        assertEquals(100.milliseconds, policy.hedgeDelay("album/{id}"))
+    }
+
+    @Test
+    fun hedges_stop_when_the_budget_is_empty() = runTest {
+        val policy = DeezerHedgePolicy(budgetRatio = 0.5, budgetBurst = 1)
+        assertTrue(policy.tryHedge())
+        assertFalse(policy.tryHedge())
+
+        // Each request deposits its share
+        policy.hedgeDelay("album/{id}")
+        assertFalse(policy.tryHedge())
+        policy.hedgeDelay("album/{id}")
+        assertTrue(policy.tryHedge())
+        assertEquals(0.0, policy.budget)
+    }
+}
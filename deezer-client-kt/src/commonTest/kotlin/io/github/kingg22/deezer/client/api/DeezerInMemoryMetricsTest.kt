@@ -0,0 +1,71 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class DeezerInMemoryMetricsTest {
+    @Test
+    fun calls_are_measured_by_route_template() = runTest {
+        val metrics = DeezerInMemoryMetrics()
+        val httpClient = KtorEngineMocked.createHttpClientMock().config {
+            install(DeezerClientPlugin) { this.metrics = metrics }
+            install(DeezerCachePlugin)
+        }
+        val client = DeezerApiClient(httpClient)
+
+        client.albums.getById(302127)
+        client.albums.getById(302127)
+        assertFailsWith<DeezerApiException> { client.users.getById(0) }
+
+        val album = assertNotNull(metrics.stats("album/{id}"))
+        assertEquals(2, album.requestCount)
+        assertEquals(0, album.failureCount)
+        assertTrue(album.responseBytes > 0)
+        assertEquals(2, album.latency.count)
+        assertEquals(2, album.decode.count)
+        assertEquals(mapOf(DeezerCacheOutcome.MISS to 1L, DeezerCacheOutcome.HIT to 1L), album.cacheOutcomes)
+        assertTrue(album.errorCounts.isEmpty())
+
+        val user = assertNotNull(metrics.stats("user/{id}"))
+        assertEquals(1, user.requestCount)
+        assertEquals(mapOf(DeezerErrorCode.PERMISSION to 1L), user.errorCounts)
+        assertEquals(setOf("album/{id}", "user/{id}"), metrics.snapshot().keys)
+        assertNull(metrics.stats("artist/{id}"))
+    }
+
+    @Test
+    fun histogram_percentiles_keep_the_precision() {
+        val metrics = DeezerInMemoryMetrics()
+        for (millis in 1..100) metrics.onDecode("chart", millis * 1_000_000L)
+
+        val histogram = assertNotNull(metrics.stats("chart")).decode
+        assertEquals(100, histogram.count)
+        assertEquals(100_000, histogram.maxMicros)
+        assertEquals(50_500.0, histogram.meanMicros)
+        assertWithin(50_000, histogram.percentileMicros(50.0))
+        assertWithin(99_000, histogram.percentileMicros(99.0))
+        assertEquals(100_000, histogram.percentileMicros(100.0))
+    }
+
+    @Test
+    fun unbounded_routes_are_aggregated() {
+        val metrics = DeezerInMemoryMetrics()
+        repeat(DeezerInMemoryMetrics.MAX_ROUTES + 10) { metrics.onRetry("route$it", 1) }
+
+        val routes = metrics.snapshot()
+        assertEquals(DeezerInMemoryMetrics.MAX_ROUTES + 1, routes.size)
+        assertEquals(10, routes.getValue(DeezerInMemoryMetrics.OTHER_ROUTE).retryCount)
+    }
+
+    private fun assertWithin(expected: Long, actual: Long) {
+        assertTrue(actual >= expected && actual <= expected * 107 / 100, "Expected about $expected, was $actual")
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.github.kingg22.deezer.client.api.objects.Genre
+import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
+import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import io.ktor.utils.io.ByteReadChannel
+import kotlinx.coroutines.test.runTest
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.SerializationException
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class DeezerPageReaderTest {
+    private val json = getDefaultJson()
+
+    private suspend fun <T> read(body: String, serializer: KSerializer<T>): Pair<List<T>, PaginatedResponse<Nothing>> {
+        val items = mutableListOf<T>()
+        val page = DeezerPageReader(ByteReadChannel(body), json).read(serializer) { items += it }
+        return items to page
+    }
+
+    @Test
+    fun read_fixture_as_the_full_decoding() = runTest {
+        val body = getJsonFromPath("/album/302127/tracks")
+        val expected = json.decodeFromString(PaginatedResponse.serializer(Track.serializer()), body)
+
+        val (items, page) = read(body, Track.serializer())
+        assertEquals(expected.data, items)
+        assertEquals(expected.total, page.total)
+        assertEquals(expected.next, page.next)
+        assertEquals(expected.checksum, page.checksum)
+    }
+
+    @Test
+    fun read_strings_with_brackets_escapes_and_nested_values() = runTest {
+        val body = """
+            { "checksum" : null, "data" : [
+              {"id": 1, "name": "[rock], {pop}", "extra": {"list": [1, [2]], "flag": true}},
+              {"id":2,"name":"say \"hi\", \\ ]"} ,
+              { "id" : 3 , "name" : "" }
+            ],
+            "total": 3, "next": "https://api.deezer.com/genre?index=3" }
+        """.trimIndent()
+
+        val (items, page) = read(body, Genre.serializer())
+        assertEquals(listOf(1L, 2, 3), items.map { it.id })
+        assertEquals(listOf("[rock], {pop}", "say \"hi\", \\ ]", ""), items.map { it.name })
+        assertEquals(3, page.total)
+        assertEquals("https://api.deezer.com/genre?index=3", page.next)
+        assertNull(page.checksum)
+        assertNull(page.prev)
+    }
+
+    @Test
+    fun read_empty_data_and_null_error() = runTest {
+        val (items, page) = read("""{"data": [], "error": null, "total": 0}""", Genre.serializer())
+        assertEquals(emptyList(), items)
+        assertEquals(0, page.total)
+    }
+
+    @Test
+    fun read_error_body_throws_deezer_exception() = runTest {
+        val exception = assertFailsWith<DeezerApiException> {
+            read("""{"error":{"type":"DataException","message":"no data","code":800}}""", Genre.serializer())
+        }
+        assertEquals(DeezerApiException.DeezerErrorCode.DATA_NOT_FOUND, exception.error)
+    }
+
+    @Test
+    fun read_boolean_body_throws_deezer_exception() = runTest {
+        for (body in listOf("true", " false\n")) {
+            val exception = assertFailsWith<DeezerApiException> { read(body, Genre.serializer()) }
+            assertTrue("API responded with boolean: ${body.trim()}" in exception.message)
+        }
+        assertFailsWith<SerializationException> { read("trueish", Genre.serializer()) }
+    }
+
+    @Test
+    fun read_malformed_body_throws_serialization_exception() = runTest {
+        assertFailsWith<SerializationException> { read("""{"data":[{"id":1,"name":"rock"""", Genre.serializer()) }
+        assertFailsWith<SerializationException> { read("""[{"id":1}]""", Genre.serializer()) }
+        assertFailsWith<SerializationException> { read("", Genre.serializer()) }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.ktor.client.engine.mock.*
+import io.ktor.http.*
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.currentTime
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.time.Duration.Companion.seconds
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class DeezerRateLimiterTest {
+    @Test
+    fun burst_is_immediate_then_callers_wait_their_turn() = runTest {
+        val limiter = DeezerRateLimiter(permits = 5, period = 1.seconds, timeSource = testScheduler.timeSource)
+        val startedAt = mutableListOf<Long>()
+        repeat(7) {
+            launch {
+                limiter.acquire()
+                startedAt += currentTime
+            }
+        }
+        testScheduler.advanceUntilIdle()
+        assertEquals(listOf(0L, 0, 0, 0, 0, 200, 400), startedAt)
+    }
+
+    @Test
+    fun quota_error_halves_the_rate_and_recovers() = runTest {
+        val limiter = DeezerRateLimiter(permits = 10, period = 1.seconds, timeSource = testScheduler.timeSource)
+        limiter.onQuotaExceeded()
+        assertEquals(5.0, limiter.currentRate)
+
+        // The bucket is drained, the next token comes after an interval at the new rate
+        limiter.acquire()
+        assertEquals(200, currentTime)
+
+        testScheduler.advanceTimeBy(1.seconds)
+        limiter.acquire()
+        assertEquals(7.5, limiter.currentRate)
+    }
+
+    @Test
+    fun plugin_shrinks_the_rate_on_quota_response() = runTest {
+        val limiter = DeezerRateLimiter(timeSource = testScheduler.timeSource)
+        val engine = MockEngine {
+            respond(
+                content = """{"error":{"type":"Exception","message":"Quota limit exceeded","code":4}}""",
+                status = HttpStatusCode.OK,
+                headers = headersOf(HttpHeaders.ContentType, "application/json; charset=utf-8"),
+            )
+        }
+        val httpClient = KtorEngineMocked.createHttpClient(engine).config {
+            install(DeezerClientPlugin) {
+                rateLimiter = limiter
+            }
+        }
+        val exception = assertFailsWith<DeezerApiException> { DeezerApiClient(httpClient).artists.getById(27) }
+        assertEquals(DeezerApiException.DeezerErrorCode.QUOTA, exception.error)
+        assertEquals(DeezerRateLimiter.DEFAULT_PERMITS / 10.0, limiter.currentRate)
+    }
+}
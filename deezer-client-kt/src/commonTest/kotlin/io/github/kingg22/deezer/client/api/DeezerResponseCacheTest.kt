@@ -0,0 +1,79 @@
+package io.github.kingg22.deezer.client.api
+
+import io.ktor.http.Headers
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+import kotlin.time.TestTimeSource
+
+class DeezerResponseCacheTest {
+    private val timeSource = TestTimeSource()
+    private val body = ByteArray(300)
+
+    private suspend fun DeezerResponseCache.request(key: String) {
+        if (get(key) == null) put(key, body, Headers.Empty, 1.minutes)
+    }
+
+    @Test
+    fun hit_after_put_and_count_stats() = runTest {
+        val cache = DeezerResponseCache(timeSource = timeSource)
+        assertNull(cache.get("album/302127"))
+        cache.put("album/302127", body, Headers.Empty, 1.minutes)
+        assertNotNull(cache.get("album/302127"))
+
+        val stats = cache.stats
+        assertEquals(1, stats.hitCount)
+        assertEquals(1, stats.missCount)
+        assertEquals(1, stats.entryCount)
+        assertEquals(0.5, stats.hitRate)
+    }
+
+    @Test
+    fun expired_entry_is_a_miss() = runTest {
+        val cache = DeezerResponseCache(timeSource = timeSource)
+        cache.put("search?q=eminem", body, Headers.Empty, 30.seconds)
+        timeSource += 31.seconds
+        assertNull(cache.get("search?q=eminem"))
+        assertEquals(0, cache.stats.entryCount)
+    }
+
+    @Test
+    fun non_positive_ttl_is_not_stored() = runTest {
+        val cache = DeezerResponseCache(timeSource = timeSource)
+        cache.put("chart", body, Headers.Empty, 0.seconds)
+        assertNull(cache.get("chart"))
+    }
+
+    @Test
+    fun popular_entries_survive_the_byte_budget() = runTest {
+        val cache = DeezerResponseCache(maxBytes = 1000, timeSource = timeSource)
+        cache.request("a")
+        cache.request("b")
+        cache.request("c")
+        repeat(3) { assertNotNull(cache.get("a")) }
+
+        // First time 'd' is less popular than the victim, rejected
+        cache.request("d")
+        assertNull(cache.get("d"))
+        // Now 'd' is requested more than 'b'
+        cache.request("d")
+
+        assertNotNull(cache.get("a"))
+        assertNotNull(cache.get("d"))
+        assertNull(cache.get("b"))
+        assertEquals(2, cache.stats.evictionCount)
+    }
+
+    @Test
+    fun clear_remove_all_entries() = runTest {
+        val cache = DeezerResponseCache(timeSource = timeSource)
+        cache.request("a")
+        cache.clear()
+        assertEquals(0, cache.stats.entryCount)
+        assertEquals(0, cache.stats.sizeBytes)
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode
+import kotlinx.coroutines.test.runTest
+import kotlin.random.Random
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+import kotlin.time.Duration.Companion.milliseconds
+
+class DeezerRetryPolicyTest {
+    private val requests = mutableListOf<String>()
+    private val requestCount get() = requests.size
+
+    /** Client answering the error [code] to the first [failures] requests, then the album */
+    private fun createClient(code: Int, failures: Int, policy: DeezerRetryPolicy) = DeezerApiClient(
+        KtorEngineMocked.createHttpClient(KtorEngineMocked.createErrorMockEngine(code, failures, requests)) {
+            retryPolicy = policy
+        },
+    )
+
+    @Test
+    fun transient_errors_are_retried() = runTest {
+        val policy = DeezerRetryPolicy(baseDelay = 10.milliseconds)
+        val client = createClient(DeezerErrorCode.QUOTA.code, failures = 2, policy)
+
+        val album = client.albums.getById(302127)
+        assertEquals(302127, album.id)
+        assertEquals(3, requestCount)
+    }
+
+    @Test
+    fun terminal_errors_are_thrown_at_once() = runTest {
+        val client = createClient(DeezerErrorCode.DATA_NOT_FOUND.code, failures = 1, DeezerRetryPolicy())
+        val exception = assertFailsWith<DeezerApiException> { client.albums.getById(302127) }
+        assertEquals(DeezerErrorCode.DATA_NOT_FOUND, exception.error)
+        assertEquals(1, requestCount)
+    }
+
+    @Test
+    fun retries_stop_when_the_budget_is_empty() = runTest {
+        val policy = DeezerRetryPolicy(baseDelay = 10.milliseconds, budgetRatio = 0.0, budgetBurst = 1)
+        val client = createClient(DeezerErrorCode.SERVICE_BUSY.code, failures = Int.MAX_VALUE, policy)
+
+        assertFailsWith<DeezerApiException> { client.albums.getById(302127) }
+        assertEquals(2, requestCount)
+        assertFailsWith<DeezerApiException> { client.albums.getById(302127) }
+        assertEquals(3, requestCount)
+        assertEquals(0.0, policy.budget)
+    }
+
+    @Test
+    fun delays_are_jittered_up_to_the_backoff() = runTest {
+        val policy = DeezerRetryPolicy(maxRetries = 5, budgetBurst = 10, random = Random(42))
+        for (attempt in 1..5) {
+            val delay = policy.retryDelay(DeezerErrorCode.QUOTA, attempt)
+            assertTrue(delay != null && delay <= minOf(policy.baseDelay * (1 shl (attempt - 1)), policy.maxDelay))
+        }
+        assertNull(policy.retryDelay(DeezerErrorCode.QUOTA, 6))
+        assertNull(policy.retryDelay(DeezerErrorCode.PARAMETER, 1))
+        assertNull(policy.retryDelay(null, 1))
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.github.kingg22.deezer.client.api.objects.PaginatedResponse
+import io.github.kingg22.deezer.client.api.objects.Track
+import io.github.kingg22.deezer.client.utils.getDefaultJson
+import io.ktor.client.*
+import io.ktor.client.plugins.contentnegotiation.*
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+
+class DeezerStringPoolTest {
+    private fun copyOf(value: String) = value.toCharArray().concatToString()
+
+    @Test
+    fun intern_returns_the_pooled_instance() {
+        val pool = DeezerStringPool()
+        val first = copyOf("Daft Punk")
+        val second = copyOf("Daft Punk")
+        assertNotSame(first, second)
+
+        assertSame(first, pool.intern(first))
+        assertSame(first, pool.intern(second))
+    }
+
+    @Test
+    fun intern_only_the_configured_fields() {
+        val pool = DeezerStringPool(fields = DeezerStringPool.CODE_FIELDS)
+        val type = pool.intern("type", copyOf("track"))
+        assertSame(type, pool.intern("type", copyOf("track")))
+
+        val name = copyOf("Daft Punk")
+        pool.intern("name", name)
+        assertNotSame(name, pool.intern("name", copyOf("Daft Punk")))
+    }
+
+    @Test
+    fun popular_strings_stay_after_a_burst_of_one_time_strings() {
+        // A single set of two slots, every string collides
+        val pool = DeezerStringPool(2)
+        val popular = copyOf("Daft Punk")
+        pool.intern(popular)
+        assertSame(popular, pool.intern(copyOf("Daft Punk")))
+
+        repeat(100) { pool.intern("search $it") }
+        assertSame(popular, pool.intern(copyOf("Daft Punk")))
+    }
+
+    @Test
+    fun size_is_rounded_to_a_power_of_two() {
+        assertEquals(16, DeezerStringPool(10).maxEntries)
+        assertEquals(2, DeezerStringPool(1).maxEntries)
+        assertEquals(DeezerStringPool.DEFAULT_MAX_ENTRIES, DeezerStringPool().maxEntries)
+        assertFailsWith<IllegalArgumentException> { DeezerStringPool(0) }
+    }
+
+    @Test
+    fun decoding_shares_the_strings_between_models() {
+        val pool = DeezerStringPool()
+        val body = getJsonFromPath("/album/302127/tracks")
+        val serializer = PaginatedResponse.serializer(Track.serializer())
+
+        val tracks = getDefaultJson().decodeFromString(pool.interning(serializer), body).data
+        assertEquals(getDefaultJson().decodeFromString(serializer, body).data, tracks)
+        val first = tracks.first()
+        for (track in tracks.drop(1)) {
+            assertSame(first.artist.name, track.artist.name)
+            assertSame(first.artist.tracklist, track.artist.tracklist)
+            assertSame(first.type, track.type)
+        }
+    }
+
+    @Test
+    fun converter_interns_the_responses_of_the_routes() = runTest {
+        val pool = DeezerStringPool()
+        val httpClient = HttpClient(KtorEngineMocked.createMockEngine()) {
+            install(ContentNegotiation) { deezerJson(pool) }
+            install(DeezerClientPlugin)
+        }
+        val client = DeezerApiClient(httpClient)
+
+        val tracks = client.albums.getTracks(302127).data
+        val track = client.tracks.getById(3135556)
+        assertEquals(14, tracks.size)
+        assertSame(tracks.first().artist.name, track.artist.name)
+    }
+}
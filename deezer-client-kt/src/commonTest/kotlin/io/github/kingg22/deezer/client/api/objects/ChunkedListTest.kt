@@ -0,0 +1,51 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import kotlin.random.Random
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertSame
+
+class ChunkedListTest {
+    @Test
+    fun appended_and_prepended_chunks_keep_the_order() {
+        val random = Random(42)
+        val expected = ArrayList<Int>()
+        var next = 0
+        var list = ChunkedList.of(emptyList<Int>())
+        repeat(200) {
+            val chunk = List(random.nextInt(0, 30)) { next++ }
+            if (random.nextInt(4) == 0) {
+                list = list.prepend(chunk)
+                expected.addAll(0, chunk)
+            } else {
+                list += chunk
+                expected.addAll(chunk)
+            }
+            assertEquals(expected.size, list.size)
+        }
+
+        assertEquals<List<Int>>(expected, list)
+        assertEquals(expected.hashCode(), list.hashCode())
+        for (index in expected.indices) assertEquals(expected[index], list[index])
+        assertEquals(expected, list.toList())
+        assertFailsWith<IndexOutOfBoundsException> { list[list.size] }
+        assertFailsWith<IndexOutOfBoundsException> { list[-1] }
+    }
+
+    @Test
+    fun versions_share_the_chunks() {
+        val first = listOf("a", "b")
+        val page = ChunkedList.of(first)
+        val expanded = page + listOf("c")
+        val branch = page + listOf("d", "e")
+
+        assertEquals(listOf("a", "b"), page)
+        assertEquals(listOf("a", "b", "c"), expanded)
+        assertEquals(listOf("a", "b", "d", "e"), branch)
+        assertSame(expanded, ChunkedList.of(expanded))
+        assertSame(expanded, expanded + emptyList())
+        assertEquals(listOf("a", "b", "c"), appendPage(first, listOf("c")))
+        assertEquals(listOf("z", "a", "b", "c"), prependPage(listOf("z"), expanded))
+    }
+}
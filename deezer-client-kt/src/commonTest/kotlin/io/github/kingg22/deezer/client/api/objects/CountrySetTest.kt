@@ -0,0 +1,73 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.github.kingg22.deezer.client.KtorEngineMocked.jsonSerializer
+import io.kotest.assertions.json.shouldEqualJson
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertIs
+import kotlin.test.assertNotNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class CountrySetTest {
+    @Test
+    fun track_decodes_countries_into_a_set() {
+        val json = getJsonFromPath("/track/3135556")
+        val track = jsonSerializer.decodeFromString<Track>(json)
+        val countries = assertNotNull(track.availableCountries)
+
+        assertIs<CountryList>(countries)
+        assertEquals(209, countries.size)
+        assertEquals("AE", countries.first())
+        assertEquals("ZW", countries.last())
+        assertTrue(track.isAvailableIn("FR"))
+        assertTrue(track.isAvailableIn("us"))
+        assertFalse(track.isAvailableIn("KP"))
+        assertFalse(track.isAvailableIn("FRA"))
+        json shouldEqualJson jsonSerializer.encodeToString(track)
+    }
+
+    @Test
+    fun set_operations_are_bitwise() {
+        val europe = CountrySet.of("FR", "DE", "ES")
+        val americas = CountrySet.of(listOf("US", "MX", "ES"))
+
+        assertEquals(CountrySet.of("ES"), europe intersect americas)
+        assertEquals(CountrySet.of("DE", "ES", "FR", "MX", "US"), europe union americas)
+        assertEquals(CountrySet.of("DE", "FR"), europe subtract americas)
+        assertEquals(listOf("DE", "ES", "FR"), europe.asList())
+        assertTrue(europe.containsAny(americas))
+        assertFalse(europe.containsAll(americas))
+        assertTrue(europe.containsAll(CountrySet.of("fr")))
+        assertTrue((europe intersect CountrySet.EMPTY).isEmpty())
+    }
+
+    @Test
+    fun list_view_is_alphabetical_and_indexed() {
+        val list = CountrySet.of("ZZ", "AA", "MX", "AB", "MX").asList()
+        assertEquals(listOf("AA", "AB", "MX", "ZZ"), list)
+        assertEquals(2, list.indexOf("MX"))
+        assertEquals(listOf("AA", "AB", "MX", "ZZ"), list.iterator().asSequence().toList())
+        assertSame(list[2], list[2])
+        // Case-sensitive as a list, like indexOf
+        assertTrue("MX" in list)
+        assertFalse("mx" in list)
+        assertEquals(-1, list.indexOf("mx"))
+        assertFailsWith<IndexOutOfBoundsException> { list[4] }
+        assertFailsWith<IndexOutOfBoundsException> { list[-1] }
+    }
+
+    @Test
+    fun codes_out_of_the_index_keep_the_plain_list() {
+        val countries = jsonSerializer.decodeFromString(CountryListSerializer, """["FR", "XK1", "de"]""")
+        // As decoded, in its order and case
+        assertEquals(listOf("FR", "XK1", "de"), countries)
+        assertEquals(CountrySet.of("FR", "DE"), CountrySet.of(countries))
+
+        val lowercase = jsonSerializer.decodeFromString(CountryListSerializer, """["de", "FR"]""")
+        assertEquals(listOf("de", "FR"), lowercase)
+    }
+}
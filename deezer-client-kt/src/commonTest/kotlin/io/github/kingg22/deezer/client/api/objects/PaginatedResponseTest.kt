@@ -6,10 +6,14 @@
 import io.kotest.matchers.collections.shouldNotBeEmpty
 import io.kotest.matchers.nulls.shouldBeNull
 import io.kotest.matchers.nulls.shouldNotBeNull
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.runTest
 import kotlin.jvm.JvmField
 import kotlin.test.BeforeTest
 import kotlin.test.Test
+import kotlin.test.assertEquals
 import kotlin.test.assertNotEquals
 import kotlin.test.assertNotNull
 import kotlin.test.assertNull
@@ -95,4 +99,95 @@ fun fetch_previous_expanded() = runTest {
         tested.data shouldContain emptyTrack
         tested.prev.shouldBeNull()
     }
+
+    @Test
+    fun pages_follow_next_until_the_last() = runTest {
+        val requests = mutableListOf<String>()
+        val pagedClient = DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(10, 3, requests)),
+        )
+        val first = PaginatedResponse<Genre>(next = "${KtorEngineMocked.PAGED_URL}?index=0&limit=3")
+
+        val pages = first.pages(pagedClient).toList()
+        assertEquals(listOf(0, 3, 3, 3, 1), pages.map { it.data.size })
+        assertEquals(4, requests.size)
+
+        assertEquals((0L until 10).toList(), first.items(pagedClient, prefetch = 3).map { it.id }.toList())
+    }
+
+    @Test
+    fun stream_items_decode_each_page_from_the_channel() = runTest {
+        val requests = mutableListOf<String>()
+        val pagedClient = DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(10, 3, requests)),
+        )
+        val first = PaginatedResponse<Genre>(next = "${KtorEngineMocked.PAGED_URL}?index=0&limit=3")
+
+        assertEquals((0L until 10).toList(), first.streamItems(pagedClient).map { it.id }.toList())
+        assertEquals(4, requests.size)
+    }
+
+    @Test
+    fun pages_without_prefetch_are_fetched_on_demand() = runTest {
+        val requests = mutableListOf<String>()
+        val pagedClient = DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(10, 3, requests)),
+        )
+        val first = PaginatedResponse<Genre>(next = "${KtorEngineMocked.PAGED_URL}?index=0&limit=3")
+
+        assertEquals(listOf(0L, 1, 2), first.items(pagedClient, prefetch = 0).take(3).map { it.id }.toList())
+        assertEquals(1, requests.size)
+    }
+
+    @Test
+    fun fetch_all_computes_the_offsets_from_total() = runTest {
+        val requests = mutableListOf<String>()
+        val pagedClient = DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(10, 3, requests)),
+        )
+        // The ranking shifted, 3 is in the first page and the second page
+        val first = PaginatedResponse(
+            data = (0L..3).map { Genre(it, "genre $it") },
+            total = 10,
+            next = "${KtorEngineMocked.PAGED_URL}?index=3&limit=3",
+        )
+
+        val genres = first.fetchAll(pagedClient, parallelism = 2)
+        assertEquals((0L until 10).toList(), genres.map { it.id })
+        assertEquals(3, requests.size)
+    }
+
+    @Test
+    fun fetch_all_ignores_a_limit_zero_of_the_next_link() = runTest {
+        val requests = mutableListOf<String>()
+        val pagedClient = DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(10, 3, requests)),
+        )
+        val first = PaginatedResponse(
+            data = (0L until 3).map { Genre(it, "genre $it") },
+            total = 10,
+            next = "${KtorEngineMocked.PAGED_URL}?index=3&limit=0",
+        )
+
+        // The size of the first page is the limit
+        val genres = first.fetchAll(pagedClient)
+        assertEquals((0L until 10).toList(), genres.map { it.id })
+        assertEquals(3, requests.size)
+    }
+
+    @Test
+    fun fetch_all_follows_the_next_links_without_total() = runTest {
+        val requests = mutableListOf<String>()
+        val pagedClient = DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(10, 3, requests)),
+        )
+        val first = PaginatedResponse(
+            data = (0L until 3).map { Genre(it, "genre $it") },
+            next = "${KtorEngineMocked.PAGED_URL}?index=3&limit=3",
+        )
+
+        val genres = first.fetchAll(pagedClient)
+        assertEquals((0L until 10).toList(), genres.map { it.id })
+        assertEquals(3, requests.size)
+    }
 }
@@ -0,0 +1,104 @@
+package io.github.kingg22.deezer.client.api.objects
+
+import io.github.kingg22.deezer.client.KtorEngineMocked.getJsonFromPath
+import io.github.kingg22.deezer.client.KtorEngineMocked.jsonSerializer
+import kotlin.test.Test
+import kotlin.test.assertContentEquals
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class TrackBatchTest {
+    @Test
+    fun decode_page_into_columns() {
+        val json = getJsonFromPath("/album/302127/tracks")
+        val page = jsonSerializer.decodeFromString<PaginatedResponse<Track>>(json)
+        val batch = jsonSerializer.decodeFromString<TrackBatch>(json)
+
+        assertEquals(14, batch.size)
+        assertEquals(14, batch.total)
+        assertNull(batch.next)
+        assertNull(batch.prev)
+        assertSameColumns(TrackBatch.of(page), batch)
+        assertEquals("One More Time", batch.title(0))
+        assertEquals("GBDUW0000053", batch.isrc(0))
+        assertEquals(Explicit.NO_ADVICE_AVAILABLE, batch.explicitContentLyrics(1))
+        assertEquals(27L, batch.artistId(13))
+        assertTrue(batch.bpm(0).isNaN())
+    }
+
+    @Test
+    fun decode_missing_and_null_fields_as_unknown() {
+        val batch = jsonSerializer.decodeFromString<TrackBatch>(
+            """
+            {
+              "data": [
+                {"id": 1, "title": "A", "isrc": null, "duration": 10, "rank": 5, "bpm": 120.5, "gain": -7.2,
+                 "explicit_lyrics": true, "explicit_content_lyrics": 1, "explicit_content_cover": null},
+                {"id": 2, "title": "B \"quoted\"", "duration": 20, "rank": 6, "artist": {"id": 27, "name": "Daft Punk"}}
+              ],
+              "checksum": "abc",
+              "next": "https://api.deezer.com/album/1/tracks?index=2"
+            }
+            """.trimIndent(),
+        )
+
+        assertEquals(2, batch.size)
+        assertNull(batch.total)
+        assertEquals("https://api.deezer.com/album/1/tracks?index=2", batch.next)
+        assertNull(batch.isrc(0))
+        assertEquals(120.5f, batch.bpm(0))
+        assertEquals(-7.2f, batch.gain(0))
+        assertTrue(batch.isExplicitLyrics(0))
+        assertEquals(Explicit.EXPLICIT, batch.explicitContentLyrics(0))
+        assertNull(batch.explicitContentCover(0))
+        assertEquals(0L, batch.artistId(0))
+        assertEquals("B \"quoted\"", batch.title(1))
+        assertTrue(batch.gain(1).isNaN())
+        assertEquals(27L, batch.artistId(1))
+        assertFailsWith<IndexOutOfBoundsException> { batch.id(2) }
+    }
+
+    @Test
+    fun concat_batches_keeps_the_columns_in_order() {
+        val json = getJsonFromPath("/album/302127/tracks")
+        val batch = jsonSerializer.decodeFromString<TrackBatch>(json)
+        val concatenated = batch + TrackBatch.EMPTY + batch
+
+        assertEquals(28, concatenated.size)
+        assertContentEquals(batch.ids() + batch.ids(), concatenated.ids())
+        assertContentEquals(batch.durations() + batch.durations(), concatenated.durations())
+        for (index in 0 until batch.size) {
+            assertEquals(batch.title(index), concatenated.title(batch.size + index))
+            assertEquals(batch.isrc(index), concatenated.isrc(batch.size + index))
+            assertEquals(batch.explicitContentLyrics(index), concatenated.explicitContentLyrics(batch.size + index))
+        }
+        assertEquals(0, TrackBatch.EMPTY.size)
+        assertSameColumns(batch, TrackBatch.EMPTY + batch)
+    }
+
+    @Test
+    fun encode_and_decode_the_same_columns() {
+        val batch = jsonSerializer.decodeFromString<TrackBatch>(getJsonFromPath("/album/302127/tracks"))
+        val decoded = jsonSerializer.decodeFromString<TrackBatch>(jsonSerializer.encodeToString(batch))
+        assertSameColumns(batch, decoded)
+    }
+
+    private fun assertSameColumns(expected: TrackBatch, actual: TrackBatch) {
+        assertEquals(expected.size, actual.size)
+        assertEquals(expected.total, actual.total)
+        for (index in 0 until expected.size) {
+            assertEquals(expected.id(index), actual.id(index))
+            assertEquals(expected.title(index), actual.title(index))
+            assertEquals(expected.isrc(index), actual.isrc(index))
+            assertEquals(expected.duration(index), actual.duration(index))
+            assertEquals(expected.rank(index), actual.rank(index))
+            assertEquals(expected.bpm(index).isNaN(), actual.bpm(index).isNaN())
+            assertEquals(expected.isExplicitLyrics(index), actual.isExplicitLyrics(index))
+            assertEquals(expected.explicitContentLyrics(index), actual.explicitContentLyrics(index))
+            assertEquals(expected.explicitContentCover(index), actual.explicitContentCover(index))
+            assertEquals(expected.artistId(index), actual.artistId(index))
+        }
+    }
+}
@@ -5,9 +5,11 @@
 import io.github.kingg22.deezer.client.KtorEngineMocked.jsonSerializer
 import io.github.kingg22.deezer.client.api.DeezerApiClient
 import io.github.kingg22.deezer.client.api.objects.Album
+import io.github.kingg22.deezer.client.api.objects.ArtistRef
 import io.github.kingg22.deezer.client.api.objects.User
 import io.kotest.assertions.json.shouldEqualJson
 import kotlinx.coroutines.test.runTest
+import kotlinx.datetime.LocalDate
 import kotlin.test.BeforeTest
 import kotlin.test.Test
 import kotlin.test.assertEquals
@@ -33,6 +35,17 @@ fun fetch_album_by_id() = runTest {
         json shouldEqualJson jsonSerializer.encodeToString(result)
     }
 
+    @Test
+    fun fetch_album_summary_by_id() = runTest {
+        val result = client.albums.getSummaryById(302127)
+        assertEquals(302127, result.id)
+        assertEquals("Discovery", result.title)
+        assertEquals(14, result.trackCount)
+        assertEquals(3662, result.duration)
+        assertEquals(LocalDate(2001, 3, 7), result.releaseDate)
+        assertEquals(ArtistRef(27, "Daft Punk"), result.artist)
+    }
+
     @Test
     fun reload_album() = runTest {
         val album = Album(
@@ -65,6 +78,24 @@ fun fetch_album_fans() = runTest {
         json shouldEqualJson jsonSerializer.encodeToString(result)
     }
 
+    @Test
+    fun fetch_album_track_summaries() = runTest {
+        val tracks = client.albums.getTracks(302127)
+        val result = client.albums.getTrackSummaries(302127)
+        assertEquals(tracks.total, result.total)
+        assertEquals(tracks.data.map { it.id }, result.data.map { it.id })
+        assertEquals(tracks.data.map { it.artist.id }, result.data.map { it.artist.id })
+    }
+
+    @Test
+    fun fetch_album_track_batch() = runTest {
+        val tracks = client.albums.getTracks(302127)
+        val result = client.albums.getTrackBatch(302127)
+        assertEquals(tracks.total, result.total)
+        assertEquals(tracks.data.map { it.id }, result.ids().toList())
+        assertEquals(tracks.data.map { it.title }, List(result.size) { result.title(it) })
+    }
+
     @Test
     fun fetch_album_tracks() = runTest {
         val result = client.albums.getTracks(302127)
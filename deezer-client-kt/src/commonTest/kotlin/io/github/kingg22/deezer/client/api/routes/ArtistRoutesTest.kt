@@ -149,4 +149,14 @@ fun fetch_artist_related() = runTest {
         )
         json shouldEqualJson jsonSerializer.encodeToString(result)
     }
+
+    @Test
+    fun fetch_artist_top_track_batch() = runTest {
+        val tracks = client.artists.getTopTracks(27)
+        val result = client.artists.getTopTrackBatch(27)
+        assertEquals(tracks.total, result.total)
+        assertEquals(tracks.next, result.next)
+        assertEquals(tracks.data.map { it.id }, result.ids().toList())
+        assertEquals(tracks.data.map { it.title }, List(result.size) { result.title(it) })
+    }
 }
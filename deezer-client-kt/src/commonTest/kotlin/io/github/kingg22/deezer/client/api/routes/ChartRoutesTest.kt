@@ -119,4 +119,14 @@ fun fetch_chart_podcast() = runTest {
         assertNull(result.checksum)
         json shouldEqualJson jsonSerializer.encodeToString(result)
     }
+
+    @Test
+    fun fetch_chart_track_batch() = runTest {
+        val tracks = client.charts.getTracks()
+        val result = client.charts.getTrackBatch()
+        assertEquals(tracks.total, result.total)
+        assertEquals(tracks.next, result.next)
+        assertEquals(tracks.data.map { it.id }, result.ids().toList())
+        assertEquals(tracks.data.map { it.title }, List(result.size) { result.title(it) })
+    }
 }
@@ -86,4 +86,14 @@ fun fetch_playlist_radio() = runTest {
         val json = getJsonFromPath("/playlist/908622995/radio")
         json shouldEqualJson jsonSerializer.encodeToString(result)
     }
+
+    @Test
+    fun fetch_playlist_track_batch() = runTest {
+        val tracks = client.playlists.getTracks(908622995)
+        val result = client.playlists.getTrackBatch(908622995)
+        assertEquals(tracks.total, result.total)
+        assertEquals(tracks.next, result.next)
+        assertEquals(tracks.data.map { it.id }, result.ids().toList())
+        assertEquals(tracks.data.map { it.title }, List(result.size) { result.title(it) })
+    }
 }
@@ -196,4 +196,14 @@ fun fetch_search_user_with_multiple_params() = runTest {
         assertNull(result.checksum)
         json shouldEqualJson jsonSerializer.encodeToString(result)
     }
+
+    @Test
+    fun fetch_search_track_batch() = runTest {
+        val tracks = client.searches.searchTrack("eminem", order = SearchOrder.DURATION_DESC)
+        val result = client.searches.searchTrackBatch("eminem", order = SearchOrder.DURATION_DESC)
+        assertEquals(tracks.total, result.total)
+        assertEquals(tracks.next, result.next)
+        assertEquals(tracks.data.map { it.id }, result.ids().toList())
+        assertEquals(tracks.data.map { it.title }, List(result.size) { result.title(it) })
+    }
 }
@@ -5,6 +5,7 @@
 import io.github.kingg22.deezer.client.KtorEngineMocked.jsonSerializer
 import io.github.kingg22.deezer.client.api.DeezerApiClient
 import io.github.kingg22.deezer.client.api.objects.Artist
+import io.github.kingg22.deezer.client.api.objects.ArtistRef
 import io.github.kingg22.deezer.client.api.objects.Track
 import io.kotest.assertions.json.shouldEqualJson
 import kotlinx.coroutines.test.runTest
@@ -47,6 +48,18 @@ fun fetch_track_by_ISRC() = runTest {
         json shouldEqualJson jsonSerializer.encodeToString(result)
     }
 
+    @Test
+    fun fetch_track_summary_by_id() = runTest {
+        val track = client.tracks.getById(3135556)
+        val result = client.tracks.getSummaryById(3135556)
+        assertEquals(track.id, result.id)
+        assertEquals(track.title, result.title)
+        assertEquals(track.duration, result.duration)
+        assertEquals(track.rank, result.rank)
+        assertEquals(ArtistRef(27, "Daft Punk"), result.artist)
+        assertEquals(track, result.reload(client))
+    }
+
     @Test
     fun reload_track() = runTest {
         val tested = Track(
@@ -0,0 +1,69 @@
+package io.github.kingg22.deezer.client.utils
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class SingleFlightTest {
+    @Test
+    fun concurrent_callers_share_one_execution() = runTest {
+        val singleFlight = SingleFlight<String>(backgroundScope)
+        val gate = CompletableDeferred<Unit>()
+        var executions = 0
+        val callers = List(5) {
+            async {
+                singleFlight.run("album/302127") {
+                    executions++
+                    gate.await()
+                    "Discovery"
+                }
+            }
+        }
+        testScheduler.advanceUntilIdle()
+        gate.complete(Unit)
+        assertEquals(List(5) { "Discovery" }, callers.map { it.await() })
+        assertEquals(1, executions)
+        assertEquals(0, singleFlight.size)
+    }
+
+    @Test
+    fun cancelled_caller_does_not_cancel_the_others() = runTest {
+        val singleFlight = SingleFlight<String>(backgroundScope)
+        val gate = CompletableDeferred<Unit>()
+        val block: suspend () -> String = {
+            gate.await()
+            "Discovery"
+        }
+        val cancelled = async { singleFlight.run("album/302127", block) }
+        val other = async { singleFlight.run("album/302127", block) }
+        testScheduler.advanceUntilIdle()
+
+        cancelled.cancel()
+        testScheduler.advanceUntilIdle()
+        gate.complete(Unit)
+        assertEquals("Discovery", other.await())
+        assertTrue(cancelled.isCancelled)
+    }
+
+    @Test
+    fun execution_is_cancelled_without_waiters() = runTest {
+        val singleFlight = SingleFlight<String>(backgroundScope)
+        var completed = false
+        val caller = async {
+            singleFlight.run("album/302127") {
+                CompletableDeferred<Unit>().await()
+                completed = true
+                "Discovery"
+            }
+        }
+        testScheduler.advanceUntilIdle()
+        caller.cancel()
+        testScheduler.advanceUntilIdle()
+        assertEquals(0, singleFlight.size)
+        assertFalse(completed)
+    }
+}
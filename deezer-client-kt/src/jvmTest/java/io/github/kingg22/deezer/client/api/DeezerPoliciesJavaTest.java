@@ -0,0 +1,33 @@
+package io.github.kingg22.deezer.client.api;
+
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException.DeezerErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeezerPoliciesJavaTest {
+    @Test
+    void policiesAreConfiguredFromJava() {
+        final DeezerRateLimiter rateLimiter = DeezerPolicies.rateLimiter(10, 1, TimeUnit.SECONDS);
+        assertEquals(10, rateLimiter.getPermits());
+        assertEquals(10.0, rateLimiter.getCurrentRate());
+
+        final DeezerRetryPolicy retryPolicy = DeezerPolicies.retryPolicy(
+            2, 100, 1_000, TimeUnit.MILLISECONDS, 0.2, 20, Collections.singleton(DeezerErrorCode.QUOTA)
+        );
+        assertEquals(2, retryPolicy.getMaxRetries());
+        assertEquals(0.2, retryPolicy.getBudgetRatio());
+        assertEquals(20, retryPolicy.getBudgetBurst());
+        assertEquals(Collections.singleton(DeezerErrorCode.QUOTA), retryPolicy.getRetryableCodes());
+
+        final DeezerCircuitBreaker circuitBreaker = DeezerPolicies.circuitBreaker(0.5, 20, 10, 30, TimeUnit.SECONDS, 1);
+        assertEquals(1, circuitBreaker.getHalfOpenCalls());
+
+        final DeezerHedgePolicy hedgePolicy = DeezerPolicies.hedgePolicy(99.0, 0.1, 2, 10, 100, 5, TimeUnit.MILLISECONDS);
+        assertEquals(99.0, hedgePolicy.getPercentile());
+        assertEquals(100, hedgePolicy.getWindowSize());
+    }
+}
@@ -2,20 +2,28 @@
 
 import io.github.kingg22.deezer.client.KtorEngineMocked;
 import io.github.kingg22.deezer.client.api.DeezerApiClient;
+import io.github.kingg22.deezer.client.api.DeezerApiJavaClient;
 import io.github.kingg22.deezer.client.api.GlobalDeezerApiClient;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -115,4 +123,61 @@ void fetchPreviousWithDataSuccess() {
             }
         });
     }
+
+    @Test
+    void streamFollowsAllPages() {
+        final List<String> requests = new ArrayList<>();
+        final DeezerApiClient pagedClient = new DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(10, 3, requests))
+        );
+        final PaginatedResponse<Genre> first = new PaginatedResponse<>(
+            Collections.emptyList(), null, 10, null, KtorEngineMocked.PAGED_URL + "?index=0&limit=3"
+        );
+
+        try (Stream<Genre> genres = first.stream(pagedClient, Genre.class)) {
+            assertEquals(
+                LongStream.range(0, 10).boxed().collect(Collectors.toList()),
+                genres.map(Genre::getId).collect(Collectors.toList())
+            );
+        }
+        assertEquals(4, requests.size());
+    }
+
+    @Test
+    void closedStreamStopsReadingAhead() {
+        final List<String> requests = new ArrayList<>();
+        final DeezerApiClient pagedClient = new DeezerApiClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(30, 3, requests))
+        );
+        final PaginatedResponse<Genre> first = new PaginatedResponse<>(
+            Collections.emptyList(), null, 30, null, KtorEngineMocked.PAGED_URL + "?index=0&limit=3"
+        );
+
+        try (Stream<Genre> genres = first.stream(pagedClient, Genre.class, 0)) {
+            assertEquals(2, genres.limit(2).map(Genre::getId).collect(Collectors.toList()).size());
+        }
+        assertTrue(requests.size() <= 2);
+    }
+
+    @Test
+    void closedJavaClientFailsTheStream() {
+        final List<String> requests = new ArrayList<>();
+        final DeezerApiJavaClient javaClient = new DeezerApiJavaClient(
+            KtorEngineMocked.createHttpClient(KtorEngineMocked.createPagedMockEngine(30, 3, requests))
+        );
+        final PaginatedResponse<Genre> first = new PaginatedResponse<>(
+            Collections.emptyList(), null, 30, null, KtorEngineMocked.PAGED_URL + "?index=0&limit=3"
+        );
+
+        try (Stream<Genre> genres = first.stream(javaClient, Genre.class, 0)) {
+            final Iterator<Genre> iterator = genres.iterator();
+            assertEquals(0, iterator.next().getId());
+            javaClient.close();
+            // The items already fetched are consumed, then the stream fails instead of ending
+            assertThrows(IllegalStateException.class, () -> {
+                while (iterator.hasNext()) iterator.next();
+            });
+        }
+        assertTrue(requests.size() <= 3);
+    }
 }
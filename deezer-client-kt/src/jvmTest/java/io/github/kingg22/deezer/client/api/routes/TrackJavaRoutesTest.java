@@ -1,7 +1,9 @@
 package io.github.kingg22.deezer.client.api.routes;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -9,11 +11,18 @@
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import io.github.kingg22.deezer.client.KtorEngineMocked;
 import io.github.kingg22.deezer.client.api.DeezerApiJavaClient;
+import io.github.kingg22.deezer.client.api.DeezerBatchOptions;
+import io.github.kingg22.deezer.client.api.DeezerLoadResult;
 import io.github.kingg22.deezer.client.api.objects.Track;
+import io.github.kingg22.deezer.client.api.objects.TrackSummary;
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException;
 
 class TrackJavaRoutesTest {
     private DeezerApiJavaClient client;
@@ -37,6 +46,19 @@ void testFetchTrackById() {
         }
     }
 
+    @Test
+    void testFetchTrackSummaryById() {
+        final List<TrackSummary> results = new ArrayList<>(2);
+        results.add(client.tracks.getSummaryById(3135556));
+        results.add(assertTimeout(Duration.ofMinutes(1), () -> client.tracks.getSummaryByIdFuture(3135556).get()));
+        for (final TrackSummary result : results) {
+            assertEquals(3135556, result.getId());
+            assertEquals("Harder, Better, Faster, Stronger", result.getTitle());
+            assertEquals(226, result.getDuration());
+            assertEquals(27, result.getArtist().getId());
+        }
+    }
+
     @Test
     void testFetchTrackByISRC() {
         final List<Track> results = new ArrayList<>(2);
@@ -51,4 +73,25 @@ void testFetchTrackByISRC() {
             assertNotNull(result.getAlbum());
         }
     }
+
+    @Test
+    void testFetchTracksByIdsCollectsFailures() {
+        final DeezerLoadResult<Long, Track> result = assertTimeout(
+            Duration.ofMinutes(1),
+            () -> client.tracks.getByIdsFuture(Arrays.asList(0L, 3135556L, 0L), new DeezerBatchOptions(2)).get()
+        );
+        assertEquals(Collections.singletonList(3135556L), new ArrayList<>(result.getValues().keySet()));
+        assertEquals(Collections.singletonList(0L), new ArrayList<>(result.getFailures().keySet()));
+        assertInstanceOf(DeezerApiException.class, result.getFailures().get(0L));
+    }
+
+    @Test
+    void testFetchTracksByIsrcsFailFast() {
+        final DeezerBatchOptions options = new DeezerBatchOptions(DeezerBatchOptions.DEFAULT_MAX_PARALLELISM, true);
+        final ExecutionException exception = assertThrows(
+            ExecutionException.class,
+            () -> client.tracks.getByIsrcsFuture(Arrays.asList("GBDUW0000061", "UNKNOWN"), options).get()
+        );
+        assertInstanceOf(DeezerApiException.class, exception.getCause());
+    }
 }
@@ -0,0 +1,115 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.api.objects.Album
+import io.ktor.client.engine.mock.*
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineName
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.future.await
+import kotlinx.coroutines.runBlocking
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertIs
+import kotlin.test.assertNotNull
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class DeezerApiJavaClientTest {
+    private val started = CompletableDeferred<Unit>()
+    private val cancelled = CompletableDeferred<Unit>()
+
+    private fun createHangingClient() = DeezerApiJavaClient(
+        KtorEngineMocked.createHttpClient(
+            MockEngine {
+                started.complete(Unit)
+                try {
+                    awaitCancellation()
+                } finally {
+                    cancelled.complete(Unit)
+                }
+            },
+        ),
+    )
+
+    @Test
+    fun cancelled_future_cancels_the_request() = runBlocking {
+        val client = createHangingClient()
+        val future = client.albums.getByIdFuture(302127)
+        started.await()
+
+        future.cancel(true)
+        cancelled.await()
+        assertTrue(future.isCancelled)
+    }
+
+    @Test
+    fun close_cancels_pending_futures_and_rejects_new_ones() = runBlocking {
+        val client = createHangingClient()
+        val future = client.tracks.getByIdFuture(3135556)
+        started.await()
+
+        client.close()
+        assertFailsWith<CancellationException> { future.await() }
+        cancelled.await()
+
+        val exception = assertFailsWith<ExecutionException> { client.albums.getByIdFuture(302127).get() }
+        assertIs<IllegalStateException>(exception.cause)
+    }
+
+    @Test
+    fun close_gracefully_waits_pending_futures() {
+        val client = DeezerApiJavaClient(KtorEngineMocked.createHttpClientMock())
+        val future = client.albums.getByIdFuture(302127)
+
+        assertTrue(client.closeGracefully(1, TimeUnit.MINUTES))
+        assertEquals(302127, future.get().id)
+        assertEquals(0, client.pendingFutures)
+    }
+
+    @Test
+    fun blocking_calls_from_virtual_threads_park_on_a_future() {
+        val futures = DeezerFutureScope(Dispatchers.IO)
+        // A platform thread runs the block itself with runBlocking
+        assertFalse(DeezerFutureScope.isCurrentThreadVirtual())
+        assertSame(Thread.currentThread(), futures.blocking { Thread.currentThread() })
+        // Thread.startVirtualThread exists since Java 21
+        val startVirtualThread = runCatching {
+            Thread::class.java.getMethod("startVirtualThread", Runnable::class.java)
+        }.getOrNull() ?: return
+
+        val client = DeezerApiJavaClient(KtorEngineMocked.createHttpClientMock())
+        var result: Result<Album>? = null
+        var caller: Thread? = null
+        var runner: Thread? = null
+        var runnerName: String? = null
+        val thread = startVirtualThread.invoke(
+            null,
+            Runnable {
+                result = runCatching {
+                    check(DeezerFutureScope.isCurrentThreadVirtual())
+                    caller = Thread.currentThread()
+                    futures.blocking {
+                        runner = Thread.currentThread()
+                        runnerName = currentCoroutineContext()[CoroutineName]?.name
+                    }
+                    client.albums.getById(302127)
+                }
+            },
+        ) as Thread
+        thread.join()
+        assertEquals(302127, assertNotNull(result).getOrThrow().id)
+        // The block ran in a coroutine of the scope on its dispatcher, the virtual thread only parked
+        assertNotSame(caller, assertNotNull(runner))
+        assertEquals("DeezerApiJavaClient", runnerName)
+        futures.cancel()
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.kingg22.deezer.client.api
+
+import io.github.kingg22.deezer.client.KtorEngineMocked
+import io.github.kingg22.deezer.client.exceptions.DeezerApiException
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import kotlinx.coroutines.test.runTest
+import java.nio.file.Files
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class DeezerCallRecorderTest {
+    @Test
+    fun calls_are_recorded_while_a_recording_is_enabled() = runTest {
+        val client = DeezerApiClient(KtorEngineMocked.createHttpClientMock())
+        // Without recording, no event is created
+        assertFalse(DeezerCallRecorder.isEnabled)
+        assertNull(DeezerCallRecorder.begin())
+
+        val file = Files.createTempFile("deezer-calls", ".jfr")
+        val events = try {
+            Recording().use { recording ->
+                recording.enable(DeezerCallRecorder.EVENT_NAME).withoutThreshold()
+                recording.start()
+                assertTrue(DeezerCallRecorder.isEnabled)
+
+                client.albums.getById(302127)
+                assertFailsWith<DeezerApiException> { client.users.getById(0) }
+
+                recording.stop()
+                recording.dump(file)
+            }
+            RecordingFile.readAllEvents(file).filter { it.eventType.name == DeezerCallRecorder.EVENT_NAME }
+        } finally {
+            Files.deleteIfExists(file)
+        }
+
+        assertEquals(2, events.size)
+        val album = assertNotNull(events.find { it.getString("route") == "album/{id}" })
+        assertEquals("302127", album.getString("resourceId"))
+        assertEquals(200, album.getInt("status"))
+        assertEquals(0, album.getInt("errorCode"))
+        assertTrue(album.getLong("bytes") > 0)
+        assertTrue(album.getDuration("decodeDuration").toNanos() > 0)
+        assertEquals(0, album.getInt("attempt"))
+
+        val user: RecordedEvent = assertNotNull(events.find { it.getString("route") == "user/{id}" })
+        assertEquals("0", user.getString("resourceId"))
+        assertEquals(DeezerApiException.DeezerErrorCode.PERMISSION.code, user.getInt("errorCode"))
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.kingg22.deezer.client.api
+
+import kotlinx.coroutines.test.runTest
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.file.Files
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertContentEquals
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class DeezerDiskCacheTest {
+    private lateinit var directory: File
+
+    @BeforeTest
+    fun setup() {
+        directory = Files.createTempDirectory("deezer-disk-cache").toFile()
+    }
+
+    @AfterTest
+    fun cleanup() {
+        directory.deleteRecursively()
+    }
+
+    @Test
+    fun bodies_survive_a_reopen() = runTest {
+        DeezerDiskCache(directory).use { cache ->
+            cache.write("album/302127", """{"id":302127}""".encodeToByteArray(), 1_000)
+            cache.write("track/3135556", """{"id":3135556}""".encodeToByteArray(), 2_000)
+            cache.write("album/302127", """{"id":302127,"title":"Discovery"}""".encodeToByteArray(), 3_000)
+        }
+
+        DeezerDiskCache(directory).use { cache ->
+            assertEquals(2, cache.size)
+            val album = assertNotNull(cache.read("album/302127"))
+            assertEquals("""{"id":302127,"title":"Discovery"}""", album.body.decodeToString())
+            assertEquals(3_000, album.fetchedAtMillis)
+            assertNull(cache.read("artist/27"))
+        }
+    }
+
+    @Test
+    fun torn_tail_is_truncated_without_a_snapshot() = runTest {
+        val cache = DeezerDiskCache(directory)
+        cache.write("album/302127", """{"id":302127}""".encodeToByteArray(), 1_000)
+        cache.write("track/3135556", """{"id":3135556}""".encodeToByteArray(), 2_000)
+        // Simulate a crash in the middle of the last write: no close, no snapshot
+        val log = File(directory, "responses.log")
+        RandomAccessFile(log, "rw").use { it.setLength(it.length() - 3) }
+
+        DeezerDiskCache(directory).use { recovered ->
+            assertEquals(1, recovered.size)
+            assertContentEquals(
+                """{"id":302127}""".encodeToByteArray(),
+                assertNotNull(recovered.read("album/302127")).body,
+            )
+            assertNull(recovered.read("track/3135556"))
+            recovered.write("track/3135556", """{"id":3135556}""".encodeToByteArray(), 4_000)
+            assertEquals(4_000, assertNotNull(recovered.read("track/3135556")).fetchedAtMillis)
+        }
+    }
+
+    @Test
+    fun budget_evicts_the_oldest_and_compacts_the_log() = runTest {
+        val body = ByteArray(64 * 1024) { '1'.code.toByte() }
+        DeezerDiskCache(directory, maxBytes = 512L * 1024).use { cache ->
+            repeat(64) { cache.write("track/$it", body, it.toLong()) }
+            assertTrue(cache.size < 8)
+            assertNull(cache.read("track/0"))
+            assertContentEquals(body, assertNotNull(cache.read("track/63")).body)
+            assertTrue(File(directory, "responses.log").length() <= 2 * 512L * 1024 + body.size * 2)
+        }
+        DeezerDiskCache(directory).use { cache ->
+            assertContentEquals(body, assertNotNull(cache.read("track/63")).body)
+        }
+    }
+
+    @Test
+    fun evicted_bodies_stay_evicted_without_a_snapshot() = runTest {
+        val body = ByteArray(100) { '1'.code.toByte() }
+        val cache = DeezerDiskCache(directory, maxBytes = 300)
+        repeat(3) { cache.write("track/$it", body, it.toLong()) }
+        assertNull(cache.read("track/0"))
+        // Simulate a crash: no close, no snapshot, the replay finds the tombstone
+
+        DeezerDiskCache(directory).use { recovered ->
+            assertEquals(2, recovered.size)
+            assertNull(recovered.read("track/0"))
+            assertContentEquals(body, assertNotNull(recovered.read("track/2")).body)
+        }
+    }
+
+    @Test
+    fun closed_cache_fails() = runTest {
+        val cache = DeezerDiskCache(directory)
+        cache.close()
+        assertFailsWith<IllegalStateException> { cache.read("album/302127") }
+    }
+}
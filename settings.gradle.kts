@@ -41,3 +41,4 @@
 }
 
 include(":deezer-client-kt")
+include(":deezer-client-benchmarks")